@@ -1,8 +1,8 @@
 import java.util.*;
 
 public class Attacker extends Player {
-    public Attacker() {
-        super();
+    public Attacker(Board board) {
+        super(board);
     }
 
     public boolean playCard() {
@@ -17,7 +17,7 @@ public class Attacker extends Player {
             return false;
         }
 
-        if (Board.getInstance().playCard(card, wall, true)) {
+        if (board.playCard(card, wall, true)) {
             hand.remove(card);
             return true;
         }
@@ -51,7 +51,7 @@ public class Attacker extends Player {
     private void retreat(Scanner scan) {
         int wall = chooseWall(scan);
         if (wall != 0) {
-            Board.getInstance().retreat(wall);
+            board.retreat(wall);
         }
     }
 }
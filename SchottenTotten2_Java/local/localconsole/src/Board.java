@@ -1,27 +1,27 @@
 import java.util.*;
 
 public class Board {
-    private static Board instance;
     private final Wall[] board;
-    private Deck deck;
-    private Discard discard;
+    private final Deck deck;
+    private final Discard discard;
     private int cauldronCount;
 
-    private Board() {
+    public Board() {
+        this(new Deck(), new Discard());
+    }
+
+    public Board(Deck deck, Discard discard) {
         board = new Wall[Constants.numWalls];
         for (int i = 0; i < Constants.numWalls; i++) {
             board[i] = new Wall(Constants.wallLengths[i], Constants.damagedWallLengths[i], Constants.wallPatterns[i], Constants.damagedWallPatterns[i], i + 1);
         }
-        deck = Deck.getInstance();
-        discard = Discard.getInstance();
+        this.deck = deck;
+        this.discard = discard;
         cauldronCount = Constants.numCauldrons;
     }
 
-    public static Board getInstance() {
-        if (instance == null) {
-            instance = new Board();
-        }
-        return instance;
+    public Deck getDeck() {
+        return deck;
     }
 
     public void display() {
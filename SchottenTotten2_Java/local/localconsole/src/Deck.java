@@ -1,19 +1,18 @@
 import java.util.*;
 
 public class Deck {
-    private static Deck instance;
-    private Stack<Card> deck;
+    private final Stack<Card> deck;
+    private final Random random;
 
-    private Deck() {
-        deck = new Stack<>();
-        deck.addAll(Constants.allCards());
+    public Deck() {
+        this(new Random());
     }
 
-    public static Deck getInstance() {
-        if (instance == null) {
-            instance = new Deck();
-        }
-        return instance;
+    /** A deck shuffled by {@code random}, so a seeded generator deals the same game. */
+    public Deck(Random random) {
+        deck = new Stack<>();
+        deck.addAll(Constants.allCards());
+        this.random = random;
     }
 
     public int size() {
@@ -25,7 +24,7 @@ public class Deck {
     }
 
     public void shuffle() {
-        Collections.shuffle(deck);
+        Collections.shuffle(deck, random);
     }
 
     public Card pop() {
@@ -3,8 +3,8 @@ import java.util.*;
 public class Defender extends Player {
     private boolean usedCauldron;
 
-    public Defender() {
-        super();
+    public Defender(Board board) {
+        super(board);
         usedCauldron = false;
     }
 
@@ -20,7 +20,7 @@ public class Defender extends Player {
             return false;
         }
 
-        if (Board.getInstance().playCard(card, wall, false)) {
+        if (board.playCard(card, wall, false)) {
             hand.remove(card);
             return true;
         }
@@ -28,7 +28,7 @@ public class Defender extends Player {
     }
 
     private Card chooseCard(Scanner scan) {
-        if (Board.getInstance().getCauldronCount() > 0 && !usedCauldron) {
+        if (board.getCauldronCount() > 0 && !usedCauldron) {
             System.out.print("Which card (c for cauldron)? ");
         } else {
             System.out.print("Which card? ");
@@ -61,10 +61,10 @@ public class Defender extends Player {
     }
 
     private void cauldron(Scanner scan) {
-        if (Board.getInstance().getCauldronCount() > 0) {
+        if (board.getCauldronCount() > 0) {
             int wall = chooseWall(scan);
             if (wall != 0) {
-                if (Board.getInstance().cauldron(wall)) {
+                if (board.cauldron(wall)) {
                     usedCauldron = true;
                 } else {
                     System.out.println("nothing to cauldron");
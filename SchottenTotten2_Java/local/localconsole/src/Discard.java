@@ -1,20 +1,12 @@
 import java.util.*;
 
 public class Discard {
-    private static Discard instance;
-    private Set<Card> discard;
+    private final Set<Card> discard;
 
-    private Discard() {
+    public Discard() {
         discard = new TreeSet<>();
     }
 
-    public static Discard getInstance() {
-        if (instance == null) {
-            instance = new Discard();
-        }
-        return instance;
-    }
-
     public void add(Card card) {
         discard.add(card);
     }
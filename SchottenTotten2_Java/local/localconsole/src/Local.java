@@ -3,9 +3,9 @@ public class Local {
     public static final boolean useEmojis = true; // change to false if emojis don't load
 
     public static void main(String[] args) {
-        Board board = Board.getInstance();
-        Player attacker = new Attacker();
-        Player defender = new Defender();
+        Board board = new Board();
+        Player attacker = new Attacker(board);
+        Player defender = new Defender(board);
         board.setup(attacker, defender);
         displayInstructions();
 
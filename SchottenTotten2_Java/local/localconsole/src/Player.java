@@ -2,9 +2,11 @@ import java.util.*;
 
 public abstract class Player {
     protected Set<Card> hand;
+    protected final Board board;
 
-    public Player() {
+    public Player(Board board) {
         hand = new TreeSet<>();
+        this.board = board;
     }
 
     public void takeTurn() {
@@ -51,7 +53,7 @@ public abstract class Player {
     }
 
     public void draw() {
-        Card card = Deck.getInstance().pop();
+        Card card = board.getDeck().pop();
         if (card != null) {
             hand.add(card);
         }
@@ -10,6 +10,12 @@ public class Board {
         }
     }
 
+    public void setLocations(CardLocations locations) {
+        for (int i = 0; i < walls.length; i++) {
+            walls[i].setLocations(locations, i);
+        }
+    }
+
     public void clear() {
         for (Wall wall : walls) {
             wall.reset();
@@ -29,7 +35,7 @@ public class Board {
         return false;
     }
 
-    public Set<Card> declareControl(List<Card> remainingCards) {
+    public Set<Card> declareControl(long remainingCards) {
         Set<Card> toDiscard = new TreeSet<>();
         for (Wall wall : walls) {
             toDiscard.addAll(wall.declareControl(remainingCards));
@@ -0,0 +1,90 @@
+import java.util.*;
+
+/**
+ * Tracks where every suited card is: the deck, a hand, one side of a wall or the
+ * discard. Containers report cards as they arrive, so a card removed from a hand
+ * keeps its old location until it is placed somewhere else.
+ */
+public final class CardLocations {
+    public static final int DECK = 0;
+    public static final int ATTACKER_HAND = 1;
+    public static final int DEFENDER_HAND = 2;
+    public static final int DISCARD = 3;
+    private static final int FIRST_WALL = 4;
+    public static final int NUM_LOCATIONS = FIRST_WALL + 2 * Constants.NUM_WALLS;
+
+    private static final int NUM_VALUES = Constants.VALUES.size();
+    private static final int NUM_CARDS = CardColor.getAllColors().length * NUM_VALUES;
+    private static final long ALL_CARDS = (1L << NUM_CARDS) - 1;
+
+    private final byte[] locations;
+    private final long[] cardSets;
+
+    public CardLocations() {
+        locations = new byte[NUM_CARDS];
+        cardSets = new long[NUM_LOCATIONS];
+        reset();
+    }
+
+    public static int wall(int wallIndex, boolean isAttacker) {
+        return FIRST_WALL + 2 * wallIndex + (isAttacker ? 0 : 1);
+    }
+
+    private static int index(Card card) {
+        return card.getColor().ordinal() * NUM_VALUES + card.getValue();
+    }
+
+    /** The bit of a suited card in the card sets this index returns, or 0 for an action card. */
+    public static long bit(Card card) {
+        return card.getColor() == CardColor.ACTION_COLOR ? 0L : 1L << index(card);
+    }
+
+    public static long cardSet(Collection<Card> cards) {
+        long set = 0L;
+        for (Card card : cards) {
+            set |= bit(card);
+        }
+        return set;
+    }
+
+    public void reset() {
+        Arrays.fill(locations, (byte) DECK);
+        Arrays.fill(cardSets, 0L);
+        cardSets[DECK] = ALL_CARDS;
+    }
+
+    public void move(Card card, int location) {
+        if (card.getColor() == CardColor.ACTION_COLOR) {
+            return;
+        }
+        int index = index(card);
+        long bit = 1L << index;
+        cardSets[locations[index]] &= ~bit;
+        cardSets[location] |= bit;
+        locations[index] = (byte) location;
+    }
+
+    public void moveAll(Collection<Card> cards, int location) {
+        for (Card card : cards) {
+            move(card, location);
+        }
+    }
+
+    public int getLocation(Card card) {
+        return locations[index(card)];
+    }
+
+    /**
+     * Cards that are neither on the board nor discarded, the deck and both hands, with
+     * bit {@code color.ordinal() * 12 + value} set for each.
+     */
+    public long getUnseenCards() {
+        return cardSets[DECK] | cardSets[ATTACKER_HAND] | cardSets[DEFENDER_HAND];
+    }
+
+    public int getUnseenCount(CardColor color) {
+        long unseen = getUnseenCards();
+        long colorMask = ((1L << NUM_VALUES) - 1) << (color.ordinal() * NUM_VALUES);
+        return Long.bitCount(unseen & colorMask);
+    }
+}
@@ -2,12 +2,17 @@ import java.util.*;
 
 public class Deck {
     private final Deque<Card> deck;
+    private CardLocations locations;
 
     public Deck() {
         deck = new ArrayDeque<>();
         deck.addAll(Constants.ALL_CARDS);
     }
 
+    public void setLocations(CardLocations locations) {
+        this.locations = locations;
+    }
+
     public int size() {
         return deck.size();
     }
@@ -33,6 +38,9 @@ public class Deck {
     public void reset() {
         deck.clear();
         deck.addAll(Constants.ALL_CARDS);
+        if (locations != null) {
+            locations.reset();
+        }
         shuffle();
     }
 }
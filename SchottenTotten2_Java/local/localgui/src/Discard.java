@@ -2,17 +2,28 @@ import java.util.*;
 
 public class Discard {
     private final Set<Card> discard;
+    private CardLocations locations;
 
     public Discard() {
         discard = new TreeSet<>();
     }
 
+    public void setLocations(CardLocations locations) {
+        this.locations = locations;
+    }
+
     public void add(Card card) {
         discard.add(card);
+        if (locations != null) {
+            locations.move(card, CardLocations.DISCARD);
+        }
     }
 
     public void addAll(Collection<Card> cards) {
         discard.addAll(cards);
+        if (locations != null) {
+            locations.moveAll(cards, CardLocations.DISCARD);
+        }
     }
 
     public boolean contains(Card card) {
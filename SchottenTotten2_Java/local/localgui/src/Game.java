@@ -6,6 +6,7 @@ public class Game {
     private final Board board;
     private final Deck deck;
     private final Discard discard;
+    private final CardLocations locations;
 
     public Game(Player attacker, Player defender, Board board, Deck deck, Discard discard) {
         this.attacker = attacker;
@@ -13,6 +14,13 @@ public class Game {
         this.board = board;
         this.deck = deck;
         this.discard = discard;
+        this.locations = new CardLocations();
+
+        attacker.getHand().setLocations(locations, CardLocations.ATTACKER_HAND);
+        defender.getHand().setLocations(locations, CardLocations.DEFENDER_HAND);
+        board.setLocations(locations);
+        deck.setLocations(locations);
+        discard.setLocations(locations);
     }
 
     public void setup() {
@@ -26,13 +34,7 @@ public class Game {
     }
 
     public void declareControl() {
-        List<Card> remainingCards = new ArrayList<>();
-        for (Card card : Constants.ALL_CARDS) {
-            if (!discard.contains(card) && !board.contains(card)) {
-                remainingCards.add(card);
-            }
-        }
-        discard.addAll(board.declareControl(remainingCards));
+        discard.addAll(board.declareControl(locations.getUnseenCards()));
     }
 
     public Winner getWinner(boolean checkDeck) {
@@ -77,4 +79,8 @@ public class Game {
     public Discard getDiscard() {
         return discard;
     }
+
+    public CardLocations getLocations() {
+        return locations;
+    }
 }
@@ -2,11 +2,18 @@ import java.util.*;
 
 public class Hand {
     private final Set<Card> cards;
+    private CardLocations locations;
+    private int location;
 
     public Hand() {
         cards = new TreeSet<>();
     }
 
+    public void setLocations(CardLocations locations, int location) {
+        this.locations = locations;
+        this.location = location;
+    }
+
     public Set<Card> getCards() {
         return cards;
     }
@@ -17,6 +24,9 @@ public class Hand {
 
     public void add(Card card) {
         cards.add(card);
+        if (locations != null) {
+            locations.move(card, location);
+        }
     }
 
     public boolean remove(Card card) {
@@ -13,7 +13,10 @@ public class Wall {
     private final List<Card> defenderCards;
 
     private boolean attackerFinishedFirst;
+    private CardLocations locations;
+    private int wallIndex;
     private static final int MULTIPLIER = 100;
+    private static final int NUM_VALUES = Constants.VALUES.size();
 
     public enum Status {
         BROKEN, DAMAGED, INTACT
@@ -32,6 +35,11 @@ public class Wall {
         this.defenderCards = new ArrayList<>();
     }
 
+    public void setLocations(CardLocations locations, int wallIndex) {
+        this.locations = locations;
+        this.wallIndex = wallIndex;
+    }
+
     public boolean contains(Card card) {
         return attackerCards.contains(card) || defenderCards.contains(card);
     }
@@ -105,14 +113,20 @@ public class Wall {
                 toDiscard.add(temp);
             }
         }
+        if (toDiscard.isEmpty() && locations != null) {
+            locations.move(card, CardLocations.wall(wallIndex, isAttacker));
+        }
         attackerFinishedFirst = attackerCards.size() == length && defenderCards.size() < length;
         return new PlayResult(PlayResult.Type.SUCCESS, toDiscard);
     }
 
-    public Set<Card> declareControl(List<Card> remainingCards) {
+    /** @param remainingCards the unseen cards, as {@link CardLocations#getUnseenCards()} returns them */
+    public Set<Card> declareControl(long remainingCards) {
         if (attackerCards.size() == length) {
-            int defenderStrength = getStrongestDefenderFormationStrength(defenderCards, remainingCards, length, Integer.MIN_VALUE);
-            int attackerStrength = getStrength(attackerCards);
+            long defenderFormation = CardLocations.cardSet(defenderCards);
+            int defenderStrength = getStrongestDefenderFormationStrength(defenderFormation,
+                    length - defenderCards.size(), remainingCards, Integer.MIN_VALUE);
+            int attackerStrength = getStrength(CardLocations.cardSet(attackerCards));
             if ((attackerStrength > defenderStrength) || (attackerFinishedFirst && attackerStrength >= defenderStrength)) {
                 return damage();
             }
@@ -135,24 +149,22 @@ public class Wall {
         return toDiscard;
     }
 
-    private int getStrongestDefenderFormationStrength(List<Card> currentFormation, List<Card> remainingCards, int length, int maxStrength) {
-        if (currentFormation.size() == length) {
+    // Tries every set of {@code needed} remaining cards once, adding them in bit order.
+    private int getStrongestDefenderFormationStrength(long currentFormation, int needed, long remainingCards, int maxStrength) {
+        if (needed == 0) {
             return Math.max(getStrength(currentFormation), maxStrength);
         }
-        for (int i = 0; i < remainingCards.size(); i++) {
-            Card card = remainingCards.remove(i);
-            currentFormation.add(card);
-            maxStrength = Math.max(getStrongestDefenderFormationStrength(currentFormation, remainingCards, length, maxStrength), maxStrength);
-            currentFormation.remove(card);
-            remainingCards.add(i, card);
+        for (long s = remainingCards; Long.bitCount(s) >= needed; s &= s - 1) {
+            long card = Long.lowestOneBit(s);
+            maxStrength = getStrongestDefenderFormationStrength(currentFormation | card, needed - 1, s & ~card, maxStrength);
         }
         return maxStrength;
     }
 
-    private int getStrength(List<Card> formation) {
+    private int getStrength(long formation) {
         int sum = 0;
-        for (Card card : formation) {
-            sum += card.getValue();
+        for (long s = formation; s != 0; s &= s - 1) {
+            sum += Long.numberOfTrailingZeros(s) % NUM_VALUES;
         }
         FormationType type = getFormationType(formation);
 
@@ -183,33 +195,24 @@ public class Wall {
         return type.getStrength() * MULTIPLIER + sum;
     }
 
-    private FormationType getFormationType(List<Card> formation) {
-        Set<CardColor> colors = new TreeSet<>();
-        List<Integer> values = new ArrayList<>();
-        for (Card card : formation) {
-            colors.add(card.getColor());
-            values.add(card.getValue());
+    private FormationType getFormationType(long formation) {
+        int colors = 0;
+        int values = 0;
+        for (long s = formation; s != 0; s &= s - 1) {
+            int index = Long.numberOfTrailingZeros(s);
+            colors |= 1 << index / NUM_VALUES;
+            values |= 1 << index % NUM_VALUES;
         }
-        Collections.sort(values);
+        int size = Long.bitCount(formation);
+        int distinct = Integer.bitCount(values);
+        boolean run = distinct == size && values >>> Integer.numberOfTrailingZeros(values) == (1 << size) - 1;
 
-        Set<Integer> diffs = new HashSet<>();
-        for (int i = 0; i < formation.size() - 1; i++) {
-            diffs.add(values.get(i + 1) - values.get(i));
+        if (Integer.bitCount(colors) == 1) {
+            return run ? FormationType.COLOR_RUN : FormationType.COLOR;
         }
-
-        if (colors.size() == 1) {
-            return diffs.size() == 1 && diffs.contains(1) ? FormationType.COLOR_RUN : FormationType.COLOR;
+        if (distinct == 1) {
+            return FormationType.SAME_STRENGTH;
         }
-
-        if (diffs.size() == 1) {
-            if (diffs.contains(0)) {
-                return FormationType.SAME_STRENGTH;
-            }
-            if (diffs.contains(1)) {
-                return FormationType.RUN;
-            }
-        }
-
-        return FormationType.SUM;
+        return run ? FormationType.RUN : FormationType.SUM;
     }
 }
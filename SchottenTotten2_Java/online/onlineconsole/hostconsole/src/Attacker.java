@@ -1,8 +1,8 @@
 import java.io.*;
 
 public class Attacker extends Player {
-    public Attacker(PlayerType type, Input input) {
-        super(type, input);
+    public Attacker(PlayerType type, Input input, Game game) {
+        super(type, input, game);
     }
 
     public Played playCard() throws IOException {
@@ -18,7 +18,7 @@ public class Attacker extends Player {
             return Played.FAILED;
         }
 
-        Played played = Table.getInstance().playCard(card, wall, true);
+        Played played = game.getTable().playCard(card, wall, true);
 
         if (played == Played.SUCCEEDED) {
             hand.remove(card);
@@ -57,7 +57,7 @@ public class Attacker extends Player {
     private boolean retreat() throws IOException {
         int wall = chooseWall();
         if (wall != 0) {
-            if (Table.getInstance().retreat(wall)) {
+            if (game.getTable().retreat(wall)) {
                 return true;
             } else {
                 displayln("Nothing to retreat");
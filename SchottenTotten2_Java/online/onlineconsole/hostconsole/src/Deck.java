@@ -1,44 +1,43 @@
 import java.util.*;
 
 public class Deck {
-    private static Deck instance;
     private final Deque<Card> deck;
+    private final Random random;
 
-    private Deck() {
-        deck = new ArrayDeque<>();
-        deck.addAll(Constants.ALL_CARDS);
+    public Deck() {
+        this(new Random());
     }
 
-    public static synchronized Deck getInstance() {
-        if (instance == null) {
-            instance = new Deck();
-        }
-        return instance;
+    /** A deck shuffled by {@code random}, so a seeded generator deals the same game. */
+    public Deck(Random random) {
+        deck = new ArrayDeque<>();
+        deck.addAll(Constants.ALL_CARDS);
+        this.random = random;
     }
 
-    public synchronized int size() {
+    public int size() {
         return deck.size();
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return deck.isEmpty();
     }
 
-    public synchronized void shuffle() {
+    public void shuffle() {
         List<Card> cards = new ArrayList<>(deck);
-        Collections.shuffle(cards);
+        Collections.shuffle(cards, random);
         deck.clear();
         deck.addAll(cards);
     }
 
-    public synchronized Card pop() {
+    public Card pop() {
         if (deck.isEmpty()) {
             return null;
         }
         return deck.pop();
     }
 
-    public synchronized void reset() {
+    public void reset() {
         deck.clear();
         deck.addAll(Constants.ALL_CARDS);
         shuffle();
@@ -3,8 +3,8 @@ import java.io.*;
 public class Defender extends Player {
     private boolean usedCauldron;
 
-    public Defender(PlayerType type, Input input) {
-        super(type, input);
+    public Defender(PlayerType type, Input input, Game game) {
+        super(type, input, game);
         usedCauldron = false;
     }
 
@@ -21,7 +21,7 @@ public class Defender extends Player {
             return Played.FAILED;
         }
 
-        Played played = Table.getInstance().playCard(card, wall, false);
+        Played played = game.getTable().playCard(card, wall, false);
 
         if (played == Played.SUCCEEDED) {
             hand.remove(card);
@@ -34,7 +34,7 @@ public class Defender extends Player {
 
     private Card chooseCard() throws IOException {
         clearInput();
-        if (Table.getInstance().getCauldronCount() > 0 && !usedCauldron) {
+        if (game.getTable().getCauldronCount() > 0 && !usedCauldron) {
             display("Which card (c for cauldron)? ", "GET_INPUT");
         } else {
             display("Which card? ", "GET_INPUT");
@@ -66,10 +66,10 @@ public class Defender extends Player {
     }
 
     private boolean cauldron() throws IOException {
-        if (Table.getInstance().getCauldronCount() > 0) {
+        if (game.getTable().getCauldronCount() > 0) {
             int wall = chooseWall();
             if (wall != 0) {
-                if (Table.getInstance().cauldron(wall)) {
+                if (game.getTable().cauldron(wall)) {
                     usedCauldron = true;
                     return true;
                 } else {
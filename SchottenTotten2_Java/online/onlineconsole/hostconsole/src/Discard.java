@@ -3,33 +3,25 @@ import java.io.*;
 import java.net.*;
 
 public class Discard {
-    private static Discard instance;
     private final Set<Card> discard;
 
-    private Discard() {
+    public Discard() {
         discard = new TreeSet<>();
     }
 
-    public static synchronized Discard getInstance() {
-        if (instance == null) {
-            instance = new Discard();
-        }
-        return instance;
-    }
-
-    public synchronized void add(Card card) {
+    public void add(Card card) {
         discard.add(card);
     }
 
-    public synchronized void addAll(Collection<Card> cards) {
+    public void addAll(Collection<Card> cards) {
         discard.addAll(cards);
     }
 
-    public synchronized boolean contains(Card card) {
+    public boolean contains(Card card) {
         return discard.contains(card);
     }
 
-    public synchronized String toString() {
+    public String toString() {
         StringBuilder str = new StringBuilder();
         Card previous = null;
         for (Card card : discard) {
@@ -43,11 +35,11 @@ public class Discard {
         return str.toString();
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return discard.isEmpty();
     }
 
-    public synchronized void clear() {
+    public void clear() {
         discard.clear();
     }
 }
@@ -3,25 +3,25 @@ import java.io.*;
 import java.net.*;
 
 public class Display {
-    private static PrintWriter clientOut;
+    private final PrintWriter clientOut;
 
-    public static void setClientOut(PrintWriter out) {
-        clientOut = out;
+    public Display(PrintWriter clientOut) {
+        this.clientOut = clientOut;
     }
 
-    public static void toHost(String msg) {
+    public void toHost(String msg) {
         System.out.print(msg);
     }
 
-    public static void toHostln(String msg) {
+    public void toHostln(String msg) {
         System.out.println(msg);
     }
 
-    public static void toClient(String msg) {
+    public void toClient(String msg) {
         toClient(msg, "");
     }
 
-    public static void toClient(String msg, String prefix) {
+    public void toClient(String msg, String prefix) {
         if (!prefix.isEmpty()) {
             clientOut.println(prefix + msg.replace("\n", "\\n"));
         } else {
@@ -29,22 +29,22 @@ public class Display {
         }
     }
 
-    public static void toBoth(String msg) {
+    public void toBoth(String msg) {
         toHost(msg);
         toClient(msg);
     }
 
-    public static void toBoth(String msg, String prefix) {
+    public void toBoth(String msg, String prefix) {
         toHost(msg);
         toClient(msg, prefix);
     }
 
-    public static void toBothln(String msg) {
+    public void toBothln(String msg) {
         toHostln(msg);
         toClient(msg);
     }
 
-    public static void toBothln(String msg, String prefix) {
+    public void toBothln(String msg, String prefix) {
         toHostln(msg);
         toClient(msg, prefix);
     }
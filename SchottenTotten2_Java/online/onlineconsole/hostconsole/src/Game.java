@@ -0,0 +1,90 @@
+import java.util.*;
+import java.io.*;
+
+/**
+ * Everything one game owns: its table, deck and discard, the two players, and the
+ * display their messages go to. Games share nothing, so one process can run many.
+ */
+public class Game {
+    private final Display display;
+    private final Deck deck;
+    private final Table table;
+    private Player attacker;
+    private Player defender;
+
+    public Game(Display display) {
+        this(display, new Random());
+    }
+
+    /** A game dealt by {@code random}, so a seeded generator deals the same game. */
+    public Game(Display display, Random random) {
+        this.display = display;
+        this.deck = new Deck(random);
+        this.table = new Table(deck, new Discard(), display);
+    }
+
+    public Display getDisplay() {
+        return display;
+    }
+
+    public Deck getDeck() {
+        return deck;
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    /** Deals to both players and plays until one of them wins. */
+    public void play(Player attacker, Player defender) throws IOException {
+        this.attacker = attacker;
+        this.defender = defender;
+        table.setup(attacker, defender);
+
+        while (true) {
+            display.toBothln(table.toString());
+            displayHands();
+            if (displayWinner(false)) {
+                break;
+            }
+            attacker.takeTurn();
+            table.declareControl();
+            attacker.draw();
+
+            display.toBothln(table.toString());
+            displayHands();
+            if (displayWinner(true)) {
+                break;
+            }
+            defender.takeTurn();
+            defender.draw();
+            table.declareControl();
+        }
+    }
+
+    private boolean displayWinner(boolean checkDeck) {
+        return switch(table.won(checkDeck)) {
+            case Winner.ATTACKER -> {
+                attacker.displayln(Prompts.WIN);
+                defender.displayln(Prompts.LOSE);
+                yield true;
+            }
+            case Winner.DEFENDER -> {
+                defender.displayln(Prompts.WIN);
+                attacker.displayln(Prompts.LOSE);
+                yield true;
+            }
+            default -> false;
+        };
+    }
+
+    public void displayHands() {
+        attacker.displayHand();
+        defender.displayHand();
+    }
+
+    private static class Prompts {
+        static final String WIN = "\nYOU WIN\n";
+        static final String LOSE = "\nYOU LOSE\n";
+    }
+}
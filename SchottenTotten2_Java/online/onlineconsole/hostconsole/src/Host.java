@@ -4,36 +4,34 @@ import java.net.*;
 
 public class Host {
     public static boolean useEmojis;
-    private static Player attacker;
-    private static Player defender;
 
     public static void main(String[] args) {
         try (ServerSocket serverSocket = new ServerSocket(Integer.parseInt(args[0]))) {
-            Display.toHostln("Waiting for client to connect...");
+            System.out.println("Waiting for client to connect...");
             try (Socket socket = serverSocket.accept()) {
-                Display.toHostln("Connected!\n");
+                System.out.println("Connected!\n");
 
                 BufferedReader cIn = new BufferedReader(new InputStreamReader(socket.getInputStream()));
                 PrintWriter clientOut = new PrintWriter(socket.getOutputStream(), true);
                 BufferedReader hIn = new BufferedReader(new InputStreamReader(System.in));
-                Display.setClientOut(clientOut);
+                Display display = new Display(clientOut);
 
                 Input clientIn = new Input(cIn);
                 Input hostIn = new Input(hIn);
 
-                useEmojis = emojiCheck(hostIn, clientIn);
-                Display.toBothln(instructions());
+                useEmojis = emojiCheck(display, hostIn, clientIn);
+                display.toBothln(instructions());
 
-                Display.toClient("Host is choosing role");
-                Role hostRole = chooseRole(hostIn);
-                boolean playAgain = runGame(clientIn, hostIn, hostRole);
+                display.toClient("Host is choosing role");
+                Role hostRole = chooseRole(display, hostIn);
+                boolean playAgain = runGame(display, clientIn, hostIn, hostRole);
                 while (playAgain) {
-                    Display.toClient("Host is choosing role");
-                    hostRole = chooseRole(hostRole, hostIn);
-                    playAgain = runGame(clientIn, hostIn, hostRole);
+                    display.toClient("Host is choosing role");
+                    hostRole = chooseRole(display, hostRole, hostIn);
+                    playAgain = runGame(display, clientIn, hostIn, hostRole);
                 }
 
-                Display.toBothln(Prompts.GAME_OVER, "END_PROGRAM");
+                display.toBothln(Prompts.GAME_OVER, "END_PROGRAM");
             }
         } catch (NumberFormatException e) {
             System.err.println("Invalid port number.");
@@ -44,48 +42,29 @@ public class Host {
         }
     }
 
-    private static boolean runGame(Input clientIn, Input hostIn, Role hostRole) throws IOException {
+    private static boolean runGame(Display display, Input clientIn, Input hostIn, Role hostRole) throws IOException {
+        Game game = new Game(display);
+        Player attacker;
+        Player defender;
         if (hostRole == Role.ATTACKER) {
-            attacker = new Attacker(Player.PlayerType.HOST, hostIn);
-            defender = new Defender(Player.PlayerType.CLIENT, clientIn);
-            Display.toHostln("\nYou are the ATTACKER.");
-            Display.toClient("\nYou are the DEFENDER.");
+            attacker = new Attacker(Player.PlayerType.HOST, hostIn, game);
+            defender = new Defender(Player.PlayerType.CLIENT, clientIn, game);
+            display.toHostln("\nYou are the ATTACKER.");
+            display.toClient("\nYou are the DEFENDER.");
         } else {
-            attacker = new Attacker(Player.PlayerType.CLIENT, clientIn);
-            defender = new Defender(Player.PlayerType.HOST, hostIn);
-            Display.toClient("\nYou are the ATTACKER.");
-            Display.toHostln("\nYou are the DEFENDER.");
+            attacker = new Attacker(Player.PlayerType.CLIENT, clientIn, game);
+            defender = new Defender(Player.PlayerType.HOST, hostIn, game);
+            display.toClient("\nYou are the ATTACKER.");
+            display.toHostln("\nYou are the DEFENDER.");
         }
 
-        Table table = Table.getInstance();
-        table.setup(attacker, defender);
-
-        while (true) {
-            Display.toBothln(table.toString());
-            displayHands();
-            if (displayWinner(table, false)) {
-                break;
-            }
-            attacker.takeTurn();
-            table.declareControl();
-            attacker.draw();
-
-            Display.toBothln(table.toString());
-            displayHands();
-            if (displayWinner(table, true)) {
-                break;
-            }
-            defender.takeTurn();
-            defender.draw();
-            table.declareControl();
-        }
-
-        return playAgain(hostIn);
+        game.play(attacker, defender);
+        return playAgain(display, hostIn);
     }
 
-    private static boolean playAgain(Input hostIn) throws IOException {
+    private static boolean playAgain(Display display, Input hostIn) throws IOException {
         while (true) {
-            Display.toHost(Prompts.REMATCH);
+            display.toHost(Prompts.REMATCH);
             hostIn.clear();
             String str = hostIn.readLine().trim();
             if (str.equalsIgnoreCase("y")) {
@@ -93,14 +72,14 @@ public class Host {
             } else if (str.equalsIgnoreCase("n")) {
                 return false;
             } else {
-                Display.toHostln(Prompts.TRY_AGAIN);
+                display.toHostln(Prompts.TRY_AGAIN);
             }
         }
     }
 
-    private static Role chooseRole(Input hostIn) throws IOException {
+    private static Role chooseRole(Display display, Input hostIn) throws IOException {
         while (true) {
-            Display.toHost("Which role (attacker/defender/random)? ");
+            display.toHost("Which role (attacker/defender/random)? ");
             hostIn.clear();
             String role = hostIn.readLine().trim().toLowerCase();
             if ("attacker".startsWith(role)) {
@@ -111,14 +90,14 @@ public class Host {
                 int i = (int)(2 * Math.random());
                 return i == 0 ? Role.ATTACKER : Role.DEFENDER;
             } else {
-                Display.toHostln(Prompts.TRY_AGAIN);
+                display.toHostln(Prompts.TRY_AGAIN);
             }
         }
     }
 
-    private static Role chooseRole(Role prevHostRole, Input hostIn) throws IOException {
+    private static Role chooseRole(Display display, Role prevHostRole, Input hostIn) throws IOException {
         while (true) {
-            Display.toHost("Which role (attacker/defender/random/swap)? ");
+            display.toHost("Which role (attacker/defender/random/swap)? ");
             hostIn.clear();
             String role = hostIn.readLine().trim().toLowerCase();
             if ("attacker".startsWith(role)) {
@@ -131,19 +110,19 @@ public class Host {
             } else if ("swap".startsWith(role)) {
                 return prevHostRole.other();
             } else {
-                Display.toHostln(Prompts.TRY_AGAIN);
+                display.toHostln(Prompts.TRY_AGAIN);
             }
         }
     }
 
-    private static boolean emojiCheck(Input hostIn, Input clientIn) throws IOException {
-        return hostEmojiCheck(hostIn) && clientEmojiCheck(clientIn);
+    private static boolean emojiCheck(Display display, Input hostIn, Input clientIn) throws IOException {
+        return hostEmojiCheck(display, hostIn) && clientEmojiCheck(display, clientIn);
     }
 
-    private static boolean hostEmojiCheck(Input hostIn) throws IOException {
+    private static boolean hostEmojiCheck(Display display, Input hostIn) throws IOException {
         while (true) {
-            Display.toClient("Checking host emojis");
-            Display.toHost(Prompts.EMOJI_CHECK);
+            display.toClient("Checking host emojis");
+            display.toHost(Prompts.EMOJI_CHECK);
             hostIn.clear();
             String str = hostIn.readLine().trim();
             if (str.equalsIgnoreCase("y")) {
@@ -151,22 +130,22 @@ public class Host {
             } else if (str.equalsIgnoreCase("n")) {
                 return false;
             } else {
-                Display.toHostln(Prompts.TRY_AGAIN);
+                display.toHostln(Prompts.TRY_AGAIN);
             }
         }
     }
 
-    private static boolean clientEmojiCheck(Input clientIn) throws IOException {
+    private static boolean clientEmojiCheck(Display display, Input clientIn) throws IOException {
         while (true) {
-            Display.toHostln("Checking client emojis");
-            Display.toClient(Prompts.EMOJI_CHECK, "GET_INPUT");
+            display.toHostln("Checking client emojis");
+            display.toClient(Prompts.EMOJI_CHECK, "GET_INPUT");
             String str = clientIn.readLine().trim();
             if (str.equalsIgnoreCase("y")) {
                 return true;
             } else if (str.equalsIgnoreCase("n")) {
                 return false;
             } else {
-                Display.toClient(Prompts.TRY_AGAIN);
+                display.toClient(Prompts.TRY_AGAIN);
             }
         }
     }
@@ -187,27 +166,6 @@ public class Host {
         return str.toString();
     }
 
-    private static boolean displayWinner(Table table, boolean checkDeck) {
-        return switch(table.won(checkDeck)) {
-            case Winner.ATTACKER -> {
-                attacker.displayln(Prompts.WIN);
-                defender.displayln(Prompts.LOSE);
-                yield true;
-            }
-            case Winner.DEFENDER -> {
-                defender.displayln(Prompts.WIN);
-                attacker.displayln(Prompts.LOSE);
-                yield true;
-            }
-            default -> false;
-        };
-    }
-
-    public static void displayHands() {
-        attacker.displayHand();
-        defender.displayHand();
-    }
-
     private enum Role {
         ATTACKER, DEFENDER;
 
@@ -223,7 +181,5 @@ public class Host {
                 Color.listOf(Color.ColorType.EMOJI) + ", " + Constants.CAULDRON +
                 "\nCan you see them (y/n)? ";
         static final String GAME_OVER = "GAME OVER\nTHANKS FOR PLAYING";
-        static final String WIN = "\nYOU WIN\n";
-        static final String LOSE = "\nYOU LOSE\n";
     }
 }
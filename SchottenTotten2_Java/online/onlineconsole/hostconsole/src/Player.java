@@ -5,15 +5,17 @@ public abstract class Player {
     protected Set<Card> hand;
     protected PlayerType playerType;
     protected Input input;
+    protected final Game game;
 
     public enum PlayerType {
         HOST, CLIENT
     }
 
-    public Player(PlayerType type, Input input) {
+    public Player(PlayerType type, Input input, Game game) {
         hand = new TreeSet<>();
         this.playerType = type;
         this.input = input;
+        this.game = game;
     }
 
     public void takeTurn() throws IOException {
@@ -22,7 +24,7 @@ public abstract class Player {
         while (played != Played.SUCCEEDED) {
             if (played == Played.USED_ACTION) {
                 toOpponent("Opponent is thinking...");
-                Host.displayHands();
+                game.displayHands();
             } else {
                 displayHand();
             }
@@ -63,7 +65,7 @@ public abstract class Player {
     }
 
     public void draw() {
-        Card card = Deck.getInstance().pop();
+        Card card = game.getDeck().pop();
         if (card != null) {
             hand.add(card);
         }
@@ -89,25 +91,25 @@ public abstract class Player {
 
     public void display(String message, String prefix) {
         if (playerType == PlayerType.HOST) {
-            Display.toHost(message);
+            game.getDisplay().toHost(message);
         } else {
-            Display.toClient(prefix + message.replace("\n", "\\n"));
+            game.getDisplay().toClient(prefix + message.replace("\n", "\\n"));
         }
     }
 
     public void displayln(String message, String prefix) {
         if (playerType == PlayerType.HOST) {
-            Display.toHostln(message);
+            game.getDisplay().toHostln(message);
         } else {
-            Display.toClient(prefix + message.replace("\n", "\\n"));
+            game.getDisplay().toClient(prefix + message.replace("\n", "\\n"));
         }
     }
 
     public void toOpponent(String message, String prefix) {
         if (playerType == PlayerType.HOST) {
-            Display.toClient(message, prefix);
+            game.getDisplay().toClient(message, prefix);
         } else {
-            Display.toHostln(message);
+            game.getDisplay().toHostln(message);
         }
     }
 
@@ -1,29 +1,23 @@
 import java.util.*;
 
 public class Table {
-    private static Table instance;
     private final Wall[] board;
     private final Deck deck;
     private final Discard discard;
+    private final Display display;
     private int cauldronCount;
 
-    private Table(Deck deck, Discard discard) { // pass in deck/discard instance
+    public Table(Deck deck, Discard discard, Display display) {
         board = new Wall[Constants.NUM_WALLS];
         for (int i = 0; i < Constants.NUM_WALLS; i++) {
-            board[i] = new Wall(Constants.WALL_LENGTHS[i], Constants.DAMAGED_WALL_LENGTHS[i], Constants.WALL_PATTERNS[i], Constants.DAMAGED_WALL_PATTERNS[i], i + 1);
+            board[i] = new Wall(Constants.WALL_LENGTHS[i], Constants.DAMAGED_WALL_LENGTHS[i], Constants.WALL_PATTERNS[i], Constants.DAMAGED_WALL_PATTERNS[i], i + 1, discard);
         }
         this.deck = deck;
         this.discard = discard;
+        this.display = display;
         cauldronCount = Constants.NUM_CAULDRONS;
     }
 
-    public static synchronized Table getInstance() {
-        if (instance == null) {
-            instance = new Table(Deck.getInstance(), Discard.getInstance());
-        }
-        return instance;
-    }
-
     public String toString() {
         StringBuilder str = new StringBuilder();
         str.append("\n");
@@ -82,8 +76,8 @@ public class Table {
         List<Card> cards = board[wall - 1].retreat();
         if (!cards.isEmpty()) {
             discard.addAll(cards);
-            Display.toBothln(toString());
-            Display.toBothln("Attacker retreated from wall " + wall + ".");
+            display.toBothln(toString());
+            display.toBothln("Attacker retreated from wall " + wall + ".");
             return true;
         }
         return false;
@@ -94,13 +88,13 @@ public class Table {
         if (card != null) {
             discard.add(card);
             cauldronCount--;
-            Display.toBothln(toString());
+            display.toBothln(toString());
             String str = "Defender used cauldron on wall " + wall + ".\n" + cauldronCount + " cauldron";
             if (cauldronCount != 1) {
                 str += "s";
             }
             str += " remaining.";
-            Display.toBothln(str);
+            display.toBothln(str);
             return true;
         }
         return false;
@@ -14,6 +14,7 @@ public class Wall {
 
     private boolean attackerFinishedFirst;
     private final int wallNum;
+    private final Discard discard;
 
     private static final int MULTIPLIER = 100;
 
@@ -39,7 +40,7 @@ public class Wall {
         }
     }
 
-    public Wall(int intactLength, int damagedLength, WallPattern intactPattern, WallPattern damagedPattern, int wallNum) {
+    public Wall(int intactLength, int damagedLength, WallPattern intactPattern, WallPattern damagedPattern, int wallNum, Discard discard) {
         status = Status.INTACT;
         this.intactLength = intactLength;
         this.damagedLength = damagedLength;
@@ -53,6 +54,7 @@ public class Wall {
 
         attackerFinishedFirst = false;
         this.wallNum = wallNum;
+        this.discard = discard;
     }
 
     public int getLeftSymbolLength() {
@@ -149,8 +151,8 @@ public class Wall {
             if (otherSide.contains(temp)) {
                 playingSide.remove(card);
                 otherSide.remove(temp);
-                Discard.getInstance().add(card);
-                Discard.getInstance().add(temp);
+                discard.add(card);
+                discard.add(temp);
                 return Played.SUCCEEDED;
             }
         }
@@ -0,0 +1,30 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+group = "com.st"
+version = "1.0"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    jmh(project(":common"))
+    jmh(project(":hostgui"))
+    jmh("com.google.protobuf:protobuf-java:4.32.0")
+}
+
+// Run with: gradle :benchmarks:jmh
+// Pass -PjmhInclude=<regex> to run a subset of the suites.
+jmh {
+    if (project.hasProperty("jmhInclude")) {
+        includes.add(project.property("jmhInclude").toString())
+    }
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+    jvmArgs.add("-Djava.awt.headless=true")
+}
@@ -0,0 +1,52 @@
+package com.st.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.st.host.Game;
+
+/**
+ * {@link Game#declareControl()} on seeded positions {@code plies} moves into a game.
+ * <p>
+ * Control was already declared after the last move, so this is the steady-state cost
+ * paid for the walls a move did not touch; the full search on a changed wall is
+ * measured by {@link WallBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameBenchmark {
+    private static final int NUM_POSITIONS = 32;
+
+    @Param({"10", "30", "50"})
+    public int plies;
+
+    private Game[] games;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(Positions.SEED);
+        games = new Game[NUM_POSITIONS];
+        for (int i = 0; i < NUM_POSITIONS; i++) {
+            games[i] = Positions.afterPlies(random, plies);
+        }
+    }
+
+    @Benchmark
+    public Game declareControl() {
+        Game game = games[next];
+        next = (next + 1) % NUM_POSITIONS;
+        game.declareControl();
+        return game;
+    }
+}
@@ -0,0 +1,102 @@
+package com.st.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.st.common.GameState;
+import com.st.common.Winner;
+import com.st.host.Game;
+import com.st.proto.GameState.GameStateProto;
+
+/**
+ * Converting the state sent to the client after every move, {@code plies} moves into
+ * seeded games, and writing it to and reading it from a stream the way
+ * {@code Network} does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameStateBenchmark {
+    private static final int NUM_POSITIONS = 32;
+
+    @Param({"10", "50"})
+    public int plies;
+
+    private GameState[] states;
+    private GameStateProto[] protos;
+    private ByteArrayInputStream[] streams;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(Positions.SEED);
+        states = new GameState[NUM_POSITIONS];
+        protos = new GameStateProto[NUM_POSITIONS];
+        streams = new ByteArrayInputStream[NUM_POSITIONS];
+        for (int i = 0; i < NUM_POSITIONS; i++) {
+            Game game = Positions.afterPlies(random, plies);
+            states[i] = new GameState(game.attacker().getHand().getCards(),
+                    game.defender().getHand().getCards(), game.board().getWalls(),
+                    game.deck().size(), game.discard().getCardsByColor(), i % 2 == 0,
+                    game.defender().getCauldronCount(), game.defender().hasUsedCauldron(), false,
+                    game.getWinner(true), null);
+            protos[i] = states[i].toProto();
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            protos[i].writeDelimitedTo(bytes);
+            streams[i] = new ByteArrayInputStream(bytes.toByteArray());
+        }
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = (next + 1) % NUM_POSITIONS;
+        return i;
+    }
+
+    @Benchmark
+    public GameStateProto toProto() {
+        return states[nextIndex()].toProto();
+    }
+
+    @Benchmark
+    public GameState fromProto() {
+        return GameState.fromProto(protos[nextIndex()]);
+    }
+
+    @Benchmark
+    public int writeDelimitedTo() throws IOException {
+        out.reset();
+        states[nextIndex()].toProto().writeDelimitedTo(out);
+        return out.size();
+    }
+
+    @Benchmark
+    public GameState parseDelimitedFrom() throws IOException {
+        ByteArrayInputStream in = streams[nextIndex()];
+        in.reset();
+        return GameState.fromProto(GameStateProto.parseDelimitedFrom(in));
+    }
+
+    @Benchmark
+    public Winner roundTrip() throws IOException {
+        int i = nextIndex();
+        out.reset();
+        states[i].toProto().writeDelimitedTo(out);
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        return GameState.fromProto(GameStateProto.parseDelimitedFrom(in)).getWinner();
+    }
+}
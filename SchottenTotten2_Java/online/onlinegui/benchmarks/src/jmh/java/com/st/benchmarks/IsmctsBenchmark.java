@@ -0,0 +1,95 @@
+package com.st.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.st.search.Ismcts;
+import com.st.search.SearchBudget;
+import com.st.search.SearchEngine;
+import com.st.search.SearchResult;
+import com.st.search.SearchState;
+import com.st.search.TreeParallelIsmcts;
+
+/**
+ * ISMCTS searches of the opening position with a fixed number of iterations per
+ * worker, root-parallel ({@link Ismcts}) or tree-parallel ({@link TreeParallelIsmcts}).
+ * <p>
+ * {@link #search} is the time one search takes. {@link #iterationRate} reports the
+ * {@code iterations} counter as iterations per second over all workers, which is the
+ * figure to compare across {@code workers} for scaling; run it with
+ * {@code -p workers=1,2,4,8} up to the number of cores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IsmctsBenchmark {
+    @Param({"ROOT", "TREE"})
+    public String parallelism;
+
+    @Param({"1", "4"})
+    public int workers;
+
+    @Param({"1000"})
+    public int iterations;
+
+    private ForkJoinPool pool;
+    private SearchEngine engine;
+    private SearchState root;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long iterations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            iterations = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(Positions.SEED);
+        pool = new ForkJoinPool(workers);
+        engine = switch (parallelism) {
+            case "ROOT" -> new Ismcts(pool, workers, Ismcts.DEFAULT_EXPLORATION, random.split());
+            case "TREE" -> new TreeParallelIsmcts(pool, workers, Ismcts.DEFAULT_EXPLORATION,
+                    random.split(), TreeParallelIsmcts.DEFAULT_MAX_NODES,
+                    TreeParallelIsmcts.DEFAULT_VIRTUAL_LOSS);
+            default -> throw new IllegalArgumentException("Unknown parallelism: " + parallelism);
+        };
+        root = Positions.newSearchState(random);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public SearchResult search() {
+        return engine.search(root, SearchBudget.iterations(iterations));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public SearchResult iterationRate(Counters counters) {
+        SearchResult result = engine.search(root, SearchBudget.iterations(iterations));
+        counters.iterations += result.iterations();
+        return result;
+    }
+}
@@ -0,0 +1,35 @@
+package com.st.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.st.common.Winner;
+
+/**
+ * A full game from the deal to the win with both players making random moves. The
+ * games follow one seeded sequence, so every run plays the same games in the same order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlayoutBenchmark {
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(Positions.SEED);
+    }
+
+    @Benchmark
+    public Winner randomPlayout() {
+        return Positions.playout(Positions.newGame(random), random);
+    }
+}
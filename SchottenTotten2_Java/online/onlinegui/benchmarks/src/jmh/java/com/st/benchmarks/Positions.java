@@ -0,0 +1,133 @@
+package com.st.benchmarks;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+import com.st.common.Card;
+import com.st.common.CardSet;
+import com.st.common.Constants;
+import com.st.common.PlayResult;
+import com.st.common.Wall;
+import com.st.common.Winner;
+import com.st.host.Board;
+import com.st.host.Deck;
+import com.st.host.Discard;
+import com.st.host.Game;
+import com.st.host.Player;
+import com.st.search.SearchState;
+
+/**
+ * Reproducible game positions for the benchmarks. Every position comes from a seeded
+ * {@link Random}, so two runs of a suite measure exactly the same games.
+ */
+final class Positions {
+    static final long SEED = 0x5C077E;
+
+    private Positions() {
+    }
+
+    static Game newGame(Random random) {
+        Game game = new Game(new Player(), new Player(), new Board(), new Deck(), new Discard());
+        game.setup(random);
+        return game;
+    }
+
+    /** A freshly dealt {@link SearchState} with the attacker to move. */
+    static SearchState newSearchState(RandomGenerator random) {
+        long deck = CardSet.ALL_SUITED;
+        long attackerHand = CardSet.EMPTY;
+        long defenderHand = CardSet.EMPTY;
+        for (int i = 0; i < Constants.HAND_SIZE; i++) {
+            long card = randomCardBit(deck, random);
+            attackerHand |= card;
+            deck &= ~card;
+            card = randomCardBit(deck, random);
+            defenderHand |= card;
+            deck &= ~card;
+        }
+        SearchState state = new SearchState();
+        state.setHands(attackerHand, defenderHand);
+        state.setDeck(deck);
+        state.shuffleDeck(random);
+        return state;
+    }
+
+    /**
+     * Deals a game and plays {@code plies} random moves, or fewer if the game ends first.
+     * Control is declared after every move, so declaring again damages nothing.
+     */
+    static Game afterPlies(Random random, int plies) {
+        Game game = newGame(random);
+        boolean attackerTurn = true;
+        for (int i = 0; i < plies && game.getWinner(true) == Winner.NONE; i++) {
+            playRandomMove(game, attackerTurn, random);
+            attackerTurn = !attackerTurn;
+        }
+        return game;
+    }
+
+    /** Plays random moves until the game is won and returns the winner. */
+    static Winner playout(Game game, Random random) {
+        boolean attackerTurn = true;
+        Winner winner;
+        while ((winner = game.getWinner(true)) == Winner.NONE) {
+            playRandomMove(game, attackerTurn, random);
+            attackerTurn = !attackerTurn;
+        }
+        return winner;
+    }
+
+    /**
+     * Plays a random card from the player's hand on a random wall with space on their
+     * side. An attacker with no space left retreats from a random wall first.
+     */
+    static void playRandomMove(Game game, boolean attackerTurn, Random random) {
+        Player player = attackerTurn ? game.attacker() : game.defender();
+        Wall[] walls = game.board().getWalls();
+
+        int open = openWalls(walls, attackerTurn);
+        if (open == 0) {
+            Wall wall = walls[random.nextInt(walls.length)];
+            game.discard().addAll(wall.playCard(Card.RETREAT, true).getToDiscard());
+            open = openWalls(walls, attackerTurn);
+        }
+
+        Card card = randomCard(player.getHand().getCardSet(), random);
+        Wall wall = walls[nthBit(open, random.nextInt(Integer.bitCount(open)))];
+        PlayResult result = wall.playCard(card, attackerTurn);
+        game.discard().addAll(result.getToDiscard());
+        player.getHand().remove(card);
+        player.draw(game.deck());
+        game.declareControl();
+    }
+
+    static Card randomCard(long cardSet, RandomGenerator random) {
+        return CardSet.card(CardSet.first(randomCardBit(cardSet, random)));
+    }
+
+    private static long randomCardBit(long cardSet, RandomGenerator random) {
+        long s = cardSet;
+        for (int i = random.nextInt(CardSet.size(cardSet)); i > 0; i--) {
+            s &= s - 1;
+        }
+        return Long.lowestOneBit(s);
+    }
+
+    private static int openWalls(Wall[] walls, boolean isAttacker) {
+        int open = 0;
+        for (Wall wall : walls) {
+            int cards = isAttacker ? wall.getAttackerCards().size() : wall.getDefenderCards().size();
+            if (cards < wall.getLength()) {
+                open |= 1 << wall.getWallIndex();
+            }
+        }
+        return open;
+    }
+
+    private static int nthBit(int bits, int n) {
+        for (int i = 0; i < n; i++) {
+            bits &= bits - 1;
+        }
+        return Integer.numberOfTrailingZeros(bits);
+    }
+}
@@ -0,0 +1,57 @@
+package com.st.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.st.common.CardSet;
+import com.st.search.DeterminisationSampler;
+import com.st.search.Move;
+import com.st.search.SearchState;
+
+/**
+ * Determinisations per second from a {@link DeterminisationSampler}, for the side to
+ * move after {@code plies} random moves, dealt uniformly or weighted by a belief that
+ * favours high cards. Should allocate nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SamplerBenchmark {
+    @Param({"false", "true"})
+    public boolean weighted;
+
+    @Param({"0", "20"})
+    public int plies;
+
+    private final DeterminisationSampler sampler = new DeterminisationSampler();
+    private SearchState state;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        random = new SplittableRandom(Positions.SEED);
+        state = Positions.newSearchState(random);
+        int[] moves = new int[Move.MAX_MOVES];
+        for (int i = 0; i < plies && !state.isGameOver(); i++) {
+            state.apply(moves[random.nextInt(state.generateMoves(moves))]);
+        }
+        if (weighted) {
+            sampler.setBelief(card -> 1 + card % CardSet.NUM_VALUES);
+        }
+    }
+
+    @Benchmark
+    public long sample() {
+        sampler.sample(state, state.isAttackerToMove(), random);
+        return state.positionKey();
+    }
+}
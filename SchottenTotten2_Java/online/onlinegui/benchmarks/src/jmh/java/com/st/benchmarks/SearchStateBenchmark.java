@@ -0,0 +1,65 @@
+package com.st.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.st.common.CardSet;
+import com.st.common.Constants;
+import com.st.search.Move;
+import com.st.search.SearchState;
+
+/**
+ * A random game on {@link SearchState}, played to the end with {@code apply} and then
+ * taken back with {@code undo}. Should allocate nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchStateBenchmark {
+    private final SearchState state = new SearchState();
+    private final int[] moves = new int[Move.MAX_MOVES];
+    private final int[] path = new int[SearchState.MAX_PLIES];
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        random = new SplittableRandom(Positions.SEED);
+        state.setDeck(CardSet.ALL_SUITED);
+        state.shuffleDeck(random);
+        long attackerHand = CardSet.EMPTY;
+        long defenderHand = CardSet.EMPTY;
+        long deck = CardSet.ALL_SUITED;
+        for (int i = 0; i < Constants.HAND_SIZE; i++) {
+            attackerHand |= Long.lowestOneBit(deck);
+            deck &= deck - 1;
+            defenderHand |= Long.lowestOneBit(deck);
+            deck &= deck - 1;
+        }
+        state.setHands(attackerHand, defenderHand);
+        state.setDeck(deck);
+    }
+
+    @Benchmark
+    public int playoutAndUndo() {
+        state.shuffleDeck(random);
+        int plies = 0;
+        while (!state.isGameOver()) {
+            int count = state.generateMoves(moves);
+            int move = moves[random.nextInt(count)];
+            state.apply(move);
+            path[plies++] = move;
+        }
+        for (int i = plies - 1; i >= 0; i--) {
+            state.undo(path[i]);
+        }
+        return plies;
+    }
+}
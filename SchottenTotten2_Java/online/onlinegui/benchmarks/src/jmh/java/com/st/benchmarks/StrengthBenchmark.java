@@ -0,0 +1,74 @@
+package com.st.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.st.common.Card;
+import com.st.common.CardSet;
+import com.st.common.Constants;
+import com.st.common.FormationTable;
+import com.st.common.Wall;
+import com.st.common.WallPattern;
+
+/**
+ * Scoring a complete formation: classifying it and applying the wall pattern with
+ * {@link Wall#getStrength}, against the precomputed {@link FormationTable} lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StrengthBenchmark {
+    private static final int NUM_FORMATIONS = 256;
+
+    @Param({"PLUS", "MINUS", "COLOR", "RUN", "EQUALS", "NONE"})
+    public WallPattern pattern;
+
+    @Param({"3"})
+    public int length;
+
+    private long[] formations;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(Positions.SEED);
+        List<Card> cards = new ArrayList<>(Constants.ALL_CARDS);
+        formations = new long[NUM_FORMATIONS];
+        for (int i = 0; i < NUM_FORMATIONS; i++) {
+            Collections.shuffle(cards, random);
+            formations[i] = CardSet.of(cards.subList(0, length));
+        }
+        // Build the table outside the measurement.
+        FormationTable.strength(pattern, formations[0]);
+    }
+
+    private long nextFormation() {
+        long formation = formations[next];
+        next = (next + 1) % NUM_FORMATIONS;
+        return formation;
+    }
+
+    @Benchmark
+    public int getStrength() {
+        long formation = nextFormation();
+        return Wall.getStrength(pattern, FormationTable.formationType(formation),
+                FormationTable.sum(formation));
+    }
+
+    @Benchmark
+    public int tableStrength() {
+        return FormationTable.strength(pattern, nextFormation());
+    }
+}
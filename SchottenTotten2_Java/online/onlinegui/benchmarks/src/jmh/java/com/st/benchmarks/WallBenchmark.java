@@ -0,0 +1,125 @@
+package com.st.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.st.common.Card;
+import com.st.common.CardSet;
+import com.st.common.Constants;
+import com.st.common.Wall;
+import com.st.common.WallPattern;
+
+/**
+ * Declaring control of a single wall whose attacker side is full.
+ * <p>
+ * {@code fill} is how much of the defender side is already played: {@code EMPTY},
+ * {@code HALF} or {@code FULL}. Each invocation rebuilds the next of a fixed set of
+ * seeded positions with {@link Wall#reset()} and {@link Wall#playCard}, so the
+ * defender's completion is searched from scratch every time; {@link #rebuildOnly}
+ * measures that rebuild on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WallBenchmark {
+    private static final int NUM_POSITIONS = 64;
+
+    @Param({"PLUS", "MINUS", "COLOR", "RUN", "EQUALS", "NONE"})
+    public WallPattern pattern;
+
+    @Param({"EMPTY", "HALF", "FULL"})
+    public String fill;
+
+    @Param({"3"})
+    public int length;
+
+    private Wall wall;
+    private Card[][] attackerCards;
+    private Card[][] defenderCards;
+    private long[] remainingCards;
+    private int next;
+
+    @Setup
+    public void setup() {
+        wall = new Wall(0, length, length, pattern, pattern);
+        int defenderCount = switch (fill) {
+            case "EMPTY" -> 0;
+            case "HALF" -> length / 2;
+            case "FULL" -> length;
+            default -> throw new IllegalArgumentException("Unknown fill: " + fill);
+        };
+
+        Random random = new Random(Positions.SEED);
+        attackerCards = new Card[NUM_POSITIONS][];
+        defenderCards = new Card[NUM_POSITIONS][];
+        remainingCards = new long[NUM_POSITIONS];
+        for (int i = 0; i < NUM_POSITIONS; i++) {
+            List<Card> cards;
+            do {
+                cards = new ArrayList<>(Constants.ALL_CARDS);
+                Collections.shuffle(cards, random);
+                attackerCards[i] = cards.subList(0, length).toArray(new Card[0]);
+                defenderCards[i] = cards.subList(length, length + defenderCount).toArray(new Card[0]);
+            } while (cancels(attackerCards[i], defenderCards[i]));
+
+            // About half of the cards left are unseen, the rest are on other walls or discarded.
+            long remaining = CardSet.EMPTY;
+            for (Card card : cards.subList(length + defenderCount, cards.size())) {
+                if (random.nextBoolean()) {
+                    remaining = CardSet.add(remaining, card);
+                }
+            }
+            remainingCards[i] = remaining;
+        }
+    }
+
+    // A 0 and 11 of the same colour on opposite sides would cancel out when played.
+    private static boolean cancels(Card[] attacker, Card[] defender) {
+        for (Card a : attacker) {
+            for (Card d : defender) {
+                if (a.getColor() == d.getColor() && a.getValue() + d.getValue() == 11
+                        && (a.getValue() == 0 || a.getValue() == 11)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int rebuild() {
+        int i = next;
+        next = (next + 1) % NUM_POSITIONS;
+        wall.reset();
+        for (Card card : attackerCards[i]) {
+            wall.playCard(card, true);
+        }
+        for (Card card : defenderCards[i]) {
+            wall.playCard(card, false);
+        }
+        return i;
+    }
+
+    @Benchmark
+    public Set<Card> declareControl() {
+        int i = rebuild();
+        return wall.declareControl(remainingCards[i]);
+    }
+
+    @Benchmark
+    public int rebuildOnly() {
+        return rebuild();
+    }
+}
@@ -12,9 +12,11 @@ repositories {
 
 dependencies {
     implementation(project(":common"))
+    implementation(project(":ui"))
     implementation("com.google.protobuf:protobuf-java:4.32.0")
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
     protobuf(files("../../../../SchottenTotten2_proto/protos/"))
 }
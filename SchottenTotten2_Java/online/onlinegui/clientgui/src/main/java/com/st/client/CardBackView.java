@@ -10,7 +10,8 @@ import java.util.Objects;
 import javax.imageio.ImageIO;
 import javax.swing.JPanel;
 
-import com.st.common.Constants;
+import com.st.ui.Layout;
+
 
 public class CardBackView extends JPanel {
     private static BufferedImage cardBackImage;
@@ -26,19 +27,19 @@ public class CardBackView extends JPanel {
     }
 
     public CardBackView() {
-        setPreferredSize(new Dimension(Constants.CARD_WIDTH, Constants.CARD_HEIGHT));
-        setMaximumSize(new Dimension(Constants.CARD_WIDTH, Constants.CARD_HEIGHT));
+        setPreferredSize(new Dimension(Layout.CARD_WIDTH, Layout.CARD_HEIGHT));
+        setMaximumSize(new Dimension(Layout.CARD_WIDTH, Layout.CARD_HEIGHT));
     }
 
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         if (cardBackImage != null) {
-            g.drawImage(cardBackImage, 0, 0, Constants.CARD_WIDTH, Constants.CARD_HEIGHT, this);
+            g.drawImage(cardBackImage, 0, 0, Layout.CARD_WIDTH, Layout.CARD_HEIGHT, this);
         } else {
             g.setColor(new Color(96, 151, 234));
-            g.fillRect(0, 0, Constants.CARD_WIDTH, Constants.CARD_HEIGHT);
+            g.fillRect(0, 0, Layout.CARD_WIDTH, Layout.CARD_HEIGHT);
             g.setColor(Color.BLACK);
-            g.drawRect(0, 0, Constants.CARD_WIDTH - 1, Constants.CARD_HEIGHT - 1);
+            g.drawRect(0, 0, Layout.CARD_WIDTH - 1, Layout.CARD_HEIGHT - 1);
         }
     }
 }
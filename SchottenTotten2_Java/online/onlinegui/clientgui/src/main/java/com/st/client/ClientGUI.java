@@ -3,10 +3,13 @@ package com.st.client;
 import java.awt.BorderLayout;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.util.Arrays;
 import java.util.Objects;
 
 import javax.swing.JFrame;
@@ -17,22 +20,35 @@ import javax.swing.SwingUtilities;
 
 import com.st.common.Card;
 import com.st.common.ClientMove;
-import com.st.common.Constants;
 import com.st.common.GameState;
 import com.st.common.Wall;
 import com.st.common.Winner;
 import com.st.proto.GameState.GameStateProto;
+import com.st.search.MoveAnalyser;
+import com.st.search.SearchState;
+import com.st.ui.Layout;
 
 public class ClientGUI {
     private static Socket socket;
     private static JFrame mainFrame;
     private static GameState gameState;
     private static GameView gameView;
+    private static MoveAnalyser analyser;
 
+    /** Pass {@code --analysis} to show the win rate of each wall for the selected card. */
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--analysis")) {
+            analyser = new MoveAnalyser();
+        }
         mainFrame = new JFrame("Schotten Totten 2 (client)");
-        mainFrame.setSize(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        mainFrame.setSize(Layout.WINDOW_WIDTH, Layout.WINDOW_HEIGHT);
         mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        mainFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeAnalyser();
+            }
+        });
         mainFrame.setVisible(true);
 
         while (true) {
@@ -55,7 +71,7 @@ public class ClientGUI {
         mainFrame.addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(ComponentEvent e) {
-                Constants.resize(mainFrame.getWidth(), mainFrame.getHeight());
+                Layout.resize(mainFrame.getWidth(), mainFrame.getHeight());
                 if (gameView != null) {
                     gameView.updateLayout(ClientGUI::onWallClicked);
                 }
@@ -81,6 +97,9 @@ public class ClientGUI {
                 while ((gameState = getGameState(input)) != null) {
                     gameView = new GameView(gameState, ClientGUI::onWallClicked);
                     updateUI();
+                    if (analyser != null) {
+                        analyse(gameState, gameView);
+                    }
 
                     if (gameState.getWinner() != Winner.NONE) {
                         SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(mainFrame,
@@ -91,10 +110,29 @@ public class ClientGUI {
                 }
             } catch (IOException e) {
                 e.printStackTrace();
+            } finally {
+                // The host is gone, so there is nothing left to analyse.
+                closeAnalyser();
             }
         }).start();
     }
 
+    private static void closeAnalyser() {
+        if (analyser != null) {
+            analyser.close();
+        }
+    }
+
+    // Replaces any analysis of an earlier state; on the host's turn there is nothing to show.
+    private static void analyse(GameState state, GameView view) {
+        if (!state.isClientTurn() || state.getWinner() != Winner.NONE) {
+            analyser.cancel();
+            return;
+        }
+        analyser.analyse(SearchState.fromGameState(state), state.isClientAttacker(),
+                result -> SwingUtilities.invokeLater(() -> view.showAnalysis(result)));
+    }
+
     public static void updateUI() {
         mainFrame.getContentPane().removeAll();
         mainFrame.add(Objects.requireNonNullElseGet(gameView,
@@ -7,10 +7,13 @@ import java.util.function.Consumer;
 import com.st.common.Card;
 import com.st.common.GameState;
 import com.st.common.Wall;
+import com.st.search.Move;
+import com.st.search.SearchResult;
 
 public class GameView extends JPanel {
     private HandView clientHandView;
     private final GameState gameState;
+    private SearchResult analysis;
 
     public GameView(GameState gameState, Consumer<Wall> onWallClicked) {
         setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
@@ -27,6 +30,20 @@ public class GameView extends JPanel {
         clientHandView.unselectCard();
     }
 
+    /** Shows the win rates of {@code analysis} on the walls, for whichever card is selected. */
+    public void showAnalysis(SearchResult analysis) {
+        this.analysis = analysis;
+        repaint();
+    }
+
+    private double winRate(Wall wall) {
+        Card card = getSelectedCard();
+        if (analysis == null || card == null) {
+            return Double.NaN;
+        }
+        return analysis.winRate(Move.play(card, wall.getWallIndex()));
+    }
+
     public void updateLayout(Consumer<Wall> onWallClicked) {
         removeAll();
         HandView hostHandView = new HandView(gameState.getHostHand(), !gameState.isClientAttacker(),
@@ -35,8 +52,9 @@ public class GameView extends JPanel {
         clientHandView = new HandView(gameState.getClientHand(), gameState.isClientAttacker(),
                 gameState.getCauldronCount(), gameState.hasUsedCauldron(), false,
                 gameState.isClientTurn());
+        clientHandView.setOnSelectionChanged(this::repaint);
         TableView tableView = new TableView(gameState.getWalls(), gameState.getDeckSize(),
-                gameState.getDiscard(), onWallClicked, !gameState.isClientAttacker(),
+                gameState.getDiscard(), onWallClicked, this::winRate, !gameState.isClientAttacker(),
                 gameState.getLastPlayedCard());
 
         add(hostHandView);
@@ -3,6 +3,7 @@ package com.st.client;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -13,10 +14,10 @@ import com.st.common.CardColor;
 import com.st.common.Wall;
 
 public class TableView extends JPanel {
-    public TableView(Wall[] walls, int deckSize, Map<CardColor, List<Card>> discard, Consumer<Wall> onWallClicked, boolean isHostAttacker, Card lastPlayedCard) {
+    public TableView(Wall[] walls, int deckSize, Map<CardColor, List<Card>> discard, Consumer<Wall> onWallClicked, ToDoubleFunction<Wall> winRate, boolean isHostAttacker, Card lastPlayedCard) {
         setLayout(new BoxLayout(this, BoxLayout.X_AXIS));
 
-        BoardView boardView = new BoardView(walls, onWallClicked, isHostAttacker, lastPlayedCard);
+        BoardView boardView = new BoardView(walls, onWallClicked, winRate, isHostAttacker, lastPlayedCard);
         DeckView deckView = new DeckView(deckSize);
         DiscardView discardView = new DiscardView(discard, lastPlayedCard);
 
@@ -3,10 +3,15 @@ package com.st.client;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
 
 import javax.swing.BorderFactory;
 import javax.swing.JLabel;
@@ -14,14 +19,19 @@ import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 
 import com.st.common.Card;
-import com.st.common.CardView;
-import com.st.common.Constants;
 import com.st.common.Wall;
+import com.st.ui.CardView;
+import com.st.ui.Layout;
 
 public class WallView extends JPanel {
-    public WallView(Wall wall, Consumer<Wall> onWallClicked, boolean hostIsAttacker, Card lastPlayedCard) {
+    private final Wall wall;
+    private final ToDoubleFunction<Wall> winRate;
+
+    public WallView(Wall wall, Consumer<Wall> onWallClicked, ToDoubleFunction<Wall> winRate, boolean hostIsAttacker, Card lastPlayedCard) {
+        this.wall = wall;
+        this.winRate = winRate;
         setLayout(null);
-        setPreferredSize(new Dimension(Constants.CARD_WIDTH, Constants.WALL_OVERALL_HEIGHT));
+        setPreferredSize(new Dimension(Layout.CARD_WIDTH, Layout.WALL_OVERALL_HEIGHT));
         setOpaque(true);
 
         List<Card> topCards = hostIsAttacker ? wall.getAttackerCards() : wall.getDefenderCards();
@@ -33,7 +43,7 @@ public class WallView extends JPanel {
             } else {
                 cardView = new CardView(card, false);
             }
-            cardView.setBounds(0, (Constants.WALL_OVERALL_HEIGHT - Constants.WALL_LABEL_HEIGHT) / 2 - i * Constants.OVERLAP - Constants.OVERLAP / 2 - Constants.CARD_HEIGHT, Constants.CARD_WIDTH, Constants.CARD_HEIGHT);
+            cardView.setBounds(0, (Layout.WALL_OVERALL_HEIGHT - Layout.WALL_LABEL_HEIGHT) / 2 - i * Layout.OVERLAP - Layout.OVERLAP / 2 - Layout.CARD_HEIGHT, Layout.CARD_WIDTH, Layout.CARD_HEIGHT);
             add(cardView);
         }
 
@@ -46,7 +56,7 @@ public class WallView extends JPanel {
             } else {
                 label.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
             }
-            label.setBounds(0, (Constants.WALL_OVERALL_HEIGHT - Constants.WALL_LABEL_HEIGHT) / 2, Constants.WALL_WIDTH, Constants.WALL_LABEL_HEIGHT);
+            label.setBounds(0, (Layout.WALL_OVERALL_HEIGHT - Layout.WALL_LABEL_HEIGHT) / 2, Layout.WALL_WIDTH, Layout.WALL_LABEL_HEIGHT);
             add(label);
         }
 
@@ -59,7 +69,7 @@ public class WallView extends JPanel {
             } else {
                 cardView = new CardView(card, false);
             }
-            cardView.setBounds(0, (Constants.WALL_OVERALL_HEIGHT + Constants.WALL_LABEL_HEIGHT) / 2 + i * Constants.OVERLAP + Constants.OVERLAP / 2, Constants.CARD_WIDTH, Constants.CARD_HEIGHT);
+            cardView.setBounds(0, (Layout.WALL_OVERALL_HEIGHT + Layout.WALL_LABEL_HEIGHT) / 2 + i * Layout.OVERLAP + Layout.OVERLAP / 2, Layout.CARD_WIDTH, Layout.CARD_HEIGHT);
             add(cardView);
         }
 
@@ -80,4 +90,31 @@ public class WallView extends JPanel {
             }
         });
     }
+
+    /** Draws the analysed win rate of the selected card on this wall, if any, over the cards. */
+    @Override
+    protected void paintChildren(Graphics g) {
+        super.paintChildren(g);
+        double rate = winRate.applyAsDouble(wall);
+        if (Double.isNaN(rate)) {
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setFont(new Font("Arial", Font.BOLD, Math.max(10, Layout.WALL_LABEL_HEIGHT / 3)));
+        FontMetrics metrics = g2.getFontMetrics();
+        String text = Math.round(rate * 100) + "%";
+        int width = metrics.stringWidth(text) + metrics.getHeight() / 2;
+        int height = metrics.getHeight();
+        int x = (getWidth() - width) / 2;
+        int y = (Layout.WALL_OVERALL_HEIGHT + Layout.WALL_LABEL_HEIGHT - height) / 2;
+
+        // Red for a move that loses every game through to green for one that wins them all.
+        g2.setColor(new Color((int) (200 * (1 - rate)), (int) (160 * rate), 40, 220));
+        g2.fillRoundRect(x, y, width, height, height, height);
+        g2.setColor(Color.WHITE);
+        g2.drawString(text, x + (width - metrics.stringWidth(text)) / 2, y + metrics.getAscent());
+        g2.dispose();
+    }
 }
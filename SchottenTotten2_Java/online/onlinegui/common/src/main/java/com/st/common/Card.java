@@ -1,19 +1,57 @@
 package com.st.common;
 
-import java.util.Objects;
-
 import com.st.proto.Card.CardProto;
 
+/**
+ * A card in the game. There is exactly one instance per card: use {@link #of} or
+ * {@link #byId} to look one up. Ids are dense, 0-59 for the suited cards in colour
+ * then value order and 60-61 for the two action cards, and match {@link CardSet}
+ * bit indices.
+ */
 public class Card implements Comparable<Card> {
     private final int value;
     private final CardColor cardColor;
+    private final int id;
+    private final CardProto proto;
+
+    private static final Card[] CARDS = new Card[CardSet.NUM_CARDS];
+
+    static {
+        for (CardColor color : CardColor.getAllColors()) {
+            for (int value = 0; value < CardSet.NUM_VALUES; value++) {
+                int id = color.ordinal() * CardSet.NUM_VALUES + value;
+                CARDS[id] = new Card(color, value, id);
+            }
+        }
+        CARDS[CardSet.RETREAT_INDEX] = new Card(CardColor.ACTION_COLOR, -1, CardSet.RETREAT_INDEX);
+        CARDS[CardSet.CAULDRON_INDEX] = new Card(CardColor.ACTION_COLOR, -2, CardSet.CAULDRON_INDEX);
+    }
 
-    public static final Card RETREAT = new Card(CardColor.ACTION_COLOR, -1);
-    public static final Card CAULDRON = new Card(CardColor.ACTION_COLOR, -2);
+    public static final Card RETREAT = CARDS[CardSet.RETREAT_INDEX];
+    public static final Card CAULDRON = CARDS[CardSet.CAULDRON_INDEX];
 
-    public Card(CardColor cardColor, int value) {
+    private Card(CardColor cardColor, int value, int id) {
         this.value = value;
         this.cardColor = cardColor;
+        this.id = id;
+        this.proto = CardProto.newBuilder().setColor(cardColor.toProto()).setValue(value).build();
+    }
+
+    public static Card of(CardColor cardColor, int value) {
+        if (cardColor == CardColor.ACTION_COLOR) {
+            if (value == -1) {
+                return RETREAT;
+            } else if (value == -2) {
+                return CAULDRON;
+            }
+        } else if (value >= 0 && value < CardSet.NUM_VALUES) {
+            return CARDS[cardColor.ordinal() * CardSet.NUM_VALUES + value];
+        }
+        throw new IllegalArgumentException("No such card: " + cardColor + " " + value);
+    }
+
+    public static Card byId(int id) {
+        return CARDS[id];
     }
 
     public CardColor getColor() {
@@ -24,6 +62,10 @@ public class Card implements Comparable<Card> {
         return value;
     }
 
+    public int getId() {
+        return id;
+    }
+
     public int compareTo(Card other) {
         if (this.cardColor == other.cardColor) {
             return this.value - other.value;
@@ -32,25 +74,22 @@ public class Card implements Comparable<Card> {
     }
 
     public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        } else if (o instanceof Card) {
-            return this.cardColor == ((Card) o).cardColor && this.value == ((Card) o).value;
-        } else {
-            return false;
-        }
+        return this == o;
     }
 
     public int hashCode() {
-        return Objects.hash(value, cardColor);
+        return id;
+    }
+
+    public String toString() {
+        return cardColor + " " + value;
     }
 
     public CardProto toProto() {
-        CardProto.Builder builder = CardProto.newBuilder();
-        return builder.setColor(cardColor.toProto()).setValue(value).build();
+        return proto;
     }
 
     public static Card fromProto(CardProto proto) {
-        return new Card(CardColor.fromProto(proto.getColor()), proto.getValue());
+        return of(CardColor.fromProto(proto.getColor()), proto.getValue());
     }
 }
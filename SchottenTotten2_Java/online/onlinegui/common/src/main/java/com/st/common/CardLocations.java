@@ -0,0 +1,83 @@
+package com.st.common;
+
+import java.util.Arrays;
+
+/**
+ * Tracks where every suited card is: the deck, a hand, one side of a wall or the
+ * discard. Containers report cards as they arrive, so a card removed from a hand
+ * keeps its old location until it is placed somewhere else.
+ */
+public final class CardLocations {
+    public static final int DECK = 0;
+    public static final int ATTACKER_HAND = 1;
+    public static final int DEFENDER_HAND = 2;
+    public static final int DISCARD = 3;
+    private static final int FIRST_WALL = 4;
+    public static final int NUM_LOCATIONS = FIRST_WALL + 2 * Constants.NUM_WALLS;
+
+    private final byte[] locations;
+    private final long[] cardSets;
+
+    public CardLocations() {
+        locations = new byte[CardSet.NUM_SUITED];
+        cardSets = new long[NUM_LOCATIONS];
+        reset();
+    }
+
+    public static int wall(int wallIndex, boolean isAttacker) {
+        return FIRST_WALL + 2 * wallIndex + (isAttacker ? 0 : 1);
+    }
+
+    public static boolean isWall(int location) {
+        return location >= FIRST_WALL;
+    }
+
+    public static int wallIndex(int location) {
+        return (location - FIRST_WALL) / 2;
+    }
+
+    public void reset() {
+        Arrays.fill(locations, (byte) DECK);
+        Arrays.fill(cardSets, CardSet.EMPTY);
+        cardSets[DECK] = CardSet.ALL_SUITED;
+    }
+
+    public void move(Card card, int location) {
+        int id = card.getId();
+        if (id >= CardSet.NUM_SUITED) {
+            return;
+        }
+        long bit = 1L << id;
+        cardSets[locations[id]] &= ~bit;
+        cardSets[location] |= bit;
+        locations[id] = (byte) location;
+    }
+
+    public void moveAll(Iterable<Card> cards, int location) {
+        for (Card card : cards) {
+            move(card, location);
+        }
+    }
+
+    public int getLocation(Card card) {
+        return locations[card.getId()];
+    }
+
+    public long getCardSet(int location) {
+        return cardSets[location];
+    }
+
+    /** Cards that are neither on the board nor discarded: the deck and both hands. */
+    public long getUnseenCards() {
+        return cardSets[DECK] | cardSets[ATTACKER_HAND] | cardSets[DEFENDER_HAND];
+    }
+
+    /** Cards the owner of {@code hand} cannot see: the deck and the other hand. */
+    public long getUnseenCards(int hand) {
+        return getUnseenCards() & ~cardSets[hand];
+    }
+
+    public int getUnseenCount(CardColor color) {
+        return CardSet.size(getUnseenCards() & CardSet.colorMask(color));
+    }
+}
@@ -0,0 +1,140 @@
+package com.st.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A set of cards packed into a {@code long}. Suited cards take bits 0-59, twelve
+ * bits per colour in {@link CardColor} order, and the two action cards take bits
+ * 60 and 61. All operations work on the primitive value and never allocate, except
+ * for the conversions back to {@link Card} collections.
+ * <p>
+ * Iterate with:
+ * <pre>
+ * for (long s = set; s != 0; s &amp;= s - 1) {
+ *     int index = CardSet.first(s);
+ * }
+ * </pre>
+ */
+public final class CardSet {
+    public static final int NUM_COLORS = 5;
+    public static final int NUM_VALUES = 12;
+    public static final int NUM_SUITED = NUM_COLORS * NUM_VALUES;
+    public static final int RETREAT_INDEX = NUM_SUITED;
+    public static final int CAULDRON_INDEX = NUM_SUITED + 1;
+    public static final int NUM_CARDS = NUM_SUITED + 2;
+
+    public static final long EMPTY = 0L;
+    public static final long ALL_SUITED = (1L << NUM_SUITED) - 1;
+    public static final long ALL = (1L << NUM_CARDS) - 1;
+    private static final long VALUE_MASK = (1L << NUM_VALUES) - 1;
+
+    private CardSet() {
+    }
+
+    public static int indexOf(Card card) {
+        return card.getId();
+    }
+
+    public static Card card(int index) {
+        return Card.byId(index);
+    }
+
+    public static long bit(Card card) {
+        return 1L << card.getId();
+    }
+
+    public static long of(Collection<Card> cards) {
+        long set = EMPTY;
+        for (Card card : cards) {
+            set |= bit(card);
+        }
+        return set;
+    }
+
+    public static long add(long set, Card card) {
+        return set | bit(card);
+    }
+
+    public static long remove(long set, Card card) {
+        return set & ~bit(card);
+    }
+
+    public static boolean contains(long set, Card card) {
+        return (set & bit(card)) != 0;
+    }
+
+    public static boolean containsIndex(long set, int index) {
+        return (set & (1L << index)) != 0;
+    }
+
+    public static long union(long a, long b) {
+        return a | b;
+    }
+
+    public static long intersection(long a, long b) {
+        return a & b;
+    }
+
+    public static long difference(long a, long b) {
+        return a & ~b;
+    }
+
+    public static boolean isEmpty(long set) {
+        return set == EMPTY;
+    }
+
+    public static int size(long set) {
+        return Long.bitCount(set);
+    }
+
+    /** Index of the lowest card in a non-empty set. */
+    public static int first(long set) {
+        return Long.numberOfTrailingZeros(set);
+    }
+
+    /** Bits of every suited card of {@code color}. */
+    public static long colorMask(CardColor color) {
+        return VALUE_MASK << (color.ordinal() * NUM_VALUES);
+    }
+
+    /** The values of {@code color} present in the set, as a 12-bit mask. */
+    public static int values(long set, int colorOrdinal) {
+        return (int) ((set >>> (colorOrdinal * NUM_VALUES)) & VALUE_MASK);
+    }
+
+    /** Bits of every suited card with the given value. */
+    public static long valueMask(int value) {
+        long mask = EMPTY;
+        for (int c = 0; c < NUM_COLORS; c++) {
+            mask |= 1L << (c * NUM_VALUES + value);
+        }
+        return mask;
+    }
+
+    public static List<Card> toList(long set) {
+        List<Card> cards = new ArrayList<>(size(set));
+        for (long s = set; s != 0; s &= s - 1) {
+            cards.add(card(first(s)));
+        }
+        return cards;
+    }
+
+    public static String toString(long set) {
+        StringBuilder builder = new StringBuilder("[");
+        for (long s = set; s != 0; s &= s - 1) {
+            int index = first(s);
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            if (index >= NUM_SUITED) {
+                builder.append(index == RETREAT_INDEX ? "RETREAT" : "CAULDRON");
+            } else {
+                builder.append(CardColor.values()[index / NUM_VALUES]).append(' ')
+                        .append(index % NUM_VALUES);
+            }
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,241 @@
+package com.st.common;
+
+/**
+ * Finds the strongest formation the defender can still complete on a wall.
+ * <p>
+ * Strength is {@code type * 100 + sum}, so formation types are tried from the
+ * strongest down and the first type that can be completed decides the result.
+ * Within a type the best completion is built directly from the remaining cards
+ * instead of enumerating every permutation, and the completed formation is scored
+ * through {@link FormationTable}.
+ */
+public final class FormationSolver {
+    private static final int NUM_COLORS = CardSet.NUM_COLORS;
+    private static final int NUM_VALUES = CardSet.NUM_VALUES;
+    private static final int VALUE_MASK = (1 << NUM_VALUES) - 1;
+    private static final long NO_COMPLETION = -1L;
+
+    private FormationSolver() {
+    }
+
+    /**
+     * Returns the strongest strength reachable by adding cards from
+     * {@code remainingCards} to {@code formation}, or {@link Integer#MIN_VALUE} if the
+     * formation cannot be completed. The search stops as soon as a strength of at
+     * least {@code target} is found, in which case that strength is returned.
+     * <p>
+     * If {@code completion} is not null, its first element receives the cards that
+     * were added to reach the returned strength.
+     *
+     * @param remainingCards a {@link CardSet} of the cards that could still be played
+     */
+    public static int strongestCompletion(long formation, long remainingCards, int length,
+            WallPattern pattern, int target, long[] completion) {
+        long added = complete(formation, remainingCards, length, pattern, target);
+        if (added == NO_COMPLETION) {
+            return Integer.MIN_VALUE;
+        }
+        if (completion != null) {
+            completion[0] = added;
+        }
+        return FormationTable.strength(pattern, formation | added);
+    }
+
+    private static long complete(long formation, long remaining, int length, WallPattern pattern,
+            int target) {
+        int needed = length - CardSet.size(formation);
+        if (needed <= 0) {
+            return CardSet.EMPTY;
+        }
+
+        int fixedValues = 0;
+        boolean distinctValues = true;
+        int color = -1;
+        boolean singleColor = true;
+        int value = -1;
+        boolean singleValue = true;
+        for (long s = formation; s != 0; s &= s - 1) {
+            int v = CardSet.first(s) % NUM_VALUES;
+            int c = CardSet.first(s) / NUM_VALUES;
+            if ((fixedValues & (1 << v)) != 0) {
+                distinctValues = false;
+            }
+            fixedValues |= 1 << v;
+            if (color == -1) {
+                color = c;
+                value = v;
+            } else {
+                singleColor &= color == c;
+                singleValue &= value == v;
+            }
+        }
+        boolean canColorRun = distinctValues && singleColor;
+
+        long added = NO_COMPLETION;
+        switch (pattern) {
+            case WallPattern.PLUS -> {
+                return highest(remaining, needed);
+            }
+            case WallPattern.MINUS -> {
+                return lowest(remaining, needed);
+            }
+            case WallPattern.COLOR -> {
+                if (canColorRun) {
+                    added = colorRun(remaining, fixedValues, color, length);
+                }
+                if (added == NO_COMPLETION && singleColor) {
+                    added = color(formation, remaining, needed, color, pattern, target);
+                }
+            }
+            case WallPattern.RUN -> {
+                if (canColorRun) {
+                    added = colorRun(remaining, fixedValues, color, length);
+                }
+                if (added == NO_COMPLETION && distinctValues) {
+                    added = run(remaining, fixedValues, length);
+                }
+            }
+            case WallPattern.EQUALS -> {
+                if (singleValue) {
+                    added = sameStrength(remaining, needed, value);
+                }
+            }
+            case WallPattern.NONE -> {
+                if (canColorRun) {
+                    added = colorRun(remaining, fixedValues, color, length);
+                }
+                if (added == NO_COMPLETION && singleValue) {
+                    added = sameStrength(remaining, needed, value);
+                }
+                if (added == NO_COMPLETION && singleColor) {
+                    added = color(formation, remaining, needed, color, pattern, target);
+                }
+                if (added == NO_COMPLETION && distinctValues) {
+                    added = run(remaining, fixedValues, length);
+                }
+            }
+        }
+        return added != NO_COMPLETION ? added : highest(remaining, needed);
+    }
+
+    // The {@code needed} highest remaining cards, or NO_COMPLETION if there are too few.
+    private static long highest(long remaining, int needed) {
+        long added = CardSet.EMPTY;
+        for (int v = NUM_VALUES - 1; v >= 0 && needed > 0; v--) {
+            long cards = remaining & CardSet.valueMask(v);
+            for (; cards != 0 && needed > 0; cards &= cards - 1) {
+                added |= Long.lowestOneBit(cards);
+                needed--;
+            }
+        }
+        return needed == 0 ? added : NO_COMPLETION;
+    }
+
+    private static long lowest(long remaining, int needed) {
+        long added = CardSet.EMPTY;
+        for (int v = 0; v < NUM_VALUES && needed > 0; v++) {
+            long cards = remaining & CardSet.valueMask(v);
+            for (; cards != 0 && needed > 0; cards &= cards - 1) {
+                added |= Long.lowestOneBit(cards);
+                needed--;
+            }
+        }
+        return needed == 0 ? added : NO_COMPLETION;
+    }
+
+    // Best single-colour completion; stops early once it reaches {@code target}.
+    private static long color(long formation, long remaining, int needed, int color,
+            WallPattern pattern, int target) {
+        long best = NO_COMPLETION;
+        int bestStrength = Integer.MIN_VALUE;
+        for (int c = 0; c < NUM_COLORS; c++) {
+            if (color != -1 && c != color) {
+                continue;
+            }
+            int mask = CardSet.values(remaining, c);
+            if (Integer.bitCount(mask) < needed) {
+                continue;
+            }
+            long added = CardSet.EMPTY;
+            for (int i = 0; i < needed; i++) {
+                int v = 31 - Integer.numberOfLeadingZeros(mask);
+                added |= 1L << (c * NUM_VALUES + v);
+                mask &= ~(1 << v);
+            }
+            int strength = FormationTable.strength(pattern, formation | added);
+            if (strength > bestStrength) {
+                best = added;
+                bestStrength = strength;
+                if (bestStrength >= target) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Highest completable run, taking each missing value from any colour.
+    private static long run(long remaining, int fixedValues, int length) {
+        int available = 0;
+        for (int c = 0; c < NUM_COLORS; c++) {
+            available |= CardSet.values(remaining, c);
+        }
+        int window = highestWindow(available | fixedValues, fixedValues, length);
+        if (window == 0) {
+            return NO_COMPLETION;
+        }
+        long added = CardSet.EMPTY;
+        for (int missing = window & ~fixedValues; missing != 0; missing &= missing - 1) {
+            long cards = remaining & CardSet.valueMask(Integer.numberOfTrailingZeros(missing));
+            added |= Long.lowestOneBit(cards);
+        }
+        return added;
+    }
+
+    private static long colorRun(long remaining, int fixedValues, int color, int length) {
+        long best = NO_COMPLETION;
+        int bestWindow = 0;
+        for (int c = 0; c < NUM_COLORS; c++) {
+            if (color != -1 && c != color) {
+                continue;
+            }
+            int window = highestWindow(CardSet.values(remaining, c) | fixedValues, fixedValues,
+                    length);
+            if (window > bestWindow) {
+                bestWindow = window;
+                best = (long) (window & ~fixedValues) << (c * NUM_VALUES);
+            }
+        }
+        return best;
+    }
+
+    // Highest window of {@code length} consecutive values covered by {@code available} that
+    // contains every fixed value, as a value mask, or 0 if there is none.
+    private static int highestWindow(int available, int fixedValues, int length) {
+        int window = (1 << length) - 1;
+        for (int low = NUM_VALUES - length; low >= 0; low--) {
+            int bits = window << low;
+            if ((available & bits) == bits && (fixedValues & ~bits & VALUE_MASK) == 0) {
+                return bits;
+            }
+        }
+        return 0;
+    }
+
+    private static long sameStrength(long remaining, int needed, int value) {
+        for (int v = NUM_VALUES - 1; v >= 0; v--) {
+            if (value != -1 && v != value) {
+                continue;
+            }
+            long cards = remaining & CardSet.valueMask(v);
+            if (CardSet.size(cards) >= needed) {
+                long added = CardSet.EMPTY;
+                for (int i = 0; i < needed; i++) {
+                    added |= Long.lowestOneBit(cards & ~added);
+                }
+                return added;
+            }
+        }
+        return NO_COMPLETION;
+    }
+}
@@ -0,0 +1,122 @@
+package com.st.common;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precomputed formation strengths for every 2-, 3- and 4-card formation of suited
+ * cards, one table per {@link WallPattern} and formation size.
+ * <p>
+ * A formation is given as a {@link CardSet} and indexed by the combinatorial rank
+ * of its sorted card indices, so each table has exactly C(60, size) entries. Tables
+ * are built the first time a pattern and size is scored.
+ */
+public final class FormationTable {
+    public static final int MIN_SIZE = 2;
+    public static final int MAX_SIZE = 4;
+
+    private static final int[][] BINOMIAL = new int[CardSet.NUM_SUITED + 1][MAX_SIZE + 1];
+    private static final AtomicReferenceArray<short[]> TABLES =
+            new AtomicReferenceArray<>(WallPattern.values().length * (MAX_SIZE + 1));
+
+    static {
+        for (int n = 0; n <= CardSet.NUM_SUITED; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= MAX_SIZE; k++) {
+                BINOMIAL[n][k] = n == 0 ? 0 : BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    private FormationTable() {
+    }
+
+    /** Strength of a formation of 2 to 4 suited cards on a wall with the given pattern. */
+    public static int strength(WallPattern pattern, long formation) {
+        int size = CardSet.size(formation);
+        return table(pattern, size)[rank(formation)];
+    }
+
+    public static FormationType formationType(long formation) {
+        int values = 0;
+        int colors = 0;
+        for (int c = 0; c < CardSet.NUM_COLORS; c++) {
+            int colorValues = CardSet.values(formation, c);
+            if (colorValues != 0) {
+                colors++;
+                values |= colorValues;
+            }
+        }
+        int size = CardSet.size(formation);
+        int distinct = Integer.bitCount(values);
+        boolean run = distinct == size
+                && values >>> Integer.numberOfTrailingZeros(values) == (1 << size) - 1;
+
+        if (colors == 1) {
+            return run ? FormationType.COLOR_RUN : FormationType.COLOR;
+        }
+        if (distinct == 1) {
+            return FormationType.SAME_STRENGTH;
+        }
+        return run ? FormationType.RUN : FormationType.SUM;
+    }
+
+    public static int sum(long formation) {
+        int sum = 0;
+        for (long s = formation; s != 0; s &= s - 1) {
+            sum += CardSet.first(s) % CardSet.NUM_VALUES;
+        }
+        return sum;
+    }
+
+    static int rank(long formation) {
+        int rank = 0;
+        int k = 1;
+        for (long s = formation; s != 0; s &= s - 1) {
+            rank += BINOMIAL[CardSet.first(s)][k++];
+        }
+        return rank;
+    }
+
+    private static short[] table(WallPattern pattern, int size) {
+        int slot = pattern.ordinal() * (MAX_SIZE + 1) + size;
+        short[] table = TABLES.get(slot);
+        if (table == null) {
+            table = build(pattern, size);
+            if (!TABLES.compareAndSet(slot, null, table)) {
+                table = TABLES.get(slot);
+            }
+        }
+        return table;
+    }
+
+    private static short[] build(WallPattern pattern, int size) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Formation size must be 2 to 4: " + size);
+        }
+        short[] table = new short[BINOMIAL[CardSet.NUM_SUITED][size]];
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        while (true) {
+            long formation = CardSet.EMPTY;
+            for (int index : indices) {
+                formation |= 1L << index;
+            }
+            table[rank(formation)] = (short) Wall.getStrength(pattern, formationType(formation),
+                    sum(formation));
+
+            int i = size - 1;
+            while (i >= 0 && indices[i] == CardSet.NUM_SUITED - size + i) {
+                i--;
+            }
+            if (i < 0) {
+                return table;
+            }
+            indices[i]++;
+            for (int j = i + 1; j < size; j++) {
+                indices[j] = indices[j - 1] + 1;
+            }
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package com.st.common;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -22,9 +20,18 @@ public class Wall {
 
     private final List<Card> attackerCards;
     private final List<Card> defenderCards;
+    private long attackerCardSet;
+    private long defenderCardSet;
 
     private boolean attackerFinishedFirst;
-    private static final int MULTIPLIER = 100;
+    private CardLocations locations;
+    private WallListener listener;
+    // Cards that let the defender hold the wall against the current attacker formation;
+    // valid until the wall's cards change.
+    private long blockingCompletion = NO_COMPLETION;
+    private final long[] completion = new long[1];
+    static final int MULTIPLIER = 100;
+    private static final long NO_COMPLETION = -1L;
 
     public enum Status {
         BROKEN, DAMAGED, INTACT;
@@ -81,16 +88,28 @@ public class Wall {
         this.defenderCards = new ArrayList<>();
     }
 
+    public void setLocations(CardLocations locations) {
+        this.locations = locations;
+    }
+
+    public void setListener(WallListener listener) {
+        this.listener = listener;
+    }
+
     public boolean contains(Card card) {
-        return attackerCards.contains(card) || defenderCards.contains(card);
+        return CardSet.contains(getCardSet(), card);
     }
 
     public void reset() {
         attackerCards.clear();
         defenderCards.clear();
+        attackerCardSet = CardSet.EMPTY;
+        defenderCardSet = CardSet.EMPTY;
         status = Status.INTACT;
         length = intactLength;
         pattern = intactPattern;
+        attackerFinishedFirst = false;
+        changed();
     }
 
     public List<Card> getAttackerCards() {
@@ -101,6 +120,18 @@ public class Wall {
         return defenderCards;
     }
 
+    public long getAttackerCardSet() {
+        return attackerCardSet;
+    }
+
+    public long getDefenderCardSet() {
+        return defenderCardSet;
+    }
+
+    public long getCardSet() {
+        return attackerCardSet | defenderCardSet;
+    }
+
     public Status getStatus() {
         return status;
     }
@@ -117,18 +148,26 @@ public class Wall {
         return wallIndex;
     }
 
+    public boolean isAttackerFinishedFirst() {
+        return attackerFinishedFirst;
+    }
+
     public PlayResult playCard(Card card, boolean isAttacker) {
         if (card.equals(Card.RETREAT)) {
             List<Card> toDiscard = new ArrayList<>(attackerCards);
             attackerCards.clear();
+            attackerCardSet = CardSet.EMPTY;
+            changed();
             return new PlayResult(PlayResult.Type.ACTION, toDiscard);
         }
 
         if (card.equals(Card.CAULDRON)) {
             if (!attackerCards.isEmpty()) {
-                List<Card> toDiscard = List.of(attackerCards.removeLast());
+                Card removed = attackerCards.removeLast();
+                attackerCardSet = CardSet.remove(attackerCardSet, removed);
                 attackerFinishedFirst = false;
-                return new PlayResult(PlayResult.Type.ACTION, toDiscard);
+                changed();
+                return new PlayResult(PlayResult.Type.ACTION, List.of(removed));
             }
             return new PlayResult(PlayResult.Type.FAILURE);
         }
@@ -147,38 +186,72 @@ public class Wall {
             return new PlayResult(PlayResult.Type.FAILURE);
         }
 
-        playingSide.add(card);
         List<Card> toDiscard = new ArrayList<>();
         int value = card.getValue();
-        if (value == 0 || value == 11) {
-            Card temp = new Card(card.getColor(), 11 - value);
-            if (otherSide.contains(temp)) {
-                playingSide.remove(card);
-                otherSide.remove(temp);
-                toDiscard.add(card);
-                toDiscard.add(temp);
+        long otherSet = isAttacker ? defenderCardSet : attackerCardSet;
+        Card temp = value == 0 || value == 11 ? Card.of(card.getColor(), 11 - value) : null;
+        if (temp != null && CardSet.contains(otherSet, temp)) {
+            otherSide.remove(temp);
+            if (isAttacker) {
+                defenderCardSet = CardSet.remove(defenderCardSet, temp);
+            } else {
+                attackerCardSet = CardSet.remove(attackerCardSet, temp);
+            }
+            toDiscard.add(card);
+            toDiscard.add(temp);
+        } else {
+            playingSide.add(card);
+            if (isAttacker) {
+                attackerCardSet = CardSet.add(attackerCardSet, card);
+            } else {
+                defenderCardSet = CardSet.add(defenderCardSet, card);
+            }
+            if (locations != null) {
+                locations.move(card, CardLocations.wall(wallIndex, isAttacker));
             }
         }
 
         if (isAttacker) {
             attackerFinishedFirst = attackerCards.size() == length && defenderCards.size() < length;
         }
+        changed();
         return new PlayResult(PlayResult.Type.SUCCESS, toDiscard);
     }
 
     public Set<Card> declareControl(List<Card> remainingCards) {
+        return declareControl(CardSet.of(remainingCards));
+    }
+
+    /**
+     * Damages the wall if the attacker side is full and no completion of the defender
+     * side from {@code remainingCards} can match it. A completion that holds the wall is
+     * remembered, so later calls only search again once one of its cards is gone.
+     */
+    public Set<Card> declareControl(long remainingCards) {
         if (attackerCards.size() == length) {
-            int defenderStrength = getStrongestDefenderFormationStrength(defenderCards,
-                    remainingCards, length, Integer.MIN_VALUE);
-            int attackerStrength = getStrength(attackerCards);
-            if ((attackerStrength > defenderStrength)
-                    || (attackerFinishedFirst && attackerStrength >= defenderStrength)) {
+            if (blockingCompletion != NO_COMPLETION
+                    && CardSet.difference(blockingCompletion, remainingCards) == CardSet.EMPTY) {
+                return new TreeSet<>();
+            }
+            int attackerStrength = FormationTable.strength(pattern, attackerCardSet);
+            int target = attackerFinishedFirst ? attackerStrength + 1 : attackerStrength;
+            int defenderStrength = FormationSolver.strongestCompletion(defenderCardSet,
+                    remainingCards, length, pattern, target, completion);
+            if (defenderStrength < target) {
                 return damage();
             }
+            blockingCompletion = completion[0];
         }
         return new TreeSet<>();
     }
 
+    private void changed() {
+        blockingCompletion = NO_COMPLETION;
+        if (listener != null) {
+            listener.wallChanged(this);
+        }
+    }
+
     private Set<Card> damage() {
         if (status == Status.DAMAGED) {
             status = Status.BROKEN;
@@ -191,32 +264,13 @@ public class Wall {
         toDiscard.addAll(defenderCards);
         attackerCards.clear();
         defenderCards.clear();
+        attackerCardSet = CardSet.EMPTY;
+        defenderCardSet = CardSet.EMPTY;
+        changed();
         return toDiscard;
     }
 
-    private int getStrongestDefenderFormationStrength(List<Card> currentFormation,
-            List<Card> remainingCards, int length, int maxStrength) {
-        if (currentFormation.size() == length) {
-            return Math.max(getStrength(currentFormation), maxStrength);
-        }
-        for (int i = 0; i < remainingCards.size(); i++) {
-            Card card = remainingCards.remove(i);
-            currentFormation.add(card);
-            maxStrength = Math.max(getStrongestDefenderFormationStrength(currentFormation,
-                    remainingCards, length, maxStrength), maxStrength);
-            currentFormation.remove(card);
-            remainingCards.add(i, card);
-        }
-        return maxStrength;
-    }
-
-    private int getStrength(List<Card> formation) {
-        int sum = 0;
-        for (Card card : formation) {
-            sum += card.getValue();
-        }
-        FormationType type = getFormationType(formation);
-
+    public static int getStrength(WallPattern pattern, FormationType type, int sum) {
         switch (pattern) {
             case WallPattern.PLUS -> {
                 type = FormationType.SUM;
@@ -245,37 +299,6 @@ public class Wall {
         return type.getStrength() * MULTIPLIER + sum;
     }
 
-    private FormationType getFormationType(List<Card> formation) {
-        Set<CardColor> colors = new TreeSet<>();
-        List<Integer> values = new ArrayList<>();
-        for (Card card : formation) {
-            colors.add(card.getColor());
-            values.add(card.getValue());
-        }
-        Collections.sort(values);
-
-        Set<Integer> diffs = new HashSet<>();
-        for (int i = 0; i < formation.size() - 1; i++) {
-            diffs.add(values.get(i + 1) - values.get(i));
-        }
-
-        if (colors.size() == 1) {
-            return diffs.size() == 1 && diffs.contains(1) ? FormationType.COLOR_RUN
-                    : FormationType.COLOR;
-        }
-
-        if (diffs.size() == 1) {
-            if (diffs.contains(0)) {
-                return FormationType.SAME_STRENGTH;
-            }
-            if (diffs.contains(1)) {
-                return FormationType.RUN;
-            }
-        }
-
-        return FormationType.SUM;
-    }
-
     public WallProto toProto() {
         WallProto.Builder builder = WallProto.newBuilder();
         builder.setWallIndex(wallIndex);
@@ -308,6 +331,9 @@ public class Wall {
         for (int i = 0; i < proto.getDefenderCardsCount(); i++) {
             wall.defenderCards.add(Card.fromProto(proto.getDefenderCards(i)));
         }
+        wall.attackerCardSet = CardSet.of(wall.attackerCards);
+        wall.defenderCardSet = CardSet.of(wall.defenderCards);
+        wall.attackerFinishedFirst = proto.getAttackerFinishedFirst();
         return wall;
     }
 }
@@ -0,0 +1,6 @@
+package com.st.common;
+
+/** Notified whenever the cards, status, length or pattern of a {@link Wall} change. */
+public interface WallListener {
+    void wallChanged(Wall wall);
+}
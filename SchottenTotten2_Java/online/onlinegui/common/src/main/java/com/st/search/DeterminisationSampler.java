@@ -0,0 +1,98 @@
+package com.st.search;
+
+import java.util.random.RandomGenerator;
+
+import com.st.common.CardSet;
+
+/**
+ * Deals the cards an observer cannot see, to turn a {@link SearchState} into one of the
+ * worlds consistent with what that observer knows.
+ * <p>
+ * The hidden cards are the opponent's hand and the deck; everything on the walls and in
+ * the discard is known, including both cards of a 0 and 11 pair that cancelled out on a
+ * wall, which a {@link SearchState} discards. The opponent is dealt a hand of the size
+ * they hold now, and the rest of the hidden cards become the deck in a uniformly random
+ * order.
+ * <p>
+ * Without a {@link HandBelief} every consistent hand is equally likely. With one, the
+ * hand is a weighted sample without replacement (Efraimidis and Spirakis): each card
+ * draws the key {@code log(u) / weight} and the highest keys make the hand.
+ * <p>
+ * Card sets are bitmasks and the scratch space is allocated up front, so a sample
+ * allocates nothing. An instance is not thread-safe: give every search thread its own,
+ * along with its own random generator.
+ */
+public final class DeterminisationSampler {
+    private HandBelief belief;
+    // The cards with the highest keys so far, in descending key order.
+    private final int[] bestCards = new int[CardSet.NUM_SUITED];
+    private final double[] bestKeys = new double[CardSet.NUM_SUITED];
+
+    /** Weights the hands dealt by {@code belief}, or deals uniformly if it is null. */
+    public void setBelief(HandBelief belief) {
+        this.belief = belief;
+    }
+
+    /**
+     * Redeals the opponent's hand and the deck of {@code state} as the attacker or the
+     * defender sees them, and shuffles the deck.
+     */
+    public void sample(SearchState state, boolean observerIsAttacker, RandomGenerator random) {
+        long opponentHand = state.getHand(!observerIsAttacker);
+        long hidden = opponentHand | state.getDeckSet();
+        int handSize = CardSet.size(opponentHand);
+        long hand = belief == null ? drawUniform(hidden, handSize, random)
+                : drawWeighted(hidden, handSize, random);
+
+        if (observerIsAttacker) {
+            state.setHands(state.getAttackerHand(), hand);
+        } else {
+            state.setHands(hand, state.getDefenderHand());
+        }
+        state.setDeck(hidden & ~hand);
+        state.shuffleDeck(random);
+    }
+
+    private static long drawUniform(long candidates, int count, RandomGenerator random) {
+        long drawn = CardSet.EMPTY;
+        long remaining = candidates;
+        for (int left = CardSet.size(candidates); count > 0; count--, left--) {
+            long s = remaining;
+            for (int i = random.nextInt(left); i > 0; i--) {
+                s &= s - 1;
+            }
+            long bit = Long.lowestOneBit(s);
+            drawn |= bit;
+            remaining &= ~bit;
+        }
+        return drawn;
+    }
+
+    private long drawWeighted(long candidates, int count, RandomGenerator random) {
+        if (count == 0) {
+            return CardSet.EMPTY;
+        }
+        int kept = 0;
+        for (long s = candidates; s != 0; s &= s - 1) {
+            int card = Long.numberOfTrailingZeros(s);
+            double weight = belief.weight(card);
+            double key = weight > 0 ? Math.log(random.nextDouble()) / weight
+                    : Double.NEGATIVE_INFINITY;
+            if (kept == count && key <= bestKeys[kept - 1]) {
+                continue;
+            }
+            int i = kept < count ? kept++ : kept - 1;
+            for (; i > 0 && bestKeys[i - 1] < key; i--) {
+                bestKeys[i] = bestKeys[i - 1];
+                bestCards[i] = bestCards[i - 1];
+            }
+            bestKeys[i] = key;
+            bestCards[i] = card;
+        }
+        long drawn = CardSet.EMPTY;
+        for (int i = 0; i < kept; i++) {
+            drawn |= 1L << bestCards[i];
+        }
+        return drawn;
+    }
+}
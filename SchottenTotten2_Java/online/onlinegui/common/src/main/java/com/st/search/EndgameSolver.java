@@ -0,0 +1,250 @@
+package com.st.search;
+
+import java.util.Arrays;
+
+import com.st.common.Winner;
+
+/**
+ * Exact alpha-beta search for positions without hidden cards.
+ * <p>
+ * Once the deck is empty the cards nobody has seen are exactly the opponent's hand, so
+ * the game is one of perfect information and can be solved outright. The attacker then
+ * has a single turn left, since the defender wins as soon as it is their turn with an
+ * empty deck, but that turn may chain retreats before the final card. On any other
+ * position the solver takes the deck order as known, which makes it a search of one
+ * determinisation.
+ * <p>
+ * Positions are scored for the attacker as a win, a loss or unknown, the last when the
+ * depth limit cuts the game off. Iterative deepening runs until the root is proven or
+ * the budget runs out. A transposition table carries bounds and best moves from one
+ * depth to the next, and the moves without a table entry are ordered by a history
+ * heuristic. The solver owns its table and buffers, so a search allocates nothing.
+ */
+public final class EndgameSolver {
+    /** Transposition table entries by default: 2^20, about 16 MB. */
+    public static final int DEFAULT_TABLE_BITS = 20;
+
+    /** The result of a search, for the side to move at the root. */
+    public enum Outcome {
+        WIN,
+        LOSS,
+        UNKNOWN
+    }
+
+    /**
+     * @param bestMove the move to play, or {@link Move#NONE} if there is none
+     * @param depth the deepest search that completed, in plies
+     * @param nodes the positions searched
+     */
+    public record Solution(int bestMove, Outcome outcome, int depth, long nodes) {
+    }
+
+    private static final int ATTACKER_WINS = 1;
+    private static final int UNKNOWN = 0;
+    private static final int DEFENDER_WINS = -1;
+
+    private static final byte EXACT = 0;
+    private static final byte LOWER = 1;
+    private static final byte UPPER = 2;
+    // Stored for proven results, which hold at every depth.
+    private static final short PROVEN = Short.MAX_VALUE;
+    private static final int CHECK_INTERVAL = 1 << 10;
+
+    private final SearchState state = new SearchState();
+    private final long[] keys;
+    private final int[] tableMoves;
+    private final short[] depths;
+    private final byte[] values;
+    private final byte[] bounds;
+    private final int tableMask;
+    private final int[][] moves = new int[SearchState.MAX_PLIES][Move.MAX_MOVES];
+    private final int[] history = new int[Move.NUM_CODES];
+    private long nodes;
+    private long maxNodes;
+    private long deadline;
+    private boolean aborted;
+    private boolean depthLimited;
+    private int rootBestMove;
+
+    public EndgameSolver() {
+        this(DEFAULT_TABLE_BITS);
+    }
+
+    /** @param tableBits the transposition table holds {@code 2^tableBits} entries */
+    public EndgameSolver(int tableBits) {
+        if (tableBits < 1 || tableBits > 30) {
+            throw new IllegalArgumentException("Table bits out of range: " + tableBits);
+        }
+        int size = 1 << tableBits;
+        keys = new long[size];
+        tableMoves = new int[size];
+        depths = new short[size];
+        values = new byte[size];
+        bounds = new byte[size];
+        tableMask = size - 1;
+        clearTable();
+    }
+
+    /** Forgets every stored position. */
+    public void clearTable() {
+        Arrays.fill(depths, (short) -1);
+    }
+
+    /**
+     * Searches {@code root} until the side to move is proven to win or lose, the game
+     * tree is exhausted, or the budget runs out. The budget's iterations count the
+     * positions searched. The best move is that of the deepest completed search, or
+     * the first legal move if not even one ply completed.
+     */
+    public Solution solve(SearchState root, SearchBudget budget) {
+        state.copyFrom(root);
+        // The key treats the deck as a set, so positions from another deck order
+        // would collide with this one's; with the deck empty the key is the position.
+        if (root.getDeckSize() > 0) {
+            clearTable();
+        }
+        deadline = budget.nanos() == Long.MAX_VALUE ? Long.MAX_VALUE
+                : System.nanoTime() + budget.nanos();
+        maxNodes = budget.iterations();
+        nodes = 0;
+        aborted = false;
+        Arrays.fill(history, 0);
+
+        int count = state.isGameOver() ? 0 : state.generateMoves(moves[0]);
+        int bestMove = count > 0 ? moves[0][0] : Move.NONE;
+        int value = UNKNOWN;
+        int depth = 0;
+        for (int d = 1; count > 0 && d < SearchState.MAX_PLIES; d++) {
+            depthLimited = false;
+            rootBestMove = Move.NONE;
+            int v = search(d, DEFENDER_WINS, ATTACKER_WINS, 0);
+            if (aborted) {
+                break;
+            }
+            bestMove = rootBestMove;
+            value = v;
+            depth = d;
+            if (value != UNKNOWN || !depthLimited) {
+                break;
+            }
+        }
+
+        Outcome outcome = value == UNKNOWN ? Outcome.UNKNOWN
+                : (value == ATTACKER_WINS) == root.isAttackerToMove() ? Outcome.WIN
+                : Outcome.LOSS;
+        return new Solution(bestMove, outcome, depth, nodes);
+    }
+
+    // Alpha-beta with the attacker maximising, failing soft. The side to move does not
+    // alternate strictly: retreats and cauldrons leave the same player on move.
+    private int search(int depth, int alpha, int beta, int ply) {
+        if (++nodes % CHECK_INTERVAL == 0 && System.nanoTime() > deadline || nodes > maxNodes) {
+            aborted = true;
+        }
+        if (aborted) {
+            return UNKNOWN;
+        }
+        Winner winner = state.getWinner();
+        if (winner != Winner.NONE) {
+            return winner == Winner.ATTACKER ? ATTACKER_WINS : DEFENDER_WINS;
+        }
+        if (depth == 0) {
+            depthLimited = true;
+            return UNKNOWN;
+        }
+
+        long key = state.positionKey();
+        int slot = (int) key & tableMask;
+        int tableMove = Move.NONE;
+        if (keys[slot] == key && depths[slot] >= 0) {
+            tableMove = tableMoves[slot];
+            if (depths[slot] >= depth) {
+                int v = values[slot];
+                if (bounds[slot] == EXACT
+                        || bounds[slot] == LOWER && v >= beta
+                        || bounds[slot] == UPPER && v <= alpha) {
+                    if (ply == 0) {
+                        rootBestMove = tableMove;
+                    }
+                    return v;
+                }
+            }
+        }
+
+        int[] buffer = moves[ply];
+        int count = state.generateMoves(buffer);
+        if (count == 0) {
+            return UNKNOWN;
+        }
+        order(buffer, count, tableMove);
+
+        boolean maximising = state.isAttackerToMove();
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximising ? DEFENDER_WINS - 1 : ATTACKER_WINS + 1;
+        int bestMove = buffer[0];
+        for (int i = 0; i < count; i++) {
+            int move = buffer[i];
+            state.apply(move);
+            int v = search(depth - 1, alpha, beta, ply + 1);
+            state.undo(move);
+            if (aborted) {
+                return UNKNOWN;
+            }
+            if (maximising ? v > best : v < best) {
+                best = v;
+                bestMove = move;
+            }
+            if (maximising) {
+                alpha = Math.max(alpha, v);
+            } else {
+                beta = Math.min(beta, v);
+            }
+            if (alpha >= beta) {
+                history[move] += depth * depth;
+                break;
+            }
+        }
+
+        store(slot, key, depth, best, originalAlpha, originalBeta, bestMove);
+        if (ply == 0) {
+            rootBestMove = bestMove;
+        }
+        return best;
+    }
+
+    private void store(int slot, long key, int depth, int value, int alpha, int beta, int move) {
+        byte bound = value <= alpha ? UPPER : value >= beta ? LOWER : EXACT;
+        // A win at least as good as a win, or a loss at least as bad as a loss, is exact.
+        boolean proven = value == ATTACKER_WINS && bound != UPPER
+                || value == DEFENDER_WINS && bound != LOWER;
+        keys[slot] = key;
+        tableMoves[slot] = move;
+        depths[slot] = proven ? PROVEN : (short) depth;
+        values[slot] = (byte) value;
+        bounds[slot] = proven ? EXACT : bound;
+    }
+
+    // The table move first, then the rest by history score, highest first.
+    private void order(int[] buffer, int count, int tableMove) {
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            if (buffer[i] == tableMove) {
+                buffer[i] = buffer[0];
+                buffer[0] = tableMove;
+                start = 1;
+                break;
+            }
+        }
+        for (int i = start + 1; i < count; i++) {
+            int move = buffer[i];
+            int score = history[move];
+            int j = i - 1;
+            while (j >= start && history[buffer[j]] < score) {
+                buffer[j + 1] = buffer[j];
+                j--;
+            }
+            buffer[j + 1] = move;
+        }
+    }
+}
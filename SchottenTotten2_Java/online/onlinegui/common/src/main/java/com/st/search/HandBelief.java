@@ -0,0 +1,15 @@
+package com.st.search;
+
+/**
+ * How likely an observer thinks it is that the opponent holds each card, for weighting
+ * the hands a {@link DeterminisationSampler} deals.
+ */
+@FunctionalInterface
+public interface HandBelief {
+    /**
+     * A non-negative weight for the opponent holding {@code cardId}, one of the cards
+     * the observer cannot see. Only the ratios between weights matter; zero means the
+     * card is only dealt to the opponent when nothing else fits.
+     */
+    double weight(int cardId);
+}
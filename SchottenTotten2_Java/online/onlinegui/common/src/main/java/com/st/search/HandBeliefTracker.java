@@ -0,0 +1,144 @@
+package com.st.search;
+
+import java.util.Arrays;
+
+import com.st.common.CardSet;
+import com.st.common.Constants;
+import com.st.common.FormationSolver;
+import com.st.common.FormationTable;
+
+/**
+ * Learns what the opponent holds from the cards they choose to play, by likelihood
+ * weighting: every hidden card carries a weight, the odds that it is in the opponent's
+ * hand relative to a card nothing is known about.
+ * <p>
+ * The opponent is modelled as preferring plays with more promise. A card's promise on a
+ * wall is the strongest formation the opponent's side could still complete with it,
+ * ranked against the other hidden cards on the same wall, so walls of every pattern
+ * score from 0 to 1. When the opponent plays a card, each other hidden card is weighed
+ * by the chance that they would still have made that play had they held it:
+ * {@code 1 / (1 + exp(rationality * (best - played)))}, where {@code best} is that
+ * card's promise on its best open wall. A defender who keeps playing elsewhere while a
+ * run wall is open thus loses weight on the cards that would extend the run.
+ * <p>
+ * Every play is followed by a draw that replaces one card of the hand with a card about
+ * which nothing is known, so after each update the weights also move back towards 1 by
+ * one over the hand size. Retreats and cauldrons are not scored.
+ * <p>
+ * The tracker is a {@link HandBelief}, so a {@link DeterminisationSampler} can deal the
+ * opponent's hand from it. It is not thread-safe; update it between searches.
+ */
+public final class HandBeliefTracker implements HandBelief {
+    public static final double DEFAULT_RATIONALITY = 4;
+
+    private final boolean observerIsAttacker;
+    private final double rationality;
+    private final double[] weights = new double[CardSet.NUM_SUITED];
+    private final double[][] promise = new double[Constants.NUM_WALLS][CardSet.NUM_SUITED];
+    // Scratch for ranking: strength in the high bits, card id in the low byte.
+    private final long[] ranked = new long[CardSet.NUM_SUITED];
+
+    public HandBeliefTracker(boolean observerIsAttacker) {
+        this(observerIsAttacker, DEFAULT_RATIONALITY);
+    }
+
+    /**
+     * @param rationality how sharply the opponent is assumed to prefer promising plays;
+     *     0 learns nothing
+     */
+    public HandBeliefTracker(boolean observerIsAttacker, double rationality) {
+        this.observerIsAttacker = observerIsAttacker;
+        this.rationality = rationality;
+        reset();
+    }
+
+    /** Forgets everything learned, for a new game. */
+    public void reset() {
+        Arrays.fill(weights, 1);
+    }
+
+    @Override
+    public double weight(int cardId) {
+        return weights[cardId];
+    }
+
+    /**
+     * The chance that the opponent holds {@code cardId} in {@code state}: their hand size
+     * shared out over the hidden cards in proportion to the weights, at most 1.
+     */
+    public double probability(SearchState state, int cardId) {
+        long hidden = hiddenCards(state);
+        if (!CardSet.containsIndex(hidden, cardId)) {
+            return 0;
+        }
+        double total = 0;
+        for (long s = hidden; s != 0; s &= s - 1) {
+            total += weights[Long.numberOfTrailingZeros(s)];
+        }
+        int handSize = CardSet.size(state.getHand(!observerIsAttacker));
+        return total == 0 ? 0 : Math.min(1, handSize * weights[cardId] / total);
+    }
+
+    /**
+     * Updates the weights with {@code move}, which the opponent is about to play from
+     * {@code before}. Moves by the observer are ignored.
+     */
+    public void observe(SearchState before, int move) {
+        if (before.isAttackerToMove() == observerIsAttacker || !Move.isPlay(move)) {
+            return;
+        }
+        long hidden = hiddenCards(before);
+        int handSize = CardSet.size(before.getHand(!observerIsAttacker));
+        int played = Move.cardId(move);
+        int openWalls = before.getOpenWalls(!observerIsAttacker);
+        for (int walls = openWalls; walls != 0; walls &= walls - 1) {
+            rankPromise(before, Integer.numberOfTrailingZeros(walls), hidden);
+        }
+
+        double playedPromise = promise[Move.wallIndex(move)][played];
+        double refresh = handSize == 0 ? 1 : 1.0 / handSize;
+        for (long s = hidden & ~(1L << played); s != 0; s &= s - 1) {
+            int card = Long.numberOfTrailingZeros(s);
+            double best = 0;
+            for (int walls = openWalls; walls != 0; walls &= walls - 1) {
+                best = Math.max(best, promise[Integer.numberOfTrailingZeros(walls)][card]);
+            }
+            double likelihood = 1 / (1 + Math.exp(rationality * (best - playedPromise)));
+            // Doubled so that a card no better than the play keeps its weight.
+            double weight = weights[card] * Math.min(1, 2 * likelihood);
+            weights[card] = weight + (1 - weight) * refresh;
+        }
+        weights[played] = 1;
+    }
+
+    // Scores every hidden card on wall {@code w} by the rank of its completion, 0 for
+    // the weakest and 1 for the strongest. Sorting ranks the cards in O(h log h), and
+    // equal strengths share the rank of the first of them.
+    private void rankPromise(SearchState state, int w, long hidden) {
+        boolean opponentIsAttacker = !observerIsAttacker;
+        long side = opponentIsAttacker ? state.getAttackerCards(w) : state.getDefenderCards(w);
+        int length = state.getLength(w);
+        int count = 0;
+        for (long s = hidden; s != 0; s &= s - 1) {
+            int card = Long.numberOfTrailingZeros(s);
+            long formation = side | 1L << card;
+            int strength = CardSet.size(formation) == length
+                    ? FormationTable.strength(state.getPattern(w), formation)
+                    : FormationSolver.strongestCompletion(formation, hidden & ~(1L << card),
+                            length, state.getPattern(w), Integer.MAX_VALUE, null);
+            ranked[count++] = (long) strength << 8 | card;
+        }
+        Arrays.sort(ranked, 0, count);
+        int below = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && ranked[i] >> 8 != ranked[i - 1] >> 8) {
+                below = i;
+            }
+            promise[w][(int) (ranked[i] & 0xFF)] = count > 1 ? below / (double) (count - 1) : 0;
+        }
+    }
+
+    private long hiddenCards(SearchState state) {
+        return state.getUnseenCards() & ~state.getHand(observerIsAttacker);
+    }
+}
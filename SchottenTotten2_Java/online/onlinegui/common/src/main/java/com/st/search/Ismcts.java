@@ -0,0 +1,320 @@
+package com.st.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.st.common.Winner;
+
+/**
+ * Root-parallel multiple-observer Information Set MCTS, ported from the Rust bot.
+ * <p>
+ * Each worker grows its own pair of trees, one per observer, from the position seen by
+ * the side to move: every iteration redeals the cards that side cannot see with a
+ * {@link DeterminisationSampler}, walks both trees with the same moves, selecting in the
+ * tree of the player to move, and finishes the game with random moves. The root
+ * children of all workers are then summed by move and the most visited move is played.
+ * <p>
+ * Each worker keeps both of its trees in one {@link NodePool}, allocated up front and
+ * recycled by every search. When a worker's pool fills up its trees stop growing:
+ * selection then only follows moves that already have a node, and the remaining
+ * iterations refine the statistics of the nodes already there.
+ * <p>
+ * {@link #search(SearchState, SearchBudget)} starts from empty trees. To reuse them
+ * from move to move, search with {@link #search(SearchState, boolean, SearchBudget)}
+ * and call {@link #advance} with every move played: the subtrees below that move
+ * become the new roots and everything else is freed.
+ */
+public final class Ismcts implements ReusableSearchEngine {
+    public static final double DEFAULT_EXPLORATION = 0.7;
+    /** Nodes per worker by default, about 8 MB of tree storage each. */
+    public static final int DEFAULT_MAX_NODES = 1 << 18;
+
+    private static final int ATTACKER = 0;
+    private static final int DEFENDER = 1;
+
+    private final ForkJoinPool pool;
+    private final Worker[] workers;
+    private final SplittableRandom random;
+
+    /** A search on the common pool with one worker per thread of the pool. */
+    public Ismcts() {
+        this(ForkJoinPool.commonPool(), Math.max(1, ForkJoinPool.getCommonPoolParallelism()),
+                DEFAULT_EXPLORATION, new SplittableRandom());
+    }
+
+    public Ismcts(ForkJoinPool pool, int workers, double exploration, SplittableRandom random) {
+        this(pool, workers, exploration, random, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * @param maxNodes the number of tree nodes each worker can hold, shared by its two
+     *     observers' trees; see {@link #maxNodesFor} to derive it from a memory limit
+     */
+    public Ismcts(ForkJoinPool pool, int workers, double exploration, SplittableRandom random,
+            int maxNodes) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is needed: " + workers);
+        }
+        if (maxNodes < 2) {
+            throw new IllegalArgumentException("Room for both root nodes is needed: " + maxNodes);
+        }
+        this.pool = pool;
+        this.random = random;
+        this.workers = new Worker[workers];
+        for (int i = 0; i < workers; i++) {
+            this.workers[i] = new Worker(exploration, maxNodes);
+        }
+    }
+
+    @Override
+    public int getWorkers() {
+        return workers.length;
+    }
+
+    /** The node limit per worker that keeps {@code workers} workers within {@code bytes}. */
+    public static int maxNodesFor(long bytes, int workers) {
+        return NodePool.capacityFor(bytes / workers);
+    }
+
+    /**
+     * Searches {@code root} from empty trees on every worker and returns the root
+     * statistics summed by move. With an iteration budget each worker runs that many
+     * iterations.
+     */
+    @Override
+    public synchronized SearchResult search(SearchState root, SearchBudget budget) {
+        clearTrees();
+        return search(root, root.isAttackerToMove(), budget);
+    }
+
+    /**
+     * Adds iterations to the trees kept from earlier searches, which must be for
+     * {@code root}: either just cleared, or brought up to date with {@link #advance}.
+     * Hidden cards are dealt from the attacker's or the defender's point of view, which
+     * need not be the side to move, so a player can search while the opponent thinks.
+     */
+    @Override
+    public synchronized SearchResult search(SearchState root, boolean observerIsAttacker,
+            SearchBudget budget) {
+        long deadline = budget.nanos() == Long.MAX_VALUE ? Long.MAX_VALUE
+                : System.nanoTime() + budget.nanos();
+        List<Callable<Worker>> jobs = new ArrayList<>(workers.length);
+        for (Worker worker : workers) {
+            worker.reset(root, observerIsAttacker, random.split());
+            jobs.add(() -> worker.run(budget.iterations(), deadline));
+        }
+
+        // Indexed by move code: when the observer is not the side to move, the root has a
+        // child for every card the opponent's hand was dealt, far more than MAX_MOVES.
+        int[] visitsByMove = new int[Move.NUM_CODES];
+        double[] winsByMove = new double[Move.NUM_CODES];
+        boolean[] tried = new boolean[Move.NUM_CODES];
+        int count = 0;
+        long iterations = 0;
+        for (Future<Worker> future : pool.invokeAll(jobs)) {
+            Worker worker = join(future);
+            iterations += worker.iterations;
+            NodePool nodes = worker.nodes;
+            for (int c = nodes.firstChild[worker.rootTree()]; c != NodePool.NONE;
+                    c = nodes.nextSibling[c]) {
+                int move = nodes.move[c];
+                if (!tried[move]) {
+                    tried[move] = true;
+                    count++;
+                }
+                visitsByMove[move] += nodes.visits[c];
+                winsByMove[move] += nodes.wins[c];
+            }
+        }
+
+        int[] moves = new int[count];
+        int[] visits = new int[count];
+        double[] wins = new double[count];
+        for (int move = 0, i = 0; i < count; move++) {
+            if (tried[move]) {
+                moves[i] = move;
+                visits[i] = visitsByMove[move];
+                wins[i] = winsByMove[move];
+                i++;
+            }
+        }
+        return new SearchResult(moves, visits, wins, iterations);
+    }
+
+    /**
+     * Deals the hidden cards from {@code belief}, the observer's view of the opponent's
+     * hand, or uniformly if it is null. The belief is read during searches, so only
+     * update it between them.
+     */
+    @Override
+    public synchronized void setBelief(HandBelief belief) {
+        for (Worker worker : workers) {
+            worker.sampler.setBelief(belief);
+        }
+    }
+
+    /** Frees every tree, so the next search starts from scratch. */
+    @Override
+    public synchronized void clearTrees() {
+        for (Worker worker : workers) {
+            worker.clear();
+        }
+    }
+
+    /**
+     * Moves the roots down to {@code move}, played from the position last searched,
+     * keeping the statistics gathered below it. A worker that never tried the move
+     * starts again from empty trees.
+     */
+    @Override
+    public synchronized void advance(int move) {
+        for (Worker worker : workers) {
+            worker.advance(move);
+        }
+    }
+
+    private static Worker join(Future<Worker> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+    }
+
+    /** One worker's trees and the buffers it reuses between iterations and searches. */
+    private static final class Worker {
+        private final SearchState state = new SearchState();
+        private final DeterminisationSampler sampler = new DeterminisationSampler();
+        private final double exploration;
+        private final NodePool nodes;
+        private final int[] roots = new int[2];
+        private final int[] trees = new int[2];
+        private final int[] moves = new int[Move.MAX_MOVES];
+        private final int[] untried = new int[Move.MAX_MOVES];
+        private SearchState root;
+        private boolean observerIsAttacker;
+        private SplittableRandom random;
+        private long iterations;
+
+        Worker(double exploration, int maxNodes) {
+            this.exploration = exploration;
+            this.nodes = new NodePool(maxNodes);
+            clear();
+        }
+
+        void clear() {
+            nodes.clear();
+            roots[ATTACKER] = nodes.addRoot();
+            roots[DEFENDER] = nodes.addRoot();
+        }
+
+        void advance(int move) {
+            int attackerChild = nodes.findChild(roots[ATTACKER], move);
+            int defenderChild = nodes.findChild(roots[DEFENDER], move);
+            if (attackerChild == NodePool.NONE || defenderChild == NodePool.NONE) {
+                clear();
+                return;
+            }
+            roots[ATTACKER] = attackerChild;
+            roots[DEFENDER] = defenderChild;
+            nodes.retain(roots);
+        }
+
+        void reset(SearchState root, boolean observerIsAttacker, SplittableRandom random) {
+            this.root = root;
+            this.observerIsAttacker = observerIsAttacker;
+            this.random = random;
+            iterations = 0;
+        }
+
+        int rootTree() {
+            return roots[root.isAttackerToMove() ? ATTACKER : DEFENDER];
+        }
+
+        Worker run(long maxIterations, long deadline) {
+            while (iterations < maxIterations
+                    && (deadline == Long.MAX_VALUE || System.nanoTime() < deadline)) {
+                iterate();
+                iterations++;
+            }
+            return this;
+        }
+
+        private void iterate() {
+            trees[ATTACKER] = roots[ATTACKER];
+            trees[DEFENDER] = roots[DEFENDER];
+            state.copyFrom(root);
+            sampler.sample(state, observerIsAttacker, random);
+
+            // Selection: descend while the node of the player to move is fully expanded, or
+            // through whichever children it has once the pool is full.
+            int count = legalMoves();
+            while (count > 0
+                    && (nodes.isFull() || nodes.untriedMoves(current(), moves, count, untried) == 0)) {
+                int child = nodes.ucbSelectChild(current(), moves, count, exploration);
+                if (child == NodePool.NONE || !descend(nodes.move[child])) {
+                    break;
+                }
+                state.apply(nodes.move[child]);
+                count = legalMoves();
+            }
+
+            // Expansion: add one untried move to both trees, unless the pool is full.
+            if (count > 0 && !nodes.isFull()) {
+                int n = nodes.untriedMoves(current(), moves, count, untried);
+                if (n > 0) {
+                    int move = untried[random.nextInt(n)];
+                    if (descend(move)) {
+                        state.apply(move);
+                        count = legalMoves();
+                    }
+                }
+            }
+
+            // Simulation: random moves until the game is decided.
+            while (count > 0) {
+                state.apply(moves[random.nextInt(count)]);
+                count = legalMoves();
+            }
+
+            // Backpropagation: each tree is scored for its own observer.
+            double attackerResult = state.getWinner() == Winner.ATTACKER ? 1 : 0;
+            nodes.backpropagate(trees[ATTACKER], attackerResult);
+            nodes.backpropagate(trees[DEFENDER], 1 - attackerResult);
+        }
+
+        // Moves both trees to their child for {@code move}, or leaves both where they are
+        // if the pool has no room for the missing children.
+        private boolean descend(int move) {
+            int attackerChild = nodes.findChild(trees[ATTACKER], move);
+            int defenderChild = nodes.findChild(trees[DEFENDER], move);
+            int missing = (attackerChild == NodePool.NONE ? 1 : 0)
+                    + (defenderChild == NodePool.NONE ? 1 : 0);
+            if (missing > nodes.capacity() - nodes.size()) {
+                return false;
+            }
+            trees[ATTACKER] = attackerChild != NodePool.NONE ? attackerChild
+                    : nodes.addChild(trees[ATTACKER], move);
+            trees[DEFENDER] = defenderChild != NodePool.NONE ? defenderChild
+                    : nodes.addChild(trees[DEFENDER], move);
+            return true;
+        }
+
+        private int current() {
+            return trees[state.isAttackerToMove() ? ATTACKER : DEFENDER];
+        }
+
+        // The legal moves of the side to move, or none once the game is decided.
+        private int legalMoves() {
+            return state.isGameOver() ? 0 : state.generateMoves(moves);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.st.search;
+
+import com.st.common.Card;
+import com.st.common.CardSet;
+import com.st.common.ClientMove;
+import com.st.common.Constants;
+
+/**
+ * Moves packed into an {@code int}: {@code wallIndex * 64 + cardId}, where the card id
+ * is the {@link Card#getId()} of the card played, {@link CardSet#RETREAT_INDEX} for a
+ * retreat or {@link CardSet#CAULDRON_INDEX} for an oil cauldron. This is the same
+ * (card, wall) pair a {@link ClientMove} carries.
+ */
+public final class Move {
+    public static final int NONE = -1;
+    /** Upper bound on the number of legal moves in any position. */
+    public static final int MAX_MOVES = 64;
+
+    private static final int CARD_BITS = 6;
+    private static final int CARD_MASK = (1 << CARD_BITS) - 1;
+
+    /** Every move code is below this, so it can index an array. */
+    public static final int NUM_CODES = Constants.NUM_WALLS << CARD_BITS;
+
+    private Move() {
+    }
+
+    public static int of(int cardId, int wallIndex) {
+        return wallIndex << CARD_BITS | cardId;
+    }
+
+    public static int play(Card card, int wallIndex) {
+        return of(card.getId(), wallIndex);
+    }
+
+    public static int retreat(int wallIndex) {
+        return of(CardSet.RETREAT_INDEX, wallIndex);
+    }
+
+    public static int cauldron(int wallIndex) {
+        return of(CardSet.CAULDRON_INDEX, wallIndex);
+    }
+
+    public static int cardId(int move) {
+        return move & CARD_MASK;
+    }
+
+    public static int wallIndex(int move) {
+        return move >>> CARD_BITS;
+    }
+
+    public static boolean isRetreat(int move) {
+        return cardId(move) == CardSet.RETREAT_INDEX;
+    }
+
+    public static boolean isCauldron(int move) {
+        return cardId(move) == CardSet.CAULDRON_INDEX;
+    }
+
+    /** Whether the move plays a card from the hand, which ends the turn. */
+    public static boolean isPlay(int move) {
+        return cardId(move) < CardSet.NUM_SUITED;
+    }
+
+    public static ClientMove toClientMove(int move) {
+        return new ClientMove(Card.byId(cardId(move)), wallIndex(move));
+    }
+
+    public static int fromClientMove(ClientMove move) {
+        return play(move.card(), move.wallIndex());
+    }
+
+    public static String toString(int move) {
+        if (move == NONE) {
+            return "NONE";
+        }
+        String card = isRetreat(move) ? "RETREAT" : isCauldron(move) ? "CAULDRON"
+                : Card.byId(cardId(move)).toString();
+        return card + " on wall " + wallIndex(move);
+    }
+}
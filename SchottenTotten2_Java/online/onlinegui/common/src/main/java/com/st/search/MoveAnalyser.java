@@ -0,0 +1,62 @@
+package com.st.search;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates every move of a player in the background, for a GUI that shows the player
+ * how each (card, wall) pair is doing.
+ * <p>
+ * Each call to {@link #analyse} cancels the analysis running now and searches the new
+ * position from empty trees, from the player's point of view, so the win rate of every
+ * legal move can be read off the root statistics. The statistics are published every
+ * {@link #DEFAULT_REFRESH_INTERVAL} as the search converges, on the search thread; hand
+ * them on to the Swing thread before touching components.
+ */
+public final class MoveAnalyser implements AutoCloseable {
+    public static final SearchBudget DEFAULT_BUDGET = SearchBudget.millis(30_000);
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMillis(200);
+
+    private final ReusableSearchEngine engine;
+    private final SearchService service;
+    private final SearchBudget budget;
+    private CompletableFuture<SearchResult> current = CompletableFuture.completedFuture(null);
+
+    public MoveAnalyser() {
+        this(new Ismcts(), DEFAULT_BUDGET, DEFAULT_REFRESH_INTERVAL);
+    }
+
+    /** @param budget how long to keep refining one position before stopping */
+    public MoveAnalyser(ReusableSearchEngine engine, SearchBudget budget, Duration refreshInterval) {
+        this.engine = engine;
+        this.service = new SearchService(engine, refreshInterval);
+        this.budget = budget;
+    }
+
+    /**
+     * Starts analysing {@code root}, where the attacker or the defender is to move, in
+     * place of the analysis running now. The future completes with the final statistics.
+     */
+    public synchronized CompletableFuture<SearchResult> analyse(SearchState root,
+            boolean observerIsAttacker, Consumer<SearchResult> onProgress) {
+        current.cancel(false);
+        service.submit(() -> {
+            engine.clearTrees();
+            return null;
+        });
+        current = service.search(root, observerIsAttacker, budget, onProgress);
+        return current;
+    }
+
+    /** Stops the analysis running now, for a position where the player is not to move. */
+    public synchronized void cancel() {
+        current.cancel(false);
+    }
+
+    @Override
+    public synchronized void close() {
+        current.cancel(false);
+        service.close();
+    }
+}
@@ -0,0 +1,46 @@
+package com.st.search;
+
+/**
+ * Writes legal moves into a caller-owned buffer from wall bitmasks, without touching
+ * any wall. Bit {@code i} of a wall mask stands for wall {@code i}.
+ */
+public final class MoveGenerator {
+    private MoveGenerator() {
+    }
+
+    /**
+     * Writes every move for the side to move into {@code moves} and returns how many
+     * there are: each card of {@code hand} on each wall in {@code openWalls}, the walls
+     * with a free slot on the mover's side, followed by the retreat (attacker) or oil
+     * cauldron (defender) on each wall in {@code actionWalls}.
+     *
+     * @param hand a {@link com.st.common.CardSet} of the mover's hand
+     * @param actionWalls walls the side's action card can be used on, or 0 if it cannot
+     *     be used this turn
+     */
+    public static int generate(long hand, int openWalls, boolean attacker, int actionWalls,
+            int[] moves) {
+        int count = 0;
+        for (int walls = openWalls; walls != 0; walls &= walls - 1) {
+            int w = Integer.numberOfTrailingZeros(walls);
+            for (long s = hand; s != 0; s &= s - 1) {
+                moves[count++] = Move.of(Long.numberOfTrailingZeros(s), w);
+            }
+        }
+        for (int walls = actionWalls; walls != 0; walls &= walls - 1) {
+            int w = Integer.numberOfTrailingZeros(walls);
+            moves[count++] = attacker ? Move.retreat(w) : Move.cauldron(w);
+        }
+        return count;
+    }
+
+    /** Whether {@code move} is among the first {@code count} entries of {@code moves}. */
+    public static boolean contains(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+package com.st.search;
+
+/**
+ * Search tree nodes stored as parallel primitive arrays, indexed by node. Children form
+ * a singly linked list through {@code firstChild} and {@code nextSibling}.
+ * <p>
+ * Every array is allocated once, with room for {@code capacity} nodes, and
+ * {@link #clear()} recycles all of them for the next search, so searching allocates
+ * nothing. Once the pool is full {@link #addChild} returns {@link #NONE} and the search
+ * carries on with the tree it has. {@link #retain} frees all but a few subtrees and
+ * compacts what is left, so a tree can be carried from one move to the next.
+ * <p>
+ * {@code wins} are counted for the observer who owns the tree, and {@code avails} is
+ * how many times the node's move was legal when its parent was selected from.
+ */
+final class NodePool {
+    static final int NONE = -1;
+    /** Bytes of array storage per node. */
+    static final int BYTES_PER_NODE = 6 * Integer.BYTES + Double.BYTES;
+
+    final int[] move;
+    final int[] parent;
+    final int[] firstChild;
+    final int[] nextSibling;
+    final int[] visits;
+    final int[] avails;
+    final double[] wins;
+    // New node indices while compacting, so that {@link #retain} allocates nothing.
+    private final int[] remap;
+    private int size;
+
+    NodePool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        move = new int[capacity];
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        visits = new int[capacity];
+        avails = new int[capacity];
+        wins = new double[capacity];
+        remap = new int[capacity];
+    }
+
+    /** The number of nodes that fit in {@code bytes} of array storage. */
+    static int capacityFor(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, bytes / BYTES_PER_NODE);
+    }
+
+    int capacity() {
+        return move.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == move.length;
+    }
+
+    /** Frees every node. */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Frees every node that is not in the subtree of one of {@code roots}, which become
+     * roots themselves, and moves the rest to the front of the pool. {@code roots} is
+     * updated with their new indices.
+     * <p>
+     * A child is always allocated after its parent, so one pass in index order decides
+     * what is kept and a second moves each node down to its new index without
+     * overwriting a node that has not been moved yet.
+     */
+    void retain(int[] roots) {
+        int kept = 0;
+        for (int n = 0; n < size; n++) {
+            boolean keep = isOneOf(n, roots) || parent[n] != NONE && remap[parent[n]] != NONE;
+            remap[n] = keep ? kept++ : NONE;
+        }
+        for (int n = 0; n < size; n++) {
+            int m = remap[n];
+            if (m == NONE) {
+                continue;
+            }
+            boolean root = isOneOf(n, roots);
+            move[m] = move[n];
+            parent[m] = root ? NONE : remap[parent[n]];
+            firstChild[m] = firstChild[n] == NONE ? NONE : remap[firstChild[n]];
+            nextSibling[m] = root || nextSibling[n] == NONE ? NONE : remap[nextSibling[n]];
+            visits[m] = visits[n];
+            avails[m] = avails[n];
+            wins[m] = wins[n];
+        }
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = remap[roots[i]];
+        }
+        size = kept;
+    }
+
+    private static boolean isOneOf(int node, int[] nodes) {
+        for (int n : nodes) {
+            if (n == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Adds a root node, or returns {@link #NONE} if the pool is full. */
+    int addRoot() {
+        return allocate(Move.NONE, NONE);
+    }
+
+    /** Adds a child of {@code node}, or returns {@link #NONE} if the pool is full. */
+    int addChild(int node, int childMove) {
+        int child = allocate(childMove, node);
+        if (child != NONE) {
+            nextSibling[child] = firstChild[node];
+            firstChild[node] = child;
+        }
+        return child;
+    }
+
+    private int allocate(int nodeMove, int parentNode) {
+        if (size == move.length) {
+            return NONE;
+        }
+        int node = size++;
+        move[node] = nodeMove;
+        parent[node] = parentNode;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        visits[node] = 0;
+        avails[node] = 1;
+        wins[node] = 0;
+        return node;
+    }
+
+    int findChild(int node, int childMove) {
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (move[c] == childMove) {
+                return c;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Writes the legal moves that have no child of {@code node} yet into {@code untried}
+     * and returns how many there are.
+     */
+    int untriedMoves(int node, int[] moves, int count, int[] untried) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (findChild(node, moves[i]) == NONE) {
+                untried[n++] = moves[i];
+            }
+        }
+        return n;
+    }
+
+    /**
+     * The legal child with the highest UCB1 score, where availability replaces the
+     * parent's visit count. Every legal child's availability goes up by one.
+     */
+    int ucbSelectChild(int node, int[] moves, int count, double exploration) {
+        int best = NONE;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (!MoveGenerator.contains(moves, count, move[c])) {
+                continue;
+            }
+            double score = wins[c] / visits[c]
+                    + exploration * Math.sqrt(Math.log(avails[c]) / visits[c]);
+            if (score > bestScore) {
+                best = c;
+                bestScore = score;
+            }
+            avails[c]++;
+        }
+        return best;
+    }
+
+    /** Adds {@code result} to {@code node} and every ancestor except the root. */
+    void backpropagate(int node, double result) {
+        for (int n = node; n != NONE; n = parent[n]) {
+            visits[n]++;
+            if (parent[n] != NONE) {
+                wins[n] += result;
+            }
+        }
+    }
+}
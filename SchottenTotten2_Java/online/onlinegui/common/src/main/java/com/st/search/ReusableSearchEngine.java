@@ -0,0 +1,38 @@
+package com.st.search;
+
+/**
+ * A {@link SearchEngine} that keeps its trees between searches, so a bot can carry what
+ * it learned from one move to the next and keep searching while the opponent thinks.
+ * <p>
+ * {@link #search(SearchState, SearchBudget)} still starts from empty trees. To reuse
+ * them, search with {@link #search(SearchState, boolean, SearchBudget)} and call
+ * {@link #advance} with every move played.
+ */
+public interface ReusableSearchEngine extends SearchEngine {
+    /**
+     * Adds iterations to the trees kept from earlier searches, which must be for
+     * {@code root}: either just cleared, or brought up to date with {@link #advance}.
+     * Hidden cards are dealt from the attacker's or the defender's point of view, which
+     * need not be the side to move. With an iteration budget each worker runs that many
+     * iterations.
+     */
+    SearchResult search(SearchState root, boolean observerIsAttacker, SearchBudget budget);
+
+    /**
+     * Moves the roots down to {@code move}, played from the position last searched,
+     * keeping the statistics gathered below it.
+     */
+    void advance(int move);
+
+    /** Frees every tree, so the next search starts from scratch. */
+    void clearTrees();
+
+    /**
+     * Deals the hidden cards from {@code belief}, the observer's view of the opponent's
+     * hand, or uniformly if it is null. Only update the belief between searches.
+     */
+    void setBelief(HandBelief belief);
+
+    /** The number of workers an iteration budget applies to each. */
+    int getWorkers();
+}
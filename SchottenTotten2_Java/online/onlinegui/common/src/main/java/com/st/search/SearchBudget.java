@@ -0,0 +1,26 @@
+package com.st.search;
+
+import java.time.Duration;
+
+/**
+ * How long a search may run: a number of iterations per worker, a wall-clock time, or
+ * both, in which case whichever runs out first ends the search.
+ */
+public record SearchBudget(long iterations, long nanos) {
+    /** No limit: the search runs until it is stopped some other way. */
+    public static SearchBudget unlimited() {
+        return new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public static SearchBudget iterations(long iterations) {
+        return new SearchBudget(iterations, Long.MAX_VALUE);
+    }
+
+    public static SearchBudget time(Duration time) {
+        return new SearchBudget(Long.MAX_VALUE, time.toNanos());
+    }
+
+    public static SearchBudget millis(long millis) {
+        return time(Duration.ofMillis(millis));
+    }
+}
@@ -0,0 +1,18 @@
+package com.st.search;
+
+import com.st.common.GameState;
+
+/** A search that picks a move for the side to move within a {@link SearchBudget}. */
+public interface SearchEngine {
+    /** Searches {@code root} and returns the root statistics of every move tried. */
+    SearchResult search(SearchState root, SearchBudget budget);
+
+    default int chooseMove(SearchState root, SearchBudget budget) {
+        return search(root, budget).bestMove();
+    }
+
+    /** The move to play for the side to move in {@code state}. */
+    default int chooseMove(GameState state, SearchBudget budget) {
+        return chooseMove(SearchState.fromGameState(state), budget);
+    }
+}
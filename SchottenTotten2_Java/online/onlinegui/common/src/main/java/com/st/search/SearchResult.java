@@ -0,0 +1,30 @@
+package com.st.search;
+
+/**
+ * The root statistics of a search, summed over every worker: for each move tried at
+ * the root, its visit count and its wins for the side to move.
+ */
+public record SearchResult(int[] moves, int[] visits, double[] wins, long iterations) {
+    /** The most visited move, or {@link Move#NONE} if no move was tried. */
+    public int bestMove() {
+        int best = Move.NONE;
+        int bestVisits = -1;
+        for (int i = 0; i < moves.length; i++) {
+            if (visits[i] > bestVisits) {
+                best = moves[i];
+                bestVisits = visits[i];
+            }
+        }
+        return best;
+    }
+
+    /** The mean result of {@code move} for the side to move, or NaN if it was never tried. */
+    public double winRate(int move) {
+        for (int i = 0; i < moves.length; i++) {
+            if (moves[i] == move) {
+                return wins[i] / visits[i];
+            }
+        }
+        return Double.NaN;
+    }
+}
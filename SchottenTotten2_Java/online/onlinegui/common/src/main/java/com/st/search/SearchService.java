@@ -0,0 +1,117 @@
+package com.st.search;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs the searches of a {@link ReusableSearchEngine} in the background and hands their results back as
+ * futures, so that a GUI or a bot never waits on a search.
+ * <p>
+ * Every task runs on the service's single thread, in the order it was submitted, so a
+ * search, an {@link #advance} and any other work on the engine never overlap. A search
+ * runs in slices of the progress interval. After each slice it publishes the statistics
+ * so far, and it checks whether its future was cancelled, so a cancelled search stops
+ * within one interval. The last slice is cut to the time left, so a search with a
+ * deadline stops when the deadline is reached.
+ */
+public final class SearchService implements AutoCloseable {
+    public static final Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofMillis(50);
+
+    private final ReusableSearchEngine engine;
+    private final long progressNanos;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SearchService(ReusableSearchEngine engine) {
+        this(engine, DEFAULT_PROGRESS_INTERVAL);
+    }
+
+    public SearchService(ReusableSearchEngine engine, Duration progressInterval) {
+        if (progressInterval.isNegative() || progressInterval.isZero()) {
+            throw new IllegalArgumentException(
+                    "Progress interval must be positive: " + progressInterval);
+        }
+        this.engine = engine;
+        this.progressNanos = progressInterval.toNanos();
+    }
+
+    /** Same as {@link #search(SearchState, boolean, SearchBudget, Consumer)} without progress. */
+    public CompletableFuture<SearchResult> search(SearchState root, boolean observerIsAttacker,
+            SearchBudget budget) {
+        return search(root, observerIsAttacker, budget, null);
+    }
+
+    /**
+     * Adds iterations to the engine's trees for {@code root} until the budget runs out,
+     * as {@link ReusableSearchEngine#search(SearchState, boolean, SearchBudget)} does,
+     * and completes with the root statistics. The iterations of the budget count per
+     * worker.
+     * <p>
+     * Cancelling the future stops the search. {@code onProgress}, if not null, receives
+     * the statistics after every slice on the service's thread; hand them on to the
+     * Swing thread before touching components.
+     */
+    public CompletableFuture<SearchResult> search(SearchState root, boolean observerIsAttacker,
+            SearchBudget budget, Consumer<SearchResult> onProgress) {
+        CompletableFuture<SearchResult> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(runSlices(root, observerIsAttacker, budget, onProgress, future));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private SearchResult runSlices(SearchState root, boolean observerIsAttacker, SearchBudget budget,
+            Consumer<SearchResult> onProgress, CompletableFuture<SearchResult> future) {
+        long deadline = budget.nanos() == Long.MAX_VALUE ? Long.MAX_VALUE
+                : System.nanoTime() + budget.nanos();
+        long iterationsLeft = budget.iterations();
+        long iterations = 0;
+        SearchResult result;
+        do {
+            long sliceNanos = deadline == Long.MAX_VALUE ? progressNanos
+                    : Math.max(0, Math.min(progressNanos, deadline - System.nanoTime()));
+            SearchResult slice = engine.search(root, observerIsAttacker,
+                    new SearchBudget(iterationsLeft, sliceNanos));
+            iterations += slice.iterations();
+            if (iterationsLeft != Long.MAX_VALUE) {
+                iterationsLeft -= slice.iterations() / engine.getWorkers();
+            }
+            result = new SearchResult(slice.moves(), slice.visits(), slice.wins(), iterations);
+            if (onProgress != null && !future.isDone()) {
+                onProgress.accept(result);
+            }
+        } while (!future.isDone() && !executor.isShutdown() && iterationsLeft > 0
+                && System.nanoTime() < deadline);
+        return result;
+    }
+
+    /** Moves the engine's trees down to {@code move}, after the searches already queued. */
+    public CompletableFuture<Void> advance(int move) {
+        return CompletableFuture.runAsync(() -> engine.advance(move), executor);
+    }
+
+    /** Runs {@code task} on the service's thread, after the work already queued. */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /** Stops taking work, and ends the search running now after its current slice. */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,671 @@
+package com.st.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import com.st.common.Card;
+import com.st.common.CardSet;
+import com.st.common.Constants;
+import com.st.common.FormationSolver;
+import com.st.common.FormationTable;
+import com.st.common.GameState;
+import com.st.common.Wall;
+import com.st.common.WallPattern;
+import com.st.common.Winner;
+
+/**
+ * A mutable game position for search, stored in primitive fields so that moves can be
+ * applied and undone millions of times per second without allocating.
+ * <p>
+ * The rules are those of the host engine: a card play ends the turn, draws a card and
+ * declares control of every wall; a retreat or an oil cauldron is played before the
+ * card and does not end the turn. The deck is an ordered array drawn from the end, so
+ * a search that samples hidden information shuffles it first.
+ * <p>
+ * {@link #apply} records everything a move changes in a preallocated journal, and
+ * {@link #undo} restores it, so a search walks a single instance up and down the tree.
+ * <p>
+ * The state keeps a {@link Zobrist} key of the position up to date as it changes, for
+ * transposition tables and for spotting repeated positions.
+ */
+public final class SearchState {
+    public static final int MAX_PLIES = 256;
+
+    public static final byte INTACT = 0;
+    public static final byte DAMAGED = 1;
+    public static final byte BROKEN = 2;
+
+    private static final int NUM_WALLS = Constants.NUM_WALLS;
+    private static final int ID_BITS = 6;
+    private static final int ID_MASK = (1 << ID_BITS) - 1;
+    private static final long NO_WITNESS = -1L;
+
+    // Walls. The attacker's cards are also kept in play order, packed six bits per card
+    // with the oldest card lowest, because the oil cauldron removes the last one played.
+    private final long[] attackerCards = new long[NUM_WALLS];
+    private final long[] defenderCards = new long[NUM_WALLS];
+    private final int[] attackerOrder = new int[NUM_WALLS];
+    private final byte[] status = new byte[NUM_WALLS];
+    private int finishedFirst;
+    // Cards that let the defender hold a wall, valid until the wall changes.
+    private final long[] witness = new long[NUM_WALLS];
+    private final long[] completion = new long[1];
+    private int damagedCount;
+    private int brokenCount;
+    // Wall masks kept in step with the walls, for the move generator.
+    private int openAttackerWalls;
+    private int openDefenderWalls;
+    private int occupiedWalls;
+
+    private long attackerHand;
+    private long defenderHand;
+    private long discard;
+    private long deckSet;
+    private final byte[] deck = new byte[CardSet.NUM_SUITED];
+    private int deckSize;
+
+    private int cauldronCount;
+    private boolean usedCauldron;
+    private boolean attackerToMove;
+
+    private long key;
+
+    // Undo journal: one frame per applied move, plus the walls each move changed.
+    private int ply;
+    private final int[] savedMove = new int[MAX_PLIES];
+    private final int[] savedFlags = new int[MAX_PLIES];
+    private final long[] savedKey = new long[MAX_PLIES];
+    private final long[] savedAttackerHand = new long[MAX_PLIES];
+    private final long[] savedDefenderHand = new long[MAX_PLIES];
+    private final long[] savedDiscard = new long[MAX_PLIES];
+    private final long[] savedDeckSet = new long[MAX_PLIES];
+    private final int[] savedDeckSize = new int[MAX_PLIES];
+    private final int[] savedWallStart = new int[MAX_PLIES];
+    private final byte[] savedWall = new byte[MAX_PLIES * NUM_WALLS];
+    private final long[] savedAttackerCards = new long[MAX_PLIES * NUM_WALLS];
+    private final long[] savedDefenderCards = new long[MAX_PLIES * NUM_WALLS];
+    private final int[] savedAttackerOrder = new int[MAX_PLIES * NUM_WALLS];
+    private final byte[] savedStatus = new byte[MAX_PLIES * NUM_WALLS];
+    private int savedWalls;
+    private int journaled;
+
+    /** An empty position: no cards anywhere, attacker to move. */
+    public SearchState() {
+        Arrays.fill(witness, NO_WITNESS);
+        for (int w = 0; w < NUM_WALLS; w++) {
+            updateMasks(w);
+        }
+        cauldronCount = Constants.NUM_CAULDRONS;
+        attackerToMove = true;
+        key = computeKey();
+    }
+
+    /**
+     * The position described by {@code state}. The deck holds every card not seen in
+     * the state, in card id order; call {@link #shuffleDeck} before drawing from it.
+     */
+    public static SearchState fromGameState(GameState state) {
+        SearchState s = new SearchState();
+        boolean clientAttacker = state.isClientAttacker();
+        s.attackerHand = CardSet.of(clientAttacker ? state.getClientHand() : state.getHostHand());
+        s.defenderHand = CardSet.of(clientAttacker ? state.getHostHand() : state.getClientHand());
+        for (List<Card> cards : state.getDiscard().values()) {
+            s.discard |= CardSet.of(cards);
+        }
+        Wall[] walls = state.getWalls();
+        for (int w = 0; w < NUM_WALLS; w++) {
+            s.setWall(w, walls[w].getAttackerCards(), walls[w].getDefenderCardSet(),
+                    statusOf(walls[w].getStatus()), walls[w].isAttackerFinishedFirst());
+        }
+        s.cauldronCount = state.getCauldronCount();
+        s.usedCauldron = state.hasUsedCauldron();
+        s.attackerToMove = state.isClientTurn() == clientAttacker;
+        s.key = s.computeKey();
+        s.fillDeck();
+        return s;
+    }
+
+    private static byte statusOf(Wall.Status status) {
+        return switch (status) {
+            case INTACT -> INTACT;
+            case DAMAGED -> DAMAGED;
+            case BROKEN -> BROKEN;
+        };
+    }
+
+    /** Places cards on a wall, with the attacker's in the order they were played. */
+    public void setWall(int w, List<Card> attackerCardsInOrder, long defenderCardSet, byte wallStatus,
+            boolean attackerFinishedFirst) {
+        long oldKey = wallKey(w) ^ flagsKey(flags());
+        attackerCards[w] = CardSet.of(attackerCardsInOrder);
+        attackerOrder[w] = 0;
+        for (int i = 0; i < attackerCardsInOrder.size(); i++) {
+            attackerOrder[w] |= attackerCardsInOrder.get(i).getId() << (i * ID_BITS);
+        }
+        defenderCards[w] = defenderCardSet;
+        if (status[w] == DAMAGED) {
+            damagedCount--;
+        } else if (status[w] == BROKEN) {
+            brokenCount--;
+        }
+        status[w] = wallStatus;
+        if (wallStatus == DAMAGED) {
+            damagedCount++;
+        } else if (wallStatus == BROKEN) {
+            brokenCount++;
+        }
+        finishedFirst = attackerFinishedFirst ? finishedFirst | 1 << w : finishedFirst & ~(1 << w);
+        witness[w] = NO_WITNESS;
+        updateMasks(w);
+        key ^= oldKey ^ wallKey(w) ^ flagsKey(flags());
+    }
+
+    public void setHands(long attackerHand, long defenderHand) {
+        key ^= Zobrist.pile(Zobrist.ATTACKER_HAND, this.attackerHand ^ attackerHand)
+                ^ Zobrist.pile(Zobrist.DEFENDER_HAND, this.defenderHand ^ defenderHand);
+        this.attackerHand = attackerHand;
+        this.defenderHand = defenderHand;
+    }
+
+    public void setDiscard(long discard) {
+        key ^= Zobrist.pile(Zobrist.DISCARD, this.discard ^ discard);
+        this.discard = discard;
+    }
+
+    public void setCauldrons(int cauldronCount, boolean usedCauldron) {
+        int oldFlags = flags();
+        this.cauldronCount = cauldronCount;
+        this.usedCauldron = usedCauldron;
+        key ^= flagsKey(oldFlags) ^ flagsKey(flags());
+    }
+
+    public void setAttackerToMove(boolean attackerToMove) {
+        int oldFlags = flags();
+        this.attackerToMove = attackerToMove;
+        key ^= flagsKey(oldFlags) ^ flagsKey(flags());
+    }
+
+    /** Fills the deck with every suited card that is not in a hand, on a wall or discarded. */
+    public void fillDeck() {
+        long seen = attackerHand | defenderHand | discard;
+        for (int w = 0; w < NUM_WALLS; w++) {
+            seen |= attackerCards[w] | defenderCards[w];
+        }
+        setDeck(CardSet.ALL_SUITED & ~seen);
+    }
+
+    /** Replaces the deck with {@code cards} in card id order. */
+    public void setDeck(long cards) {
+        key ^= Zobrist.pile(Zobrist.DECK, deckSet ^ cards);
+        deckSet = cards;
+        deckSize = 0;
+        for (long s = cards; s != 0; s &= s - 1) {
+            deck[deckSize++] = (byte) CardSet.first(s);
+        }
+    }
+
+    /** Replaces the deck with {@code cards}, the first of which is drawn first. */
+    public void setDeck(List<Card> cards) {
+        setDeck(CardSet.of(cards));
+        deckSize = cards.size();
+        for (int i = 0; i < deckSize; i++) {
+            deck[deckSize - 1 - i] = (byte) cards.get(i).getId();
+        }
+    }
+
+    public void shuffleDeck(RandomGenerator random) {
+        for (int i = deckSize - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
+    }
+
+    /** Makes this state a copy of {@code other}'s position, with an empty undo journal. */
+    public void copyFrom(SearchState other) {
+        System.arraycopy(other.attackerCards, 0, attackerCards, 0, NUM_WALLS);
+        System.arraycopy(other.defenderCards, 0, defenderCards, 0, NUM_WALLS);
+        System.arraycopy(other.attackerOrder, 0, attackerOrder, 0, NUM_WALLS);
+        System.arraycopy(other.status, 0, status, 0, NUM_WALLS);
+        System.arraycopy(other.witness, 0, witness, 0, NUM_WALLS);
+        finishedFirst = other.finishedFirst;
+        damagedCount = other.damagedCount;
+        brokenCount = other.brokenCount;
+        openAttackerWalls = other.openAttackerWalls;
+        openDefenderWalls = other.openDefenderWalls;
+        occupiedWalls = other.occupiedWalls;
+        attackerHand = other.attackerHand;
+        defenderHand = other.defenderHand;
+        discard = other.discard;
+        deckSet = other.deckSet;
+        System.arraycopy(other.deck, 0, deck, 0, other.deckSize);
+        deckSize = other.deckSize;
+        cauldronCount = other.cauldronCount;
+        usedCauldron = other.usedCauldron;
+        attackerToMove = other.attackerToMove;
+        key = other.key;
+        ply = 0;
+        savedWalls = 0;
+    }
+
+    public boolean isAttackerToMove() {
+        return attackerToMove;
+    }
+
+    public long getAttackerHand() {
+        return attackerHand;
+    }
+
+    public long getDefenderHand() {
+        return defenderHand;
+    }
+
+    public long getHand(boolean attacker) {
+        return attacker ? attackerHand : defenderHand;
+    }
+
+    public long getDiscard() {
+        return discard;
+    }
+
+    public long getDeckSet() {
+        return deckSet;
+    }
+
+    public int getDeckSize() {
+        return deckSize;
+    }
+
+    /** Cards that are neither on the board nor discarded: the deck and both hands. */
+    public long getUnseenCards() {
+        return deckSet | attackerHand | defenderHand;
+    }
+
+    public long getAttackerCards(int w) {
+        return attackerCards[w];
+    }
+
+    public long getDefenderCards(int w) {
+        return defenderCards[w];
+    }
+
+    /** Id of the attacker card played last on the wall, or -1 if there is none. */
+    public int getLastAttackerCard(int w) {
+        int count = CardSet.size(attackerCards[w]);
+        return count == 0 ? -1 : attackerOrder[w] >>> ((count - 1) * ID_BITS) & ID_MASK;
+    }
+
+    public byte getStatus(int w) {
+        return status[w];
+    }
+
+    public int getLength(int w) {
+        return status[w] == INTACT ? Constants.WALL_LENGTHS[w] : Constants.DAMAGED_WALL_LENGTHS[w];
+    }
+
+    public WallPattern getPattern(int w) {
+        return status[w] == INTACT ? Constants.WALL_PATTERNS[w] : Constants.DAMAGED_WALL_PATTERNS[w];
+    }
+
+    public boolean isAttackerFinishedFirst(int w) {
+        return (finishedFirst & 1 << w) != 0;
+    }
+
+    public int getDamagedCount() {
+        return damagedCount;
+    }
+
+    public int getBrokenCount() {
+        return brokenCount;
+    }
+
+    public int getCauldronCount() {
+        return cauldronCount;
+    }
+
+    public boolean hasUsedCauldron() {
+        return usedCauldron;
+    }
+
+    /** Number of moves applied and not yet undone. */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * The Zobrist key of the position: where every card is, with the attacker's cards
+     * in play order, the wall statuses, the cauldrons and the side to move. The deck
+     * counts as a set, so positions that differ only in the order of the deck share a
+     * key. Equal positions always have equal keys.
+     */
+    public long positionKey() {
+        return key;
+    }
+
+    private long computeKey() {
+        long k = flagsKey(flags())
+                ^ Zobrist.pile(Zobrist.ATTACKER_HAND, attackerHand)
+                ^ Zobrist.pile(Zobrist.DEFENDER_HAND, defenderHand)
+                ^ Zobrist.pile(Zobrist.DECK, deckSet)
+                ^ Zobrist.pile(Zobrist.DISCARD, discard);
+        for (int w = 0; w < NUM_WALLS; w++) {
+            k ^= wallKey(w);
+        }
+        return k;
+    }
+
+    private long wallKey(int w) {
+        return Zobrist.status(w, status[w]) ^ attackerSideKey(w)
+                ^ Zobrist.defenderSide(w, defenderCards[w]);
+    }
+
+    private long attackerSideKey(int w) {
+        return Zobrist.attackerSide(w, attackerOrder[w], CardSet.size(attackerCards[w]));
+    }
+
+    private static long flagsKey(int flags) {
+        return Zobrist.flags((flags & 1) != 0, (flags & 2) != 0, flags >>> 2 & 7,
+                flags >>> 11 & (1 << NUM_WALLS) - 1);
+    }
+
+    // Every flag key but the cauldron count's is XOR-ed in per set bit, so only the bits
+    // that changed need hashing, plus the swap from the old count's key to the new one's.
+    private static long flagsDelta(int oldFlags, int newFlags) {
+        int count = 7 << 2;
+        int changed = (oldFlags ^ newFlags) & ~count | oldFlags & count;
+        return flagsKey(changed) ^ Zobrist.flags(false, false, newFlags >>> 2 & 7, 0);
+    }
+
+    /**
+     * The winner, checked the way the host does: the attacker wins as soon as a wall
+     * breaks or four walls are damaged; the deck and a full defender side are only
+     * checked once the attacker has played and the defender is to move.
+     */
+    public Winner getWinner() {
+        if (brokenCount > 0 || damagedCount >= 4) {
+            return Winner.ATTACKER;
+        }
+        if (!attackerToMove && (deckSize == 0 || defenderSideFull())) {
+            return Winner.DEFENDER;
+        }
+        return Winner.NONE;
+    }
+
+    public boolean isGameOver() {
+        return getWinner() != Winner.NONE;
+    }
+
+    private boolean defenderSideFull() {
+        return openDefenderWalls == 0;
+    }
+
+    /**
+     * Writes every legal move for the side to move into {@code moves} and returns how
+     * many there are: each card in hand on each wall with space on the mover's side,
+     * then the attacker's retreats or the defender's oil cauldrons.
+     */
+    public int generateMoves(int[] moves) {
+        if (attackerToMove) {
+            return MoveGenerator.generate(attackerHand, openAttackerWalls, true, occupiedWalls, moves);
+        }
+        int cauldronWalls = cauldronCount > 0 && !usedCauldron ? occupiedWalls : 0;
+        return MoveGenerator.generate(defenderHand, openDefenderWalls, false, cauldronWalls, moves);
+    }
+
+    /** Walls with a free slot on the attacker's or the defender's side. */
+    public int getOpenWalls(boolean attacker) {
+        return attacker ? openAttackerWalls : openDefenderWalls;
+    }
+
+    /** Walls with at least one attacker card, where a retreat or cauldron can be used. */
+    public int getOccupiedWalls() {
+        return occupiedWalls;
+    }
+
+    /** Plays a legal move for the side to move. */
+    public void apply(int move) {
+        play(move);
+        key ^= flagsDelta(savedFlags[ply - 1], flags());
+    }
+
+    private void play(int move) {
+        if (ply == MAX_PLIES) {
+            throw new IllegalStateException("Search depth exceeds " + MAX_PLIES + " plies");
+        }
+        savedMove[ply] = move;
+        savedFlags[ply] = flags();
+        savedKey[ply] = key;
+        savedAttackerHand[ply] = attackerHand;
+        savedDefenderHand[ply] = defenderHand;
+        savedDiscard[ply] = discard;
+        savedDeckSet[ply] = deckSet;
+        savedDeckSize[ply] = deckSize;
+        savedWallStart[ply] = savedWalls;
+        ply++;
+        journaled = 0;
+
+        int cardId = Move.cardId(move);
+        int w = Move.wallIndex(move);
+        if (cardId == CardSet.RETREAT_INDEX) {
+            saveWall(w);
+            key ^= attackerSideKey(w) ^ Zobrist.pile(Zobrist.DISCARD, attackerCards[w]);
+            discard |= attackerCards[w];
+            attackerCards[w] = CardSet.EMPTY;
+            attackerOrder[w] = 0;
+            updateMasks(w);
+            return;
+        }
+        if (cardId == CardSet.CAULDRON_INDEX) {
+            saveWall(w);
+            int last = getLastAttackerCard(w);
+            key ^= Zobrist.attackerSlot(w, CardSet.size(attackerCards[w]) - 1, last)
+                    ^ Zobrist.card(Zobrist.DISCARD, last);
+            attackerCards[w] &= ~(1L << last);
+            attackerOrder[w] &= ~(ID_MASK << ((CardSet.size(attackerCards[w])) * ID_BITS));
+            discard |= 1L << last;
+            finishedFirst &= ~(1 << w);
+            cauldronCount--;
+            usedCauldron = true;
+            updateMasks(w);
+            return;
+        }
+
+        boolean attacker = attackerToMove;
+        long bit = 1L << cardId;
+        saveWall(w);
+        if (attacker) {
+            attackerHand &= ~bit;
+        } else {
+            defenderHand &= ~bit;
+        }
+        key ^= Zobrist.card(attacker ? Zobrist.ATTACKER_HAND : Zobrist.DEFENDER_HAND, cardId);
+
+        int value = cardId % CardSet.NUM_VALUES;
+        long partner = value == 0 || value == 11 ? 1L << (cardId - value + 11 - value) : 0;
+        if ((partner & (attacker ? defenderCards[w] : attackerCards[w])) != 0) {
+            int partnerId = Long.numberOfTrailingZeros(partner);
+            if (attacker) {
+                defenderCards[w] &= ~partner;
+                key ^= Zobrist.defenderCard(w, partnerId);
+            } else {
+                key ^= attackerSideKey(w);
+                removeAttackerCard(w, partnerId);
+                key ^= attackerSideKey(w);
+            }
+            discard |= bit | partner;
+            key ^= Zobrist.card(Zobrist.DISCARD, cardId) ^ Zobrist.card(Zobrist.DISCARD, partnerId);
+        } else if (attacker) {
+            int slot = CardSet.size(attackerCards[w]);
+            attackerOrder[w] |= cardId << (slot * ID_BITS);
+            attackerCards[w] |= bit;
+            key ^= Zobrist.attackerSlot(w, slot, cardId);
+        } else {
+            defenderCards[w] |= bit;
+            key ^= Zobrist.defenderCard(w, cardId);
+        }
+        if (attacker) {
+            int length = getLength(w);
+            boolean first = CardSet.size(attackerCards[w]) == length
+                    && CardSet.size(defenderCards[w]) < length;
+            finishedFirst = first ? finishedFirst | 1 << w : finishedFirst & ~(1 << w);
+        }
+        updateMasks(w);
+
+        if (deckSize > 0) {
+            int drawn = deck[--deckSize];
+            deckSet &= ~(1L << drawn);
+            if (attacker) {
+                attackerHand |= 1L << drawn;
+            } else {
+                defenderHand |= 1L << drawn;
+            }
+            key ^= Zobrist.card(Zobrist.DECK, drawn)
+                    ^ Zobrist.card(attacker ? Zobrist.ATTACKER_HAND : Zobrist.DEFENDER_HAND, drawn);
+        }
+
+        declareControl();
+        if (!attacker) {
+            usedCauldron = false;
+        }
+        attackerToMove = !attacker;
+    }
+
+    /** Takes back {@code move}, which must be the last move applied. */
+    public void undo(int move) {
+        if (ply == 0 || savedMove[ply - 1] != move) {
+            throw new IllegalStateException("Not the last applied move: " + Move.toString(move));
+        }
+        ply--;
+        restoreFlags(savedFlags[ply]);
+        key = savedKey[ply];
+        attackerHand = savedAttackerHand[ply];
+        defenderHand = savedDefenderHand[ply];
+        discard = savedDiscard[ply];
+        deckSet = savedDeckSet[ply];
+        deckSize = savedDeckSize[ply];
+        while (savedWalls > savedWallStart[ply]) {
+            savedWalls--;
+            int w = savedWall[savedWalls];
+            attackerCards[w] = savedAttackerCards[savedWalls];
+            defenderCards[w] = savedDefenderCards[savedWalls];
+            attackerOrder[w] = savedAttackerOrder[savedWalls];
+            status[w] = savedStatus[savedWalls];
+            witness[w] = NO_WITNESS;
+            updateMasks(w);
+        }
+    }
+
+    private void declareControl() {
+        long remaining = getUnseenCards();
+        for (int w = 0; w < NUM_WALLS; w++) {
+            int length = getLength(w);
+            if (CardSet.size(attackerCards[w]) != length) {
+                continue;
+            }
+            if (witness[w] != NO_WITNESS && (witness[w] & ~remaining) == 0) {
+                continue;
+            }
+            WallPattern pattern = getPattern(w);
+            int attackerStrength = FormationTable.strength(pattern, attackerCards[w]);
+            int target = isAttackerFinishedFirst(w) ? attackerStrength + 1 : attackerStrength;
+            int defenderStrength = FormationSolver.strongestCompletion(defenderCards[w], remaining,
+                    length, pattern, target, completion);
+            if (defenderStrength < target) {
+                damage(w);
+            } else {
+                witness[w] = completion[0];
+            }
+        }
+    }
+
+    private void damage(int w) {
+        saveWall(w);
+        key ^= wallKey(w) ^ Zobrist.pile(Zobrist.DISCARD, attackerCards[w] | defenderCards[w]);
+        discard |= attackerCards[w] | defenderCards[w];
+        attackerCards[w] = CardSet.EMPTY;
+        defenderCards[w] = CardSet.EMPTY;
+        attackerOrder[w] = 0;
+        if (status[w] == INTACT) {
+            status[w] = DAMAGED;
+            damagedCount++;
+        } else {
+            status[w] = BROKEN;
+            damagedCount--;
+            brokenCount++;
+        }
+        key ^= wallKey(w);
+        updateMasks(w);
+    }
+
+    private void updateMasks(int w) {
+        int bit = 1 << w;
+        int length = getLength(w);
+        openAttackerWalls = CardSet.size(attackerCards[w]) < length
+                ? openAttackerWalls | bit : openAttackerWalls & ~bit;
+        openDefenderWalls = CardSet.size(defenderCards[w]) < length
+                ? openDefenderWalls | bit : openDefenderWalls & ~bit;
+        occupiedWalls = attackerCards[w] != CardSet.EMPTY ? occupiedWalls | bit : occupiedWalls & ~bit;
+    }
+
+    private void removeAttackerCard(int w, int cardId) {
+        int order = attackerOrder[w];
+        int kept = 0;
+        int count = 0;
+        for (int i = CardSet.size(attackerCards[w]); i > 0; i--, order >>>= ID_BITS) {
+            int id = order & ID_MASK;
+            if (id != cardId) {
+                kept |= id << (count++ * ID_BITS);
+            }
+        }
+        attackerOrder[w] = kept;
+        attackerCards[w] &= ~(1L << cardId);
+    }
+
+    // Records a wall the first time the current move changes it.
+    private void saveWall(int w) {
+        witness[w] = NO_WITNESS;
+        if ((journaled & 1 << w) != 0) {
+            return;
+        }
+        journaled |= 1 << w;
+        savedWall[savedWalls] = (byte) w;
+        savedAttackerCards[savedWalls] = attackerCards[w];
+        savedDefenderCards[savedWalls] = defenderCards[w];
+        savedAttackerOrder[savedWalls] = attackerOrder[w];
+        savedStatus[savedWalls] = status[w];
+        savedWalls++;
+    }
+
+    private int flags() {
+        return (attackerToMove ? 1 : 0) | (usedCauldron ? 2 : 0) | cauldronCount << 2
+                | damagedCount << 5 | brokenCount << 8 | finishedFirst << 11;
+    }
+
+    private void restoreFlags(int flags) {
+        attackerToMove = (flags & 1) != 0;
+        usedCauldron = (flags & 2) != 0;
+        cauldronCount = flags >>> 2 & 7;
+        damagedCount = flags >>> 5 & 7;
+        brokenCount = flags >>> 8 & 7;
+        finishedFirst = flags >>> 11 & (1 << NUM_WALLS) - 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(attackerToMove ? "Attacker" : "Defender").append(" to move, deck ")
+                .append(deckSize).append(", cauldrons ").append(cauldronCount).append('\n');
+        builder.append("Attacker hand ").append(CardSet.toString(attackerHand)).append('\n');
+        builder.append("Defender hand ").append(CardSet.toString(defenderHand)).append('\n');
+        for (int w = 0; w < NUM_WALLS; w++) {
+            builder.append("Wall ").append(w).append(' ').append(getPattern(w)).append(" x")
+                    .append(getLength(w)).append(status[w] == INTACT ? "" : status[w] == DAMAGED
+                            ? " damaged" : " broken")
+                    .append(": ").append(CardSet.toString(attackerCards[w])).append(" vs ")
+                    .append(CardSet.toString(defenderCards[w])).append('\n');
+        }
+        return builder.append("Discard ").append(CardSet.toString(discard)).toString();
+    }
+}
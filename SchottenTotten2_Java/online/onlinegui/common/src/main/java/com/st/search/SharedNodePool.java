@@ -0,0 +1,269 @@
+package com.st.search;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A {@link NodePool} layout that many threads grow and update at once, without locks.
+ * <p>
+ * Nodes are claimed with an atomic counter and pushed onto their parent's child list
+ * with a compare-and-set on {@code firstChild}, which publishes the node's fields. If
+ * another thread adds the same move first, the copy that lost is left unlinked.
+ * Statistics are updated atomically. Selection reads them in opaque mode, so a reward
+ * sum cannot tear and a read is never hoisted out of the loop. The counts of a node are
+ * still read one by one rather than as a snapshot, so a score may mix stale ones.
+ * <p>
+ * A thread that descends through a node adds a virtual loss to its visits straight
+ * away, which makes the node look worse to the other threads until the playout result
+ * arrives in {@link #backpropagate}.
+ */
+final class SharedNodePool {
+    static final int NONE = NodePool.NONE;
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle DOUBLES = MethodHandles.arrayElementVarHandle(double[].class);
+    private static final VarHandle SIZE;
+
+    static {
+        try {
+            SIZE = MethodHandles.lookup().findVarHandle(SharedNodePool.class, "size", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    final int[] move;
+    final int[] parent;
+    final int[] firstChild;
+    final int[] nextSibling;
+    final int[] visits;
+    final int[] avails;
+    final double[] wins;
+    // New node indices while compacting, so that {@link #retain} allocates nothing.
+    private final int[] remap;
+    private final int virtualLoss;
+    private volatile int size;
+
+    SharedNodePool(int capacity, int virtualLoss) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (virtualLoss < 1) {
+            throw new IllegalArgumentException("Virtual loss must be positive: " + virtualLoss);
+        }
+        move = new int[capacity];
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        visits = new int[capacity];
+        avails = new int[capacity];
+        wins = new double[capacity];
+        remap = new int[capacity];
+        this.virtualLoss = virtualLoss;
+    }
+
+    int capacity() {
+        return move.length;
+    }
+
+    /** The number of nodes claimed, including copies that lost an expansion race. */
+    int size() {
+        return Math.min(size, move.length);
+    }
+
+    boolean isFull() {
+        return size >= move.length;
+    }
+
+    /** Frees every node. Only call this while no other thread uses the pool. */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Same as {@link NodePool#retain}. Only call this while no other thread uses the
+     * pool, when no node carries a virtual loss.
+     * <p>
+     * Copies that lost an expansion race still point at their parent but are on no
+     * child list, so what is kept is found by walking the child lists, in index order
+     * since a child is always claimed after its parent.
+     */
+    void retain(int[] roots) {
+        int claimed = size();
+        for (int n = 0; n < claimed; n++) {
+            remap[n] = NONE;
+        }
+        for (int root : roots) {
+            remap[root] = 0;
+        }
+        for (int n = 0; n < claimed; n++) {
+            if (remap[n] != NONE) {
+                for (int c = firstChild[n]; c != NONE; c = nextSibling[c]) {
+                    remap[c] = 0;
+                }
+            }
+        }
+        int kept = 0;
+        for (int n = 0; n < claimed; n++) {
+            if (remap[n] != NONE) {
+                remap[n] = kept++;
+            }
+        }
+        for (int n = 0; n < claimed; n++) {
+            int m = remap[n];
+            if (m == NONE) {
+                continue;
+            }
+            boolean root = isOneOf(n, roots);
+            move[m] = move[n];
+            parent[m] = root ? NONE : remap[parent[n]];
+            firstChild[m] = firstChild[n] == NONE ? NONE : remap[firstChild[n]];
+            nextSibling[m] = root || nextSibling[n] == NONE ? NONE : remap[nextSibling[n]];
+            visits[m] = visits[n];
+            avails[m] = avails[n];
+            wins[m] = wins[n];
+        }
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = remap[roots[i]];
+        }
+        size = kept;
+    }
+
+    private static boolean isOneOf(int node, int[] nodes) {
+        for (int n : nodes) {
+            if (n == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Adds a root node. Only call this while no other thread uses the pool. */
+    int addRoot() {
+        int node = allocate(Move.NONE, NONE);
+        visits[node] = 0;
+        return node;
+    }
+
+    private int allocate(int nodeMove, int parentNode) {
+        // Checking first keeps a full pool's counter from climbing on every attempt.
+        if (size >= move.length) {
+            return NONE;
+        }
+        int node = (int) SIZE.getAndAdd(this, 1);
+        if (node >= move.length) {
+            return NONE;
+        }
+        move[node] = nodeMove;
+        parent[node] = parentNode;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        visits[node] = virtualLoss;
+        avails[node] = 1;
+        wins[node] = 0;
+        return node;
+    }
+
+    /**
+     * Descends from {@code node} to its child for {@code childMove}, adding the child if
+     * it is missing, and puts a virtual loss on it. Returns {@link #NONE} if the child
+     * is missing and the pool is full.
+     */
+    int descend(int node, int childMove) {
+        int head = (int) INTS.getAcquire(firstChild, node);
+        int child = find(head, NONE, childMove);
+        if (child != NONE) {
+            INTS.getAndAdd(visits, child, virtualLoss);
+            return child;
+        }
+        int created = allocate(childMove, node);
+        if (created == NONE) {
+            return NONE;
+        }
+        while (true) {
+            nextSibling[created] = head;
+            int witness = (int) INTS.compareAndExchange(firstChild, node, head, created);
+            if (witness == head) {
+                return created;
+            }
+            // Only the children pushed since {@code head} can be new.
+            child = find(witness, head, childMove);
+            if (child != NONE) {
+                INTS.getAndAdd(visits, child, virtualLoss);
+                return child;
+            }
+            head = witness;
+        }
+    }
+
+    /** The child of {@code node} for {@code childMove}, or {@link #NONE}. */
+    int findChild(int node, int childMove) {
+        return find((int) INTS.getAcquire(firstChild, node), NONE, childMove);
+    }
+
+    private int find(int from, int until, int childMove) {
+        for (int c = from; c != until; c = nextSibling[c]) {
+            if (move[c] == childMove) {
+                return c;
+            }
+        }
+        return NONE;
+    }
+
+    /** Same as {@link NodePool#untriedMoves}. */
+    int untriedMoves(int node, int[] moves, int count, int[] untried) {
+        int head = (int) INTS.getAcquire(firstChild, node);
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (find(head, NONE, moves[i]) == NONE) {
+                untried[n++] = moves[i];
+            }
+        }
+        return n;
+    }
+
+    /** Same as {@link NodePool#ucbSelectChild}, counting virtual losses as visits. */
+    int ucbSelectChild(int node, int[] moves, int count, double exploration) {
+        int best = NONE;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int c = (int) INTS.getAcquire(firstChild, node); c != NONE; c = nextSibling[c]) {
+            if (!MoveGenerator.contains(moves, count, move[c])) {
+                continue;
+            }
+            int n = (int) INTS.getOpaque(visits, c);
+            double w = (double) DOUBLES.getOpaque(wins, c);
+            int a = (int) INTS.getOpaque(avails, c);
+            double score = w / n + exploration * Math.sqrt(Math.log(a) / n);
+            if (score > bestScore) {
+                best = c;
+                bestScore = score;
+            }
+            INTS.getAndAdd(avails, c, 1);
+        }
+        return best;
+    }
+
+    /**
+     * Adds {@code result} to {@code node} and every ancestor except the root, replacing
+     * the virtual loss each of them received on the way down with a single visit.
+     */
+    void backpropagate(int node, double result) {
+        int n = node;
+        for (; parent[n] != NONE; n = parent[n]) {
+            if (virtualLoss != 1) {
+                INTS.getAndAdd(visits, n, 1 - virtualLoss);
+            }
+            if (result != 0) {
+                addWins(n, result);
+            }
+        }
+        INTS.getAndAdd(visits, n, 1);
+    }
+
+    private void addWins(int node, double result) {
+        double current;
+        do {
+            current = (double) DOUBLES.getVolatile(wins, node);
+        } while (!DOUBLES.weakCompareAndSet(wins, node, current, current + result));
+    }
+}
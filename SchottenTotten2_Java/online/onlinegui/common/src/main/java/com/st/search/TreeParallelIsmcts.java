@@ -0,0 +1,278 @@
+package com.st.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.st.common.Winner;
+
+/**
+ * Tree-parallel multiple-observer ISMCTS: the same iterations as {@link Ismcts}, but
+ * every worker descends one shared pair of observer trees instead of growing its own.
+ * <p>
+ * The trees live in a {@link SharedNodePool}, so workers expand and update them with
+ * atomic operations and never take a lock, and the virtual loss a worker leaves on
+ * its path steers the others towards different moves. The root statistics need no
+ * merging, and the node cap is shared by all workers rather than split between them.
+ * <p>
+ * Like {@link Ismcts}, the trees can be kept from move to move with
+ * {@link #search(SearchState, boolean, SearchBudget)} and {@link #advance}.
+ */
+public final class TreeParallelIsmcts implements ReusableSearchEngine {
+    /** Nodes shared by all workers by default, about 32 MB of tree storage. */
+    public static final int DEFAULT_MAX_NODES = 1 << 20;
+    public static final int DEFAULT_VIRTUAL_LOSS = 1;
+
+    private static final int ATTACKER = 0;
+    private static final int DEFENDER = 1;
+
+    private final ForkJoinPool pool;
+    private final Worker[] workers;
+    private final SharedNodePool nodes;
+    private final SplittableRandom random;
+    private final int[] roots = new int[2];
+
+    /** A search on the common pool with one worker per thread of the pool. */
+    public TreeParallelIsmcts() {
+        this(ForkJoinPool.commonPool(), Math.max(1, ForkJoinPool.getCommonPoolParallelism()),
+                Ismcts.DEFAULT_EXPLORATION, new SplittableRandom(), DEFAULT_MAX_NODES,
+                DEFAULT_VIRTUAL_LOSS);
+    }
+
+    /**
+     * @param maxNodes the number of nodes the two shared observer trees can hold
+     * @param virtualLoss the visits a worker adds to each node on its way down, which
+     *     it replaces with a single visit once its playout is scored
+     */
+    public TreeParallelIsmcts(ForkJoinPool pool, int workers, double exploration,
+            SplittableRandom random, int maxNodes, int virtualLoss) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is needed: " + workers);
+        }
+        if (maxNodes < 2) {
+            throw new IllegalArgumentException("Room for both root nodes is needed: " + maxNodes);
+        }
+        this.pool = pool;
+        this.random = random;
+        this.nodes = new SharedNodePool(maxNodes, virtualLoss);
+        this.workers = new Worker[workers];
+        for (int i = 0; i < workers; i++) {
+            this.workers[i] = new Worker(nodes, exploration);
+        }
+        clearTrees();
+    }
+
+    @Override
+    public int getWorkers() {
+        return workers.length;
+    }
+
+    /**
+     * Searches {@code root} from empty trees with every worker. With an iteration
+     * budget each worker runs that many iterations.
+     */
+    @Override
+    public synchronized SearchResult search(SearchState root, SearchBudget budget) {
+        clearTrees();
+        return search(root, root.isAttackerToMove(), budget);
+    }
+
+    @Override
+    public synchronized SearchResult search(SearchState root, boolean observerIsAttacker,
+            SearchBudget budget) {
+        long deadline = budget.nanos() == Long.MAX_VALUE ? Long.MAX_VALUE
+                : System.nanoTime() + budget.nanos();
+        List<Callable<Worker>> jobs = new ArrayList<>(workers.length);
+        for (Worker worker : workers) {
+            worker.reset(root, observerIsAttacker, roots, random.split());
+            jobs.add(() -> worker.run(budget.iterations(), deadline));
+        }
+
+        long iterations = 0;
+        for (Future<Worker> future : pool.invokeAll(jobs)) {
+            iterations += join(future).iterations;
+        }
+
+        // When the observer is not the side to move, the root has a child for every card
+        // the opponent's hand was dealt, far more than MAX_MOVES.
+        int rootTree = roots[root.isAttackerToMove() ? ATTACKER : DEFENDER];
+        int count = 0;
+        for (int c = nodes.firstChild[rootTree]; c != NodePool.NONE; c = nodes.nextSibling[c]) {
+            count++;
+        }
+        int[] moves = new int[count];
+        int[] visits = new int[count];
+        double[] wins = new double[count];
+        int i = 0;
+        for (int c = nodes.firstChild[rootTree]; c != NodePool.NONE; c = nodes.nextSibling[c]) {
+            moves[i] = nodes.move[c];
+            visits[i] = nodes.visits[c];
+            wins[i] = nodes.wins[c];
+            i++;
+        }
+        return new SearchResult(moves, visits, wins, iterations);
+    }
+
+    @Override
+    public synchronized void clearTrees() {
+        nodes.clear();
+        roots[ATTACKER] = nodes.addRoot();
+        roots[DEFENDER] = nodes.addRoot();
+    }
+
+    /**
+     * Moves the roots down to {@code move}, played from the position last searched,
+     * keeping the statistics gathered below it. If the shared trees never tried the
+     * move, the next search starts from empty trees.
+     */
+    @Override
+    public synchronized void advance(int move) {
+        int attackerChild = nodes.findChild(roots[ATTACKER], move);
+        int defenderChild = nodes.findChild(roots[DEFENDER], move);
+        if (attackerChild == NodePool.NONE || defenderChild == NodePool.NONE) {
+            clearTrees();
+            return;
+        }
+        roots[ATTACKER] = attackerChild;
+        roots[DEFENDER] = defenderChild;
+        nodes.retain(roots);
+    }
+
+    /**
+     * Deals the hidden cards from {@code belief}, the observer's view of the opponent's
+     * hand, or uniformly if it is null. The belief is read during searches, so only
+     * update it between them.
+     */
+    @Override
+    public synchronized void setBelief(HandBelief belief) {
+        for (Worker worker : workers) {
+            worker.sampler.setBelief(belief);
+        }
+    }
+
+    private static Worker join(Future<Worker> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+    }
+
+    /** One worker's position and buffers; the trees belong to the search. */
+    private static final class Worker {
+        private final SharedNodePool nodes;
+        private final double exploration;
+        private final SearchState state = new SearchState();
+        private final DeterminisationSampler sampler = new DeterminisationSampler();
+        private final int[] roots = new int[2];
+        private final int[] trees = new int[2];
+        private final int[] moves = new int[Move.MAX_MOVES];
+        private final int[] untried = new int[Move.MAX_MOVES];
+        private SearchState root;
+        private boolean observerIsAttacker;
+        private SplittableRandom random;
+        private long iterations;
+
+        Worker(SharedNodePool nodes, double exploration) {
+            this.nodes = nodes;
+            this.exploration = exploration;
+        }
+
+        void reset(SearchState root, boolean observerIsAttacker, int[] roots,
+                SplittableRandom random) {
+            this.root = root;
+            this.observerIsAttacker = observerIsAttacker;
+            this.roots[ATTACKER] = roots[ATTACKER];
+            this.roots[DEFENDER] = roots[DEFENDER];
+            this.random = random;
+            iterations = 0;
+        }
+
+        Worker run(long maxIterations, long deadline) {
+            while (iterations < maxIterations
+                    && (deadline == Long.MAX_VALUE || System.nanoTime() < deadline)) {
+                iterate();
+                iterations++;
+            }
+            return this;
+        }
+
+        private void iterate() {
+            trees[ATTACKER] = roots[ATTACKER];
+            trees[DEFENDER] = roots[DEFENDER];
+            state.copyFrom(root);
+            sampler.sample(state, observerIsAttacker, random);
+
+            // Selection: descend while the node of the player to move is fully expanded, or
+            // through whichever children it has once the pool is full.
+            int count = legalMoves();
+            while (count > 0
+                    && (nodes.isFull() || nodes.untriedMoves(current(), moves, count, untried) == 0)) {
+                int child = nodes.ucbSelectChild(current(), moves, count, exploration);
+                if (child == NodePool.NONE) {
+                    break;
+                }
+                boolean inTree = descend(nodes.move[child]);
+                count = legalMoves();
+                if (!inTree) {
+                    break;
+                }
+            }
+
+            // Expansion: add one untried move to both trees, unless the pool is full.
+            if (count > 0 && !nodes.isFull()) {
+                int n = nodes.untriedMoves(current(), moves, count, untried);
+                if (n > 0) {
+                    descend(untried[random.nextInt(n)]);
+                    count = legalMoves();
+                }
+            }
+
+            // Simulation: random moves until the game is decided.
+            while (count > 0) {
+                state.apply(moves[random.nextInt(count)]);
+                count = legalMoves();
+            }
+
+            // Backpropagation: each tree is scored for its own observer.
+            double attackerResult = state.getWinner() == Winner.ATTACKER ? 1 : 0;
+            nodes.backpropagate(trees[ATTACKER], attackerResult);
+            nodes.backpropagate(trees[DEFENDER], 1 - attackerResult);
+        }
+
+        // Moves both trees to their child for {@code move} and plays it. If the pool is
+        // full, a tree without that child stays where it is, which is still a correct
+        // place to score the playout, and false is returned so that selection stops. The
+        // move is only left unplayed when neither tree could follow it.
+        private boolean descend(int move) {
+            int attackerChild = nodes.descend(trees[ATTACKER], move);
+            int defenderChild = nodes.descend(trees[DEFENDER], move);
+            if (attackerChild != NodePool.NONE) {
+                trees[ATTACKER] = attackerChild;
+            }
+            if (defenderChild != NodePool.NONE) {
+                trees[DEFENDER] = defenderChild;
+            }
+            if (attackerChild != NodePool.NONE || defenderChild != NodePool.NONE) {
+                state.apply(move);
+            }
+            return attackerChild != NodePool.NONE && defenderChild != NodePool.NONE;
+        }
+
+        private int current() {
+            return trees[state.isAttackerToMove() ? ATTACKER : DEFENDER];
+        }
+
+        // The legal moves of the side to move, or none once the game is decided.
+        private int legalMoves() {
+            return state.isGameOver() ? 0 : state.generateMoves(moves);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.st.search;
+
+import java.util.SplittableRandom;
+
+import com.st.common.CardSet;
+import com.st.common.Constants;
+
+/**
+ * Random 64-bit keys for Zobrist hashing of a {@link SearchState}.
+ * <p>
+ * There is one key for each card in each place it can be: a hand, the deck, the
+ * discard, a slot of a wall's attacker side in play order, or a wall's defender side.
+ * There are further keys for each wall status, which also fixes the wall's pattern and
+ * length, and for the finished-first flags, the cauldron count, a used cauldron and the
+ * side to move. A position's key is the XOR of the keys of everything true in it, so a
+ * change is hashed by XOR-ing out the old facts and XOR-ing in the new ones.
+ * <p>
+ * The keys come from a fixed seed, so a key means the same position in every run.
+ */
+final class Zobrist {
+    static final int ATTACKER_HAND = 0;
+    static final int DEFENDER_HAND = 1;
+    static final int DECK = 2;
+    static final int DISCARD = 3;
+
+    private static final long SEED = 0x5C07707077E2L;
+    private static final int NUM_WALLS = Constants.NUM_WALLS;
+    private static final int MAX_WALL_LENGTH = 4;
+
+    private static final long[][] PILES = new long[4][CardSet.NUM_CARDS];
+    private static final long[][][] ATTACKER_SLOTS =
+            new long[NUM_WALLS][MAX_WALL_LENGTH][CardSet.NUM_SUITED];
+    private static final long[][] DEFENDER_SIDES = new long[NUM_WALLS][CardSet.NUM_SUITED];
+    private static final long[][] STATUSES = new long[NUM_WALLS][3];
+    private static final long[] FINISHED_FIRST = new long[NUM_WALLS];
+    private static final long[] CAULDRONS = new long[Constants.NUM_CAULDRONS + 1];
+    private static final long USED_CAULDRON;
+    private static final long ATTACKER_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        fill(PILES, random);
+        for (long[][] slots : ATTACKER_SLOTS) {
+            fill(slots, random);
+        }
+        fill(DEFENDER_SIDES, random);
+        fill(STATUSES, random);
+        fill(FINISHED_FIRST, random);
+        fill(CAULDRONS, random);
+        USED_CAULDRON = random.nextLong();
+        ATTACKER_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    private static void fill(long[][] keys, SplittableRandom random) {
+        for (long[] row : keys) {
+            fill(row, random);
+        }
+    }
+
+    private static void fill(long[] keys, SplittableRandom random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    /** The key of a card in a hand, the deck or the discard. */
+    static long card(int pile, int cardId) {
+        return PILES[pile][cardId];
+    }
+
+    /** The key of {@code cards} in a hand, the deck or the discard. */
+    static long pile(int pile, long cards) {
+        return xor(PILES[pile], cards);
+    }
+
+    static long status(int w, byte status) {
+        return STATUSES[w][status];
+    }
+
+    /** The key of the attacker's card in {@code slot} of a wall, the first played in 0. */
+    static long attackerSlot(int w, int slot, int cardId) {
+        return ATTACKER_SLOTS[w][slot][cardId];
+    }
+
+    /** The key of a wall's attacker side: {@code count} cards, six bits each, oldest lowest. */
+    static long attackerSide(int w, int attackerOrder, int count) {
+        long key = 0;
+        long[][] slots = ATTACKER_SLOTS[w];
+        for (int i = 0; i < count; i++, attackerOrder >>>= 6) {
+            key ^= slots[i][attackerOrder & 63];
+        }
+        return key;
+    }
+
+    static long defenderCard(int w, int cardId) {
+        return DEFENDER_SIDES[w][cardId];
+    }
+
+    static long defenderSide(int w, long cards) {
+        return xor(DEFENDER_SIDES[w], cards);
+    }
+
+    /** The key of the position-wide state, with {@code finishedFirst} a mask of walls. */
+    static long flags(boolean attackerToMove, boolean usedCauldron, int cauldronCount,
+            int finishedFirst) {
+        long key = CAULDRONS[cauldronCount];
+        if (attackerToMove) {
+            key ^= ATTACKER_TO_MOVE;
+        }
+        if (usedCauldron) {
+            key ^= USED_CAULDRON;
+        }
+        for (int walls = finishedFirst; walls != 0; walls &= walls - 1) {
+            key ^= FINISHED_FIRST[Integer.numberOfTrailingZeros(walls)];
+        }
+        return key;
+    }
+
+    private static long xor(long[] keys, long cards) {
+        long key = 0;
+        for (long s = cards; s != 0; s &= s - 1) {
+            key ^= keys[Long.numberOfTrailingZeros(s)];
+        }
+        return key;
+    }
+}
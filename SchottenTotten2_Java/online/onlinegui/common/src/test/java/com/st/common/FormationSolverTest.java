@@ -0,0 +1,128 @@
+package com.st.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link FormationSolver#strongestCompletion} against a brute force over every
+ * set of cards that could complete the formation, scored with {@link Wall#getStrength}.
+ */
+class FormationSolverTest {
+    private static final int POSITIONS = 20_000;
+
+    @Test
+    void matchesBruteForceWithoutTarget() {
+        Random random = new Random(1);
+        long[] completion = new long[1];
+        for (int i = 0; i < POSITIONS; i++) {
+            WallPattern pattern = WallPattern.values()[random.nextInt(WallPattern.values().length)];
+            int length = 2 + random.nextInt(3);
+            long formation = randomCards(CardSet.EMPTY, random.nextInt(length), random);
+            long remaining = randomCards(formation, random.nextInt(16), random);
+
+            int expected = bruteForce(formation, remaining, length, pattern);
+            int actual = FormationSolver.strongestCompletion(formation, remaining, length, pattern,
+                    Integer.MAX_VALUE, completion);
+            String position = describe(pattern, length, formation, remaining);
+            assertEquals(expected, actual, position);
+            if (actual != Integer.MIN_VALUE) {
+                assertCompletion(formation, remaining, length, pattern, actual, completion[0], position);
+            }
+        }
+    }
+
+    /**
+     * With a target the solver may stop at any completion that reaches it, so it must
+     * reach the target exactly when the brute force can, and be exact otherwise.
+     */
+    @Test
+    void reachesTargetWheneverBruteForceDoes() {
+        Random random = new Random(2);
+        long[] completion = new long[1];
+        for (int i = 0; i < POSITIONS; i++) {
+            WallPattern pattern = WallPattern.values()[random.nextInt(WallPattern.values().length)];
+            int length = 2 + random.nextInt(3);
+            long formation = randomCards(CardSet.EMPTY, random.nextInt(length), random);
+            long remaining = randomCards(formation, random.nextInt(16), random);
+            int best = bruteForce(formation, remaining, length, pattern);
+            if (best == Integer.MIN_VALUE) {
+                continue;
+            }
+            int target = best + random.nextInt(201) - 100;
+
+            int actual = FormationSolver.strongestCompletion(formation, remaining, length, pattern,
+                    target, completion);
+            String position = describe(pattern, length, formation, remaining) + " target=" + target;
+            if (best >= target) {
+                assertTrue(actual >= target && actual <= best, position + " got " + actual);
+            } else {
+                assertEquals(best, actual, position);
+            }
+            assertCompletion(formation, remaining, length, pattern, actual, completion[0], position);
+        }
+    }
+
+    @Test
+    void completeFormationNeedsNoCards() {
+        long formation = CardSet.bit(Card.byId(0)) | CardSet.bit(Card.byId(1))
+                | CardSet.bit(Card.byId(2));
+        long[] completion = {-1L};
+        int strength = FormationSolver.strongestCompletion(formation, CardSet.ALL_SUITED & ~formation,
+                3, WallPattern.NONE, Integer.MAX_VALUE, completion);
+        assertEquals(FormationTable.strength(WallPattern.NONE, formation), strength);
+        assertEquals(CardSet.EMPTY, completion[0]);
+    }
+
+    private static void assertCompletion(long formation, long remaining, int length,
+            WallPattern pattern, int strength, long added, String position) {
+        assertEquals(CardSet.EMPTY, added & ~remaining, position);
+        assertEquals(length, CardSet.size(formation | added), position);
+        assertEquals(strength, score(pattern, formation | added), position);
+    }
+
+    private static int bruteForce(long formation, long remaining, int length, WallPattern pattern) {
+        int[] cards = new int[CardSet.size(remaining)];
+        int n = 0;
+        for (long s = remaining; s != 0; s &= s - 1) {
+            cards[n++] = CardSet.first(s);
+        }
+        return best(formation, cards, 0, length - CardSet.size(formation), pattern);
+    }
+
+    private static int best(long formation, int[] cards, int from, int needed, WallPattern pattern) {
+        if (needed == 0) {
+            return score(pattern, formation);
+        }
+        int best = Integer.MIN_VALUE;
+        for (int i = from; i <= cards.length - needed; i++) {
+            best = Math.max(best, best(formation | 1L << cards[i], cards, i + 1, needed - 1, pattern));
+        }
+        return best;
+    }
+
+    private static int score(WallPattern pattern, long formation) {
+        return Wall.getStrength(pattern, FormationTable.formationType(formation),
+                FormationTable.sum(formation));
+    }
+
+    private static long randomCards(long excluded, int count, Random random) {
+        long cards = CardSet.EMPTY;
+        while (count > 0) {
+            long card = 1L << random.nextInt(CardSet.NUM_SUITED);
+            if (((cards | excluded) & card) == 0) {
+                cards |= card;
+                count--;
+            }
+        }
+        return cards;
+    }
+
+    private static String describe(WallPattern pattern, int length, long formation, long remaining) {
+        return pattern + " length=" + length + " formation=" + Long.toHexString(formation)
+                + " remaining=" + Long.toHexString(remaining);
+    }
+}
@@ -0,0 +1,161 @@
+package com.st.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import com.st.common.CardSet;
+import com.st.common.Constants;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link DeterminisationSampler} only redeals what the observer cannot see,
+ * and that each hidden card reaches the opponent's hand as often as it should: equally
+ * without a belief, in proportion to its weight with one.
+ */
+class DeterminisationSamplerTest {
+    private static final int SAMPLES = 20_000;
+
+    @Test
+    void redealsOnlyHiddenCards() {
+        Random random = new Random(1);
+        DeterminisationSampler sampler = new DeterminisationSampler();
+        SearchState sample = new SearchState();
+        for (int game = 0; game < 200; game++) {
+            SearchState state = midGame(random);
+            boolean observerIsAttacker = random.nextBoolean();
+            sampler.setBelief(game % 2 == 0 ? null : card -> card % 3);
+            sample.copyFrom(state);
+            sampler.sample(sample, observerIsAttacker, new SplittableRandom(game));
+
+            String position = "game " + game + ":\n" + state;
+            assertEquals(state.getHand(observerIsAttacker), sample.getHand(observerIsAttacker),
+                    position);
+            assertEquals(CardSet.size(state.getHand(!observerIsAttacker)),
+                    CardSet.size(sample.getHand(!observerIsAttacker)), position);
+            assertEquals(state.getHand(!observerIsAttacker) | state.getDeckSet(),
+                    sample.getHand(!observerIsAttacker) | sample.getDeckSet(), position);
+            assertEquals(CardSet.EMPTY, sample.getHand(!observerIsAttacker) & sample.getDeckSet(),
+                    position);
+            assertEquals(state.getDeckSize(), sample.getDeckSize(), position);
+            assertEquals(state.getDiscard(), sample.getDiscard(), position);
+            assertEquals(state.isAttackerToMove(), sample.isAttackerToMove(), position);
+            for (int w = 0; w < Constants.NUM_WALLS; w++) {
+                assertEquals(state.getAttackerCards(w), sample.getAttackerCards(w), position);
+                assertEquals(state.getDefenderCards(w), sample.getDefenderCards(w), position);
+            }
+        }
+    }
+
+    @Test
+    void dealsUniformlyWithoutBelief() {
+        SearchState state = midGame(new Random(2));
+        long hidden = state.getDefenderHand() | state.getDeckSet();
+        double expected = CardSet.size(state.getDefenderHand()) / (double) CardSet.size(hidden);
+        int[] dealt = deal(new DeterminisationSampler(), state);
+        for (long s = hidden; s != 0; s &= s - 1) {
+            int card = Long.numberOfTrailingZeros(s);
+            assertFrequency(expected, dealt[card], "card " + card);
+        }
+    }
+
+    /** With one card to deal, a weighted sample picks each card in proportion to its weight. */
+    @Test
+    void dealsSingleCardInProportionToWeight() {
+        long attackerHand = (1L << Constants.HAND_SIZE) - 1;
+        long defenderHand = 1L << Constants.HAND_SIZE;
+        SearchState state = new SearchState();
+        state.setHands(attackerHand, defenderHand);
+        state.setDeck(CardSet.ALL_SUITED & ~attackerHand & ~defenderHand);
+        HandBelief belief = card -> card % 4;
+        DeterminisationSampler sampler = new DeterminisationSampler();
+        sampler.setBelief(belief);
+
+        long hidden = defenderHand | state.getDeckSet();
+        double total = 0;
+        for (long s = hidden; s != 0; s &= s - 1) {
+            total += belief.weight(Long.numberOfTrailingZeros(s));
+        }
+        int[] dealt = deal(sampler, state);
+        for (long s = hidden; s != 0; s &= s - 1) {
+            int card = Long.numberOfTrailingZeros(s);
+            double expected = belief.weight(card) / total;
+            if (expected == 0) {
+                assertEquals(0, dealt[card], "card " + card);
+            } else {
+                assertFrequency(expected, dealt[card], "card " + card);
+            }
+        }
+    }
+
+    @Test
+    void dealsZeroWeightCardsOnlyToFillTheHand() {
+        long attackerHand = (1L << Constants.HAND_SIZE) - 1;
+        long defenderHand = (1L << 2 * Constants.HAND_SIZE) - 1 & ~attackerHand;
+        SearchState state = new SearchState();
+        state.setHands(attackerHand, defenderHand);
+        state.setDeck(CardSet.ALL_SUITED & ~attackerHand & ~defenderHand);
+
+        // Only two hidden cards have any weight, so they are always dealt.
+        long favoured = Long.lowestOneBit(state.getDeckSet())
+                | Long.highestOneBit(state.getDeckSet());
+        DeterminisationSampler sampler = new DeterminisationSampler();
+        sampler.setBelief(card -> CardSet.containsIndex(favoured, card) ? 1 : 0);
+        SplittableRandom random = new SplittableRandom(4);
+        SearchState sample = new SearchState();
+        for (int i = 0; i < 1_000; i++) {
+            sample.copyFrom(state);
+            sampler.sample(sample, true, random);
+            assertEquals(favoured, sample.getDefenderHand() & favoured);
+            assertEquals(Constants.HAND_SIZE, CardSet.size(sample.getDefenderHand()));
+        }
+    }
+
+    // How often each card was dealt to the defender, seen by the attacker.
+    private static int[] deal(DeterminisationSampler sampler, SearchState state) {
+        int[] dealt = new int[CardSet.NUM_SUITED];
+        SplittableRandom random = new SplittableRandom(5);
+        SearchState sample = new SearchState();
+        for (int i = 0; i < SAMPLES; i++) {
+            sample.copyFrom(state);
+            sampler.sample(sample, true, random);
+            for (long s = sample.getDefenderHand(); s != 0; s &= s - 1) {
+                dealt[Long.numberOfTrailingZeros(s)]++;
+            }
+        }
+        return dealt;
+    }
+
+    // Within five standard deviations of a binomial with SAMPLES trials.
+    private static void assertFrequency(double expected, int count, String message) {
+        double sigma = Math.sqrt(expected * (1 - expected) / SAMPLES);
+        double actual = count / (double) SAMPLES;
+        assertTrue(Math.abs(actual - expected) <= 5 * sigma,
+                message + ": expected " + expected + ", got " + actual);
+    }
+
+    // A seeded deal played forward a few random moves, with cards on the walls.
+    private static SearchState midGame(Random random) {
+        long attackerHand = CardSet.EMPTY;
+        while (CardSet.size(attackerHand) < Constants.HAND_SIZE) {
+            attackerHand |= 1L << random.nextInt(CardSet.NUM_SUITED);
+        }
+        long defenderHand = CardSet.EMPTY;
+        while (CardSet.size(defenderHand) < Constants.HAND_SIZE) {
+            defenderHand |= 1L << random.nextInt(CardSet.NUM_SUITED) & ~attackerHand;
+        }
+        SearchState state = new SearchState();
+        state.setHands(attackerHand, defenderHand);
+        state.setDeck(CardSet.ALL_SUITED & ~attackerHand & ~defenderHand);
+        state.shuffleDeck(random);
+        int[] moves = new int[Move.MAX_MOVES];
+        int plies = 4 + random.nextInt(12);
+        for (int ply = 0; ply < plies && !state.isGameOver(); ply++) {
+            state.apply(moves[random.nextInt(state.generateMoves(moves))]);
+        }
+        return state;
+    }
+}
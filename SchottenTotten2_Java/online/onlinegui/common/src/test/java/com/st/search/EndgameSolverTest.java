@@ -0,0 +1,114 @@
+package com.st.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import com.st.common.CardSet;
+import com.st.common.Constants;
+import com.st.common.Winner;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link EndgameSolver} against a plain minimax on positions with one card or
+ * none left in the deck, reached by random play from seeded deals. One solver is
+ * shared by every position, so entries the table keeps from earlier positions are
+ * exercised too.
+ */
+class EndgameSolverTest {
+    private static final int GAMES = 300;
+
+    @Test
+    void matchesMinimaxOnEmptyDeck() {
+        assertMatchesMinimax(0, 1);
+    }
+
+    @Test
+    void matchesMinimaxWithOneCardLeft() {
+        assertMatchesMinimax(1, 2);
+    }
+
+    private static void assertMatchesMinimax(int deckSize, long seed) {
+        EndgameSolver solver = new EndgameSolver(16);
+        Random random = new Random(seed);
+        int[] moves = new int[Move.MAX_MOVES];
+        int positions = 0;
+        for (int game = 0; game < GAMES; game++) {
+            SearchState state = deal(random);
+            while (!state.isGameOver() && state.getDeckSize() > deckSize) {
+                state.apply(moves[random.nextInt(state.generateMoves(moves))]);
+            }
+            // Check every position of the rest of the game that still has this deck size.
+            while (!state.isGameOver() && state.getDeckSize() == deckSize) {
+                String position = "deal " + game + ":\n" + state;
+                long key = state.positionKey();
+                boolean attackerWins = minimax(state);
+                EndgameSolver.Solution solution = solver.solve(state, SearchBudget.unlimited());
+                assertEquals(key, state.positionKey(), position);
+
+                boolean moverWins = attackerWins == state.isAttackerToMove();
+                assertEquals(moverWins ? EndgameSolver.Outcome.WIN : EndgameSolver.Outcome.LOSS,
+                        solution.outcome(), position);
+                int count = state.generateMoves(moves);
+                assertTrue(MoveGenerator.contains(moves, count, solution.bestMove()), position);
+                if (moverWins) {
+                    boolean attacker = state.isAttackerToMove();
+                    state.apply(solution.bestMove());
+                    assertEquals(attackerWins, minimax(state),
+                            position + "\nbest move " + Move.toString(solution.bestMove()));
+                    state.undo(solution.bestMove());
+                    assertEquals(attacker, state.isAttackerToMove(), position);
+                }
+                positions++;
+                state.apply(moves[random.nextInt(count)]);
+            }
+        }
+        assertNotEquals(0, positions);
+    }
+
+    private static SearchState deal(Random random) {
+        long attackerHand = randomCards(CardSet.EMPTY, random);
+        long defenderHand = randomCards(attackerHand, random);
+        SearchState state = new SearchState();
+        state.setHands(attackerHand, defenderHand);
+        state.setDeck(CardSet.ALL_SUITED & ~attackerHand & ~defenderHand);
+        state.shuffleDeck(random);
+        return state;
+    }
+
+    private static long randomCards(long excluded, Random random) {
+        long cards = CardSet.EMPTY;
+        for (int count = 0; count < Constants.HAND_SIZE; ) {
+            long card = 1L << random.nextInt(CardSet.NUM_SUITED);
+            if (((cards | excluded) & card) == 0) {
+                cards |= card;
+                count++;
+            }
+        }
+        return cards;
+    }
+
+    // Whether the attacker wins with best play: every move is tried, and the side to
+    // move stops at its first winning move.
+    private static boolean minimax(SearchState state) {
+        Winner winner = state.getWinner();
+        if (winner != Winner.NONE) {
+            return winner == Winner.ATTACKER;
+        }
+        boolean attacker = state.isAttackerToMove();
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = state.generateMoves(moves);
+        for (int i = 0; i < count; i++) {
+            state.apply(moves[i]);
+            boolean attackerWins = minimax(state);
+            state.undo(moves[i]);
+            if (attackerWins == attacker) {
+                return attacker;
+            }
+        }
+        return !attacker;
+    }
+}
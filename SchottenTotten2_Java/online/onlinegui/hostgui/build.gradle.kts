@@ -12,9 +12,11 @@ repositories {
 
 dependencies {
     implementation(project(":common"))
+    implementation(project(":ui"))
     implementation("com.google.protobuf:protobuf-java:4.32.0")
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
     protobuf(files("../../../../SchottenTotten2_proto/protos/"))
 }
@@ -33,4 +35,28 @@ tasks.jar {
         configurations.runtimeClasspath.get().map { if (it.isDirectory) it else zipTree(it) }
     })
     duplicatesStrategy = DuplicatesStrategy.EXCLUDE
-}
\ No newline at end of file
+}
+// Run with: gradle :hostgui:simulate --args="--games 100000 --attacker heuristic --defender random"
+tasks.register<JavaExec>("simulate") {
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("com.st.selfplay.Simulator")
+    jvmArgs("-Djava.awt.headless=true")
+}
+// Run with: gradle :hostgui:tournament --args="--entrant heuristic --entrant ismcts:200 --entrant ismcts-tree:200"
+tasks.register<JavaExec>("tournament") {
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("com.st.tournament.Tournament")
+    jvmArgs("-Djava.awt.headless=true")
+}
+// Run with: gradle :hostgui:export --args="--out dataset --games 100000 --attacker ismcts:200 --defender ismcts:200"
+tasks.register<JavaExec>("export") {
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("com.st.dataset.DatasetExport")
+    jvmArgs("-Djava.awt.headless=true")
+}
+// Run with: gradle :hostgui:analyse --args="dataset"
+tasks.register<JavaExec>("analyse") {
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("com.st.dataset.DatasetAnalysis")
+    jvmArgs("-Djava.awt.headless=true")
+}
@@ -0,0 +1,208 @@
+package com.st.dataset;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import com.st.common.Constants;
+import com.st.common.WallPattern;
+import com.st.proto.GameState.WinnerProto;
+import com.st.proto.Position.PositionProto;
+import com.st.proto.Wall.StatusProto;
+import com.st.proto.Wall.WallProto;
+import com.st.search.Move;
+
+/**
+ * Questions about a dataset that come up again and again, answered in parallel over a
+ * {@link ShardReader}.
+ * <p>
+ * Only the damage rates parse game states, and only the final state of each game; the
+ * other answers come straight from the reader's index of moves and winners.
+ * <p>
+ * Usage: {@code DatasetAnalysis DIR}.
+ */
+public final class DatasetAnalysis {
+    private DatasetAnalysis() {
+    }
+
+    /** {@code count} out of {@code total}. */
+    public record Rate(long count, long total) {
+        public double rate() {
+            return total == 0 ? Double.NaN : count / (double) total;
+        }
+    }
+
+    /**
+     * How often an action was used, by the side that can use it: in how many of the games
+     * it was used at least once, how many times in all, and how many of the games it was
+     * used in that side went on to win.
+     */
+    public record Usage(long games, long gamesUsed, long uses, long winsWhenUsed) {
+        public double perGame() {
+            return games == 0 ? Double.NaN : uses / (double) games;
+        }
+    }
+
+    /**
+     * How often wall {@code wallIndex} ended a game damaged or broken, out of the games
+     * it started with {@code pattern}.
+     */
+    public record WallDamage(int wallIndex, WallPattern pattern, Rate damaged) {
+    }
+
+    /**
+     * For every wall and every pattern it started a game with, how often the wall ended
+     * the game damaged or broken, in order of wall.
+     */
+    public static List<WallDamage> damageByWall(ShardReader reader) {
+        int patterns = WallPattern.values().length;
+        // Per wall and pattern: walls, then damaged walls.
+        long[] counts = IntStream.range(0, reader.gameCount()).parallel().collect(
+                () -> new long[2 * Constants.NUM_WALLS * patterns],
+                (totals, game) -> {
+                    long last = reader.gameStart(game) + reader.gameLength(game) - 1;
+                    PositionProto end = reader.position(last);
+                    for (WallProto wall : end.getState().getWallsList()) {
+                        int pattern = WallPattern.fromProto(wall.getIntactPattern()).ordinal();
+                        int i = 2 * (wall.getWallIndex() * patterns + pattern);
+                        totals[i]++;
+                        if (wall.getStatus() != StatusProto.INTACT) {
+                            totals[i + 1]++;
+                        }
+                    }
+                },
+                DatasetAnalysis::add);
+        List<WallDamage> damage = new ArrayList<>();
+        for (int w = 0; w < Constants.NUM_WALLS; w++) {
+            for (WallPattern pattern : WallPattern.values()) {
+                int i = 2 * (w * patterns + pattern.ordinal());
+                if (counts[i] > 0) {
+                    damage.add(new WallDamage(w, pattern, new Rate(counts[i + 1], counts[i])));
+                }
+            }
+        }
+        return damage;
+    }
+
+    /** The damage rates of {@link #damageByWall}, summed over the walls of each pattern. */
+    public static Map<WallPattern, Rate> damageByPattern(List<WallDamage> damage) {
+        Map<WallPattern, Rate> rates = new EnumMap<>(WallPattern.class);
+        for (WallDamage wall : damage) {
+            rates.merge(wall.pattern(), wall.damaged(),
+                    (a, b) -> new Rate(a.count() + b.count(), a.total() + b.total()));
+        }
+        return rates;
+    }
+
+    /** For every opening move, the games that opened with it and how many the attacker won. */
+    public static Map<Integer, Rate> attackerWinRateByFirstMove(ShardReader reader) {
+        // Per move code: games, then attacker wins.
+        long[] counts = IntStream.range(0, reader.gameCount()).parallel().collect(
+                () -> new long[2 * Move.NUM_CODES],
+                (totals, game) -> {
+                    int move = reader.move(reader.gameStart(game));
+                    if (move != Move.NONE) {
+                        totals[2 * move]++;
+                        if (reader.winner(game) == WinnerProto.ATTACKER) {
+                            totals[2 * move + 1]++;
+                        }
+                    }
+                },
+                DatasetAnalysis::add);
+        Map<Integer, Rate> rates = new TreeMap<>();
+        for (int move = 0; move < Move.NUM_CODES; move++) {
+            if (counts[2 * move] > 0) {
+                rates.put(move, new Rate(counts[2 * move + 1], counts[2 * move]));
+            }
+        }
+        return rates;
+    }
+
+    /** The attacker's retreats. */
+    public static Usage retreatUsage(ShardReader reader) {
+        return usage(reader, true);
+    }
+
+    /** The defender's oil cauldrons. */
+    public static Usage cauldronUsage(ShardReader reader) {
+        return usage(reader, false);
+    }
+
+    private static Usage usage(ShardReader reader, boolean retreat) {
+        WinnerProto user = retreat ? WinnerProto.ATTACKER : WinnerProto.DEFENDER;
+        // Games, games used in, uses, wins when used.
+        long[] counts = IntStream.range(0, reader.gameCount()).parallel().collect(
+                () -> new long[4],
+                (totals, game) -> {
+                    long start = reader.gameStart(game);
+                    int uses = 0;
+                    for (int i = 0; i < reader.gameLength(game); i++) {
+                        int move = reader.move(start + i);
+                        if (move != Move.NONE && (retreat ? Move.isRetreat(move) : Move.isCauldron(move))) {
+                            uses++;
+                        }
+                    }
+                    totals[0]++;
+                    if (uses > 0) {
+                        totals[1]++;
+                        totals[2] += uses;
+                        if (reader.winner(game) == user) {
+                            totals[3]++;
+                        }
+                    }
+                },
+                DatasetAnalysis::add);
+        return new Usage(counts[0], counts[1], counts[2], counts[3]);
+    }
+
+    private static void add(long[] totals, long[] more) {
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] += more[i];
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: DatasetAnalysis DIR");
+        }
+        long start = System.nanoTime();
+        ShardReader reader = ShardReader.open(Path.of(args[0]));
+        System.out.printf("%d positions in %d games, indexed in %.2f s%n", reader.positionCount(),
+                reader.gameCount(), (System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        List<WallDamage> damage = damageByWall(reader);
+        System.out.printf("%nDamage rate by wall (%.2f s)%n", (System.nanoTime() - start) / 1e9);
+        for (WallDamage wall : damage) {
+            System.out.printf("wall %d %-8s %6.2f%% of %d games%n", wall.wallIndex(), wall.pattern(),
+                    100 * wall.damaged().rate(), wall.damaged().total());
+        }
+        System.out.printf("%nDamage rate by wall pattern%n");
+        damageByPattern(damage).forEach((pattern, rate) -> System.out.printf("%-8s %6.2f%% of %d walls%n",
+                pattern, 100 * rate.rate(), rate.total()));
+
+        start = System.nanoTime();
+        Map<Integer, Rate> openings = attackerWinRateByFirstMove(reader);
+        System.out.printf("%nAttacker win rate by first move (%.2f s)%n", (System.nanoTime() - start) / 1e9);
+        openings.forEach((move, rate) -> System.out.printf("%-16s %6.2f%% of %d games%n",
+                Move.toString(move), 100 * rate.rate(), rate.total()));
+
+        start = System.nanoTime();
+        Usage retreats = retreatUsage(reader);
+        Usage cauldrons = cauldronUsage(reader);
+        System.out.printf("%nAction usage (%.2f s)%n", (System.nanoTime() - start) / 1e9);
+        printUsage("retreat", retreats);
+        printUsage("cauldron", cauldrons);
+    }
+
+    private static void printUsage(String action, Usage usage) {
+        System.out.printf("%-8s used in %.2f%% of %d games, %.3f per game, user won %.2f%% of those%n",
+                action, 100.0 * usage.gamesUsed() / usage.games(), usage.games(), usage.perGame(),
+                100.0 * usage.winsWhenUsed() / usage.gamesUsed());
+    }
+}
@@ -0,0 +1,114 @@
+package com.st.dataset;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.st.selfplay.GameRecord;
+import com.st.selfplay.Policies;
+import com.st.selfplay.SimulationStats;
+import com.st.selfplay.Simulator;
+
+/**
+ * Plays self-play games and streams every position to a sharded dataset, labelled with
+ * the move played, the search's visit counts and the winner.
+ * <p>
+ * The seed and the policies of a dataset are kept in {@code run.properties} in its
+ * directory. Running the export again on the same directory resumes it: the settings
+ * are read back, the games already on disk are skipped and the rest are played, so
+ * after a crash the dataset ends up as if the run had never stopped. A larger
+ * {@code --games} extends a finished dataset the same way.
+ * <p>
+ * Usage: {@code DatasetExport --out DIR [--games N] [--attacker POLICY]
+ * [--defender POLICY] [--seed S] [--threads T] [--shard-mb M]}, with policies named as
+ * {@link Policies#parse} takes them. Shards are capped below 2048 MB so that
+ * {@link ShardReader} can map each one whole.
+ */
+public final class DatasetExport {
+    private static final String SETTINGS = "run.properties";
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+
+    private DatasetExport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = null;
+        long games = 10_000;
+        Properties settings = new Properties();
+        settings.setProperty("attacker", "ismcts");
+        settings.setProperty("defender", "ismcts");
+        settings.setProperty("seed", Long.toString(System.nanoTime()));
+        int threads = Runtime.getRuntime().availableProcessors();
+        long shardMegabytes = ShardWriter.DEFAULT_SHARD_BYTES >> 20;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--out" -> out = Path.of(args[i + 1]);
+                case "--games" -> games = Long.parseLong(args[i + 1]);
+                case "--attacker" -> settings.setProperty("attacker", args[i + 1]);
+                case "--defender" -> settings.setProperty("defender", args[i + 1]);
+                case "--seed" -> settings.setProperty("seed", args[i + 1]);
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--shard-mb" -> shardMegabytes = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("Missing option: --out");
+        }
+        if (games > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many games: " + games);
+        }
+        if (shardMegabytes < 1 || shardMegabytes > Shards.MAX_SHARD_BYTES >> 20) {
+            throw new IllegalArgumentException("Shard size must be 1 to "
+                    + (Shards.MAX_SHARD_BYTES >> 20) + " MB: " + shardMegabytes);
+        }
+
+        Files.createDirectories(out);
+        Path settingsFile = out.resolve(SETTINGS);
+        if (Files.exists(settingsFile)) {
+            settings.clear();
+            try (Reader reader = Files.newBufferedReader(settingsFile)) {
+                settings.load(reader);
+            }
+        } else {
+            try (Writer writer = Files.newBufferedWriter(settingsFile)) {
+                settings.store(writer, "Self-play dataset");
+            }
+        }
+        String attacker = settings.getProperty("attacker");
+        String defender = settings.getProperty("defender");
+        long seed = Long.parseLong(settings.getProperty("seed"));
+
+        Simulator simulator = new Simulator(Policies.parse(attacker), Policies.parse(defender), seed,
+                new ForkJoinPool(threads));
+        SimulationStats stats = new SimulationStats();
+        long shardBytes = shardMegabytes << 20;
+        try (ShardWriter writer = new ShardWriter(out, shardBytes, ShardWriter.DEFAULT_CAPACITY)) {
+            System.out.printf("%s vs %s to %s, %d games (%d on disk) on %d threads, seed %d%n",
+                    attacker, defender, out, games, writer.writtenGames(), threads, seed);
+            long start = System.nanoTime();
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "report");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(() -> System.out.println(stats.report(System.nanoTime() - start)),
+                    REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            simulator.forEach(0, games, index -> {
+                if (!writer.isWritten(index)) {
+                    GameRecord game = simulator.play(index, new PositionRecorder(index, writer::write));
+                    stats.accept(game);
+                }
+            });
+            reporter.shutdownNow();
+            System.out.println(stats.report(System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.st.dataset;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.st.common.GameState;
+import com.st.proto.Position.PositionProto;
+import com.st.search.Move;
+import com.st.search.SearchResult;
+import com.st.selfplay.GameRecord;
+import com.st.selfplay.PositionListener;
+
+/**
+ * Turns the positions of one self-play game into length-delimited
+ * {@link PositionProto} records, labelled with the winner once the game is over.
+ * <p>
+ * The records of the game are serialised together on the thread that played it and
+ * handed to {@link #onGame} as one block, so a shard never holds part of a game
+ * unless the writer was cut off in the middle of one.
+ */
+public final class PositionRecorder implements PositionListener {
+    private final long gameIndex;
+    private final Consumer<byte[]> onGame;
+    private final List<PositionProto.Builder> positions = new ArrayList<>();
+
+    public PositionRecorder(long gameIndex, Consumer<byte[]> onGame) {
+        this.gameIndex = gameIndex;
+        this.onGame = onGame;
+    }
+
+    @Override
+    public void onMove(GameState state, int move, SearchResult result) {
+        PositionProto.Builder position = PositionProto.newBuilder()
+                .setState(state.toProto())
+                .setMove(move);
+        if (result != null) {
+            for (int i = 0; i < result.moves().length; i++) {
+                position.addSearchedMoves(result.moves()[i]).addVisits(result.visits()[i]);
+            }
+        }
+        positions.add(position);
+    }
+
+    @Override
+    public void onEnd(GameState state, GameRecord game) {
+        positions.add(PositionProto.newBuilder().setState(state.toProto()).setMove(Move.NONE));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(positions.size() * 256);
+        try {
+            for (int ply = 0; ply < positions.size(); ply++) {
+                positions.get(ply)
+                        .setWinner(game.winner().toProto())
+                        .setGameIndex(gameIndex)
+                        .setGameSeed(game.seed())
+                        .setPly(ply)
+                        .build()
+                        .writeDelimitedTo(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        positions.clear();
+        onGame.accept(out.toByteArray());
+    }
+}
@@ -0,0 +1,359 @@
+package com.st.dataset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.st.proto.GameState.WinnerProto;
+import com.st.proto.Position.PositionProto;
+import com.st.search.Move;
+
+/**
+ * Reads the shards of a dataset directory through memory maps, with an index of every
+ * record so that positions and games can be parsed in any order and from any thread.
+ * <p>
+ * Opening a dataset maps every shard and walks its length prefixes, one shard per task
+ * of the common fork/join pool. The walk decodes the few scalar fields of each record
+ * and skips the game state, so the index also holds every move and the winner of every
+ * game, and questions about moves are answered without parsing a single state. A shard
+ * ends at its last complete game; anything after it, left by a crash, is ignored.
+ * <p>
+ * {@link #positions()} and {@link #games()} are parallel streams over spliterators
+ * that split their index ranges in half, and each record is parsed straight from the
+ * mapped file. A reader is immutable once open, and shards must not be written to
+ * while it is in use.
+ */
+public final class ShardReader {
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+    private static final int WIRE_FIXED32 = 5;
+    private static final int MOVE_FIELD = 2;
+    private static final int WINNER_FIELD = 5;
+
+    private final Shard[] shards;
+    // The global index of the first position and the first game of every shard, and the totals.
+    private final long[] firstPosition;
+    private final int[] firstGame;
+
+    private ShardReader(Shard[] shards) {
+        this.shards = shards;
+        this.firstPosition = new long[shards.length + 1];
+        this.firstGame = new int[shards.length + 1];
+        for (int s = 0; s < shards.length; s++) {
+            firstPosition[s + 1] = firstPosition[s] + shards[s].positions();
+            firstGame[s + 1] = Math.addExact(firstGame[s], shards[s].games());
+        }
+    }
+
+    /** Maps and indexes every shard in {@code directory}. */
+    public static ShardReader open(Path directory) throws IOException {
+        List<Path> paths = Shards.list(directory);
+        List<MappedByteBuffer> buffers = new ArrayList<>();
+        for (Path path : paths) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() > Shards.MAX_SHARD_BYTES) {
+                    throw new IOException("Shard larger than 2 GB: " + path);
+                }
+                buffers.add(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+        return new ShardReader(buffers.parallelStream().map(Shard::index).toArray(Shard[]::new));
+    }
+
+    public long positionCount() {
+        return firstPosition[shards.length];
+    }
+
+    public int gameCount() {
+        return firstGame[shards.length];
+    }
+
+    /** Parses position {@code index}, counting across all shards in order. */
+    public PositionProto position(long index) {
+        int s = shardOfPosition(index);
+        return shards[s].parse((int) (index - firstPosition[s]));
+    }
+
+    /** The move of position {@code index}, from the index: {@link Move#NONE} ends a game. */
+    public int move(long index) {
+        int s = shardOfPosition(index);
+        return shards[s].moves[(int) (index - firstPosition[s])];
+    }
+
+    /** The global index of the first position of game {@code game}. */
+    public long gameStart(int game) {
+        int s = shardOfGame(game);
+        return firstPosition[s] + shards[s].gameStarts[game - firstGame[s]];
+    }
+
+    /** How many positions game {@code game} has, its final position included. */
+    public int gameLength(int game) {
+        int s = shardOfGame(game);
+        int g = game - firstGame[s];
+        return shards[s].gameStarts[g + 1] - shards[s].gameStarts[g];
+    }
+
+    /** The winner of game {@code game}, from the index. */
+    public WinnerProto winner(int game) {
+        int s = shardOfGame(game);
+        return WinnerProto.forNumber(shards[s].winners[game - firstGame[s]]);
+    }
+
+    /** Parses every position of game {@code game}, in order. */
+    public List<PositionProto> game(int game) {
+        long start = gameStart(game);
+        int length = gameLength(game);
+        List<PositionProto> positions = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            positions.add(position(start + i));
+        }
+        return positions;
+    }
+
+    /** Every position of every game, parsed on demand. */
+    public Spliterator<PositionProto> positionSpliterator() {
+        return new RangeSpliterator<>(0, positionCount(), this::position);
+    }
+
+    /** Every game, as its positions in order. */
+    public Spliterator<List<PositionProto>> gameSpliterator() {
+        return new RangeSpliterator<>(0, gameCount(), index -> game((int) index));
+    }
+
+    /** A parallel stream of every position. */
+    public Stream<PositionProto> positions() {
+        return StreamSupport.stream(positionSpliterator(), true);
+    }
+
+    /** A parallel stream of every game. */
+    public Stream<List<PositionProto>> games() {
+        return StreamSupport.stream(gameSpliterator(), true);
+    }
+
+    private int shardOfPosition(long index) {
+        if (index < 0 || index >= positionCount()) {
+            throw new IndexOutOfBoundsException("Position " + index + " of " + positionCount());
+        }
+        int s = Arrays.binarySearch(firstPosition, index);
+        // Empty shards share their first index with the next one; take the last of them.
+        if (s >= 0) {
+            while (s < shards.length - 1 && firstPosition[s + 1] == index) {
+                s++;
+            }
+            return s;
+        }
+        return -s - 2;
+    }
+
+    private int shardOfGame(int game) {
+        if (game < 0 || game >= gameCount()) {
+            throw new IndexOutOfBoundsException("Game " + game + " of " + gameCount());
+        }
+        int s = Arrays.binarySearch(firstGame, game);
+        if (s >= 0) {
+            while (s < shards.length - 1 && firstGame[s + 1] == game) {
+                s++;
+            }
+            return s;
+        }
+        return -s - 2;
+    }
+
+    // One mapped shard and its index: where each record starts, the move of each record,
+    // and each game's first record, with one more entry for the end of the last, and winner.
+    private record Shard(ByteBuffer buffer, int[] starts, int[] moves, int[] gameStarts,
+            byte[] winners) {
+        int positions() {
+            return moves.length;
+        }
+
+        int games() {
+            return winners.length;
+        }
+
+        PositionProto parse(int record) {
+            Cursor cursor = new Cursor(buffer, starts[record]);
+            int length = (int) cursor.varint();
+            try {
+                return PositionProto.parseFrom(buffer.slice(cursor.position, length));
+            } catch (InvalidProtocolBufferException e) {
+                throw new IllegalStateException("Damaged record " + record, e);
+            }
+        }
+
+        static Shard index(MappedByteBuffer buffer) {
+            IntList starts = new IntList();
+            IntList moves = new IntList();
+            IntList gameStarts = new IntList();
+            IntList winners = new IntList();
+            Cursor cursor = new Cursor(buffer, 0);
+            int gameStart = 0;
+            // Records are taken up to the end of the last complete game.
+            while (cursor.position < buffer.limit()) {
+                int start = cursor.position;
+                long length = cursor.varint();
+                if (length < 0 || length > buffer.limit() - cursor.position) {
+                    break;
+                }
+                int end = cursor.position + (int) length;
+                int move = 0;
+                int winner = 0;
+                while (cursor.position < end) {
+                    long tag = cursor.varint();
+                    int field = (int) (tag >>> 3);
+                    int wireType = (int) (tag & 7);
+                    if (field == MOVE_FIELD && wireType == WIRE_VARINT) {
+                        move = (int) cursor.varint();
+                    } else if (field == WINNER_FIELD && wireType == WIRE_VARINT) {
+                        winner = (int) cursor.varint();
+                    } else {
+                        cursor.skip(wireType);
+                    }
+                }
+                cursor.position = end;
+                starts.add(start);
+                moves.add(move);
+                if (move == Move.NONE) {
+                    gameStarts.add(gameStart);
+                    winners.add(winner);
+                    gameStart = moves.size();
+                }
+            }
+            gameStarts.add(gameStart);
+            int records = gameStart;
+            byte[] winnerBytes = new byte[winners.size()];
+            for (int i = 0; i < winnerBytes.length; i++) {
+                winnerBytes[i] = (byte) winners.get(i);
+            }
+            return new Shard(buffer, Arrays.copyOf(starts.toArray(), records),
+                    Arrays.copyOf(moves.toArray(), records), gameStarts.toArray(), winnerBytes);
+        }
+    }
+
+    // Reads protobuf varints and skips fields at absolute positions, so a shared
+    // buffer is never moved.
+    private static final class Cursor {
+        private final ByteBuffer buffer;
+        private int position;
+
+        Cursor(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64 && position < buffer.limit(); shift += 7) {
+                byte b = buffer.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            // Runs off the end of the shard: the caller's bounds checks stop there.
+            position = buffer.limit() + 1;
+            return -1;
+        }
+
+        void skip(int wireType) {
+            switch (wireType) {
+                case WIRE_VARINT -> varint();
+                case WIRE_FIXED64 -> position += 8;
+                case WIRE_LENGTH_DELIMITED -> {
+                    int length = (int) varint();
+                    position += length;
+                }
+                case WIRE_FIXED32 -> position += 4;
+                default -> throw new IllegalStateException("Unknown wire type " + wireType);
+            }
+        }
+    }
+
+    // A growable int array, for the index.
+    private static final class IntList {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    // Indices from {@code from} to {@code to - 1}, each turned into an element on demand.
+    private static final class RangeSpliterator<T> implements Spliterator<T> {
+        private long from;
+        private final long to;
+        private final LongFunction<T> element;
+
+        RangeSpliterator(long from, long to, LongFunction<T> element) {
+            this.from = from;
+            this.to = to;
+            this.element = element;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(element.apply(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; from < to; from++) {
+                action.accept(element.apply(from));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
+            }
+            Spliterator<T> prefix = new RangeSpliterator<>(from, middle, element);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.st.dataset;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Appends games to the shards of a dataset directory from a thread of its own, so the
+ * threads playing the games never touch the disk.
+ * <p>
+ * Games are queued as blocks of serialised records, as {@link PositionRecorder} makes
+ * them. The queue holds at most a fixed number of games, which bounds the memory a slow
+ * disk can take: a game thread only waits when the queue is full. The writer flushes
+ * whenever the queue runs dry, and moves on to a new shard before a game would take the
+ * current one past its size, syncing the full shard to disk first.
+ * <p>
+ * Opening a directory that already has shards resumes it. Every shard is scanned, a
+ * game cut off by a crash is truncated away, and the games that made it to disk are
+ * reported by {@link #isWritten}, so the caller can play only the rest.
+ */
+public final class ShardWriter implements AutoCloseable {
+    public static final long DEFAULT_SHARD_BYTES = 64L << 20;
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final byte[] END = new byte[0];
+
+    private final Path directory;
+    private final long maxShardBytes;
+    private final BlockingQueue<byte[]> queue;
+    private final BitSet written = new BitSet();
+    private final Thread thread;
+    private volatile IOException failure;
+    private int shardNumber;
+    private FileChannel channel;
+    private OutputStream out;
+    private long shardBytes;
+
+    public ShardWriter(Path directory) throws IOException {
+        this(directory, DEFAULT_SHARD_BYTES, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param maxShardBytes the size past which a shard is not extended, at most
+     *     {@link Shards#MAX_SHARD_BYTES}; a single game larger than this still gets a
+     *     shard of its own
+     * @param capacity how many games may wait for the disk
+     */
+    public ShardWriter(Path directory, long maxShardBytes, int capacity) throws IOException {
+        if (maxShardBytes < 1 || maxShardBytes > Shards.MAX_SHARD_BYTES || capacity < 1) {
+            throw new IllegalArgumentException("Invalid writer: " + maxShardBytes + ", " + capacity);
+        }
+        this.directory = directory;
+        this.maxShardBytes = maxShardBytes;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        Files.createDirectories(directory);
+        List<Path> shards = Shards.list(directory);
+        for (Path shard : shards) {
+            long valid = Shards.scan(shard, written);
+            if (valid < Files.size(shard)) {
+                try (FileChannel damaged = FileChannel.open(shard, StandardOpenOption.WRITE)) {
+                    damaged.truncate(valid);
+                }
+            }
+        }
+        shardNumber = Math.max(0, shards.size() - 1);
+        openShard();
+        thread = new Thread(this::drain, "shard-writer");
+        thread.start();
+    }
+
+    /** Whether game {@code index} was already on disk when the directory was opened. */
+    public boolean isWritten(long index) {
+        return index <= Integer.MAX_VALUE && written.get((int) index);
+    }
+
+    /** How many games were already on disk when the directory was opened. */
+    public int writtenGames() {
+        return written.cardinality();
+    }
+
+    /**
+     * Queues the records of one game, waiting only if the queue is full.
+     *
+     * @throws UncheckedIOException if an earlier write failed
+     */
+    public void write(byte[] game) {
+        IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException("Writing " + directory + " failed", e);
+        }
+        try {
+            queue.put(game);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a game", interrupted);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                byte[] game = queue.poll();
+                if (game == null) {
+                    out.flush();
+                    game = queue.take();
+                }
+                if (game == END) {
+                    break;
+                }
+                if (shardBytes > 0 && shardBytes + game.length > maxShardBytes) {
+                    closeShard();
+                    shardNumber++;
+                    openShard();
+                }
+                out.write(game);
+                shardBytes += game.length;
+            }
+            closeShard();
+        } catch (IOException e) {
+            failure = e;
+            discardRest();
+        } catch (InterruptedException e) {
+            failure = new IOException("Shard writer interrupted", e);
+            discardRest();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Keeps taking games after a failure, so no game thread waits on a full queue forever.
+    private void discardRest() {
+        try {
+            while (queue.take() != END) {
+                // Dropped; write() reports the failure to the game threads.
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void openShard() throws IOException {
+        channel = FileChannel.open(Shards.shard(directory, shardNumber), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        shardBytes = channel.size();
+        out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_BYTES);
+    }
+
+    private void closeShard() throws IOException {
+        out.flush();
+        channel.force(true);
+        out.close();
+    }
+
+    /**
+     * Writes every game queued so far, syncs the last shard and stops the writer.
+     *
+     * @throws IOException if any write failed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            queue.put(END);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing " + directory, e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
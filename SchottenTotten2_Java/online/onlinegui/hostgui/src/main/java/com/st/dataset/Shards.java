@@ -0,0 +1,74 @@
+package com.st.dataset;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.st.proto.Position.PositionProto;
+import com.st.search.Move;
+
+/**
+ * The layout of a dataset directory: shard files {@code shard-00000.pb},
+ * {@code shard-00001.pb} and so on, each a sequence of length-delimited
+ * {@link PositionProto} records, whole games at a time.
+ */
+public final class Shards {
+    /** The largest shard {@link ShardReader} can map, as a single buffer. */
+    public static final long MAX_SHARD_BYTES = Integer.MAX_VALUE;
+
+    private static final String PREFIX = "shard-";
+    private static final String SUFFIX = ".pb";
+
+    private Shards() {
+    }
+
+    /** The path of shard {@code number} in {@code directory}. */
+    public static Path shard(Path directory, int number) {
+        return directory.resolve(String.format("%s%05d%s", PREFIX, number, SUFFIX));
+    }
+
+    /** The shards in {@code directory}, in order. */
+    public static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    /**
+     * Reads {@code shard} up to its end or its first damaged record, marks the index of
+     * every game that ends in it in {@code completed}, and returns the length of the
+     * shard up to the end of its last complete game.
+     */
+    static long scan(Path shard, BitSet completed) throws IOException {
+        long offset = 0;
+        long valid = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(shard))) {
+            CodedInputStream coded = CodedInputStream.newInstance(in);
+            while (!coded.isAtEnd()) {
+                // The size limit counts from the last reset, so it applies per record.
+                coded.resetSizeCounter();
+                int length = coded.readRawVarint32();
+                PositionProto position = PositionProto.parseFrom(coded.readRawBytes(length));
+                offset += CodedOutputStream.computeUInt32SizeNoTag(length) + length;
+                if (position.getMove() == Move.NONE) {
+                    completed.set(Math.toIntExact(position.getGameIndex()));
+                    valid = offset;
+                }
+            }
+        } catch (InvalidProtocolBufferException e) {
+            // A record cut off by a crash ends the shard.
+        }
+        return valid;
+    }
+}
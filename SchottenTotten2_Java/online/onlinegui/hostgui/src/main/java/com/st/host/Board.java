@@ -5,17 +5,41 @@ import java.util.Set;
 import java.util.TreeSet;
 
 import com.st.common.Card;
+import com.st.common.CardLocations;
+import com.st.common.CardSet;
 import com.st.common.Constants;
 import com.st.common.PlayResult;
 import com.st.common.Wall;
+import com.st.common.WallListener;
+
+/**
+ * The seven walls, plus per-wall bitmasks that are kept up to date as walls change so
+ * that declaring control and checking for a winner only look at the walls that matter.
+ */
+public class Board implements WallListener {
+    private static final int ALL_WALLS = (1 << Constants.NUM_WALLS) - 1;
 
-public class Board {
     private final Wall[] walls;
+    // Walls whose attacker side is full; only these can be damaged.
+    private int attackerFullWalls;
+    private int defenderFullWalls;
+    // Walls with at least one attacker card.
+    private int occupiedWalls;
+    private int damagedWalls;
+    private int brokenWalls;
 
     public Board() {
         walls = new Wall[Constants.NUM_WALLS];
         for (int i = 0; i < Constants.NUM_WALLS; i++) {
             walls[i] = new Wall(i, Constants.WALL_LENGTHS[i], Constants.DAMAGED_WALL_LENGTHS[i], Constants.WALL_PATTERNS[i], Constants.DAMAGED_WALL_PATTERNS[i]);
+            walls[i].setListener(this);
+            wallChanged(walls[i]);
+        }
+    }
+
+    public void setLocations(CardLocations locations) {
+        for (Wall wall : walls) {
+            wall.setLocations(locations);
         }
     }
 
@@ -30,29 +54,64 @@ public class Board {
     }
 
     public boolean contains(Card card) {
+        return CardSet.contains(getCardSet(), card);
+    }
+
+    public long getCardSet() {
+        long cardSet = CardSet.EMPTY;
         for (Wall wall : walls) {
-            if (wall.contains(card)) {
-                return true;
-            }
+            cardSet |= wall.getCardSet();
         }
-        return false;
+        return cardSet;
     }
 
     public Set<Card> declareControl(List<Card> remainingCards) {
+        return declareControl(CardSet.of(remainingCards));
+    }
+
+    public Set<Card> declareControl(long remainingCards) {
         Set<Card> toDiscard = new TreeSet<>();
-        for (Wall wall : walls) {
-            toDiscard.addAll(wall.declareControl(remainingCards));
+        for (int dirty = attackerFullWalls; dirty != 0; dirty &= dirty - 1) {
+            toDiscard.addAll(walls[Integer.numberOfTrailingZeros(dirty)].declareControl(remainingCards));
         }
         return toDiscard;
     }
 
     public boolean defenderSideFull() {
-        for (Wall wall : walls) {
-            if (wall.getDefenderCards().size() < wall.getLength()) {
-                return false;
-            }
-        }
-        return true;
+        return defenderFullWalls == ALL_WALLS;
+    }
+
+    /** Walls with a free slot on the attacker's or the defender's side. */
+    public int getOpenWalls(boolean isAttacker) {
+        return ~(isAttacker ? attackerFullWalls : defenderFullWalls) & ALL_WALLS;
+    }
+
+    public int getOccupiedWalls() {
+        return occupiedWalls;
+    }
+
+    public int getDamagedCount() {
+        return Integer.bitCount(damagedWalls);
+    }
+
+    public int getBrokenCount() {
+        return Integer.bitCount(brokenWalls);
+    }
+
+    @Override
+    public void wallChanged(Wall wall) {
+        int bit = 1 << wall.getWallIndex();
+        attackerFullWalls = update(attackerFullWalls, bit,
+                wall.getAttackerCards().size() == wall.getLength());
+        defenderFullWalls = update(defenderFullWalls, bit,
+                wall.getDefenderCards().size() >= wall.getLength());
+        occupiedWalls = update(occupiedWalls, bit, !wall.getAttackerCards().isEmpty());
+        damagedWalls = update(damagedWalls, bit, wall.getStatus() == Wall.Status.DAMAGED);
+        brokenWalls = update(brokenWalls, bit, wall.getStatus() == Wall.Status.BROKEN);
+    }
+
+    private static int update(int walls, int bit, boolean set) {
+        return set ? walls | bit : walls & ~bit;
     }
 
     public PlayResult playCard(int wallIndex, Card card, boolean isAttacker) {
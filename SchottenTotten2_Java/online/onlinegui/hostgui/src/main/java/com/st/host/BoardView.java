@@ -3,20 +3,23 @@ package com.st.host;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
 import javax.swing.JPanel;
 
 import com.st.common.Card;
 import com.st.common.Constants;
 import com.st.common.Wall;
+import com.st.ui.Layout;
 
 public class BoardView extends JPanel {
-    public BoardView(Wall[] walls, Consumer<Wall> onWallClicked, boolean hostIsAttacker, Card lastPlayedCard) {
+    public BoardView(Wall[] walls, Consumer<Wall> onWallClicked, Predicate<Wall> isPlayable, ToDoubleFunction<Wall> winRate, boolean hostIsAttacker, Card lastPlayedCard) {
         int hgap = 15;
         setLayout(new FlowLayout(FlowLayout.CENTER, hgap, 0));
-        setMaximumSize(new Dimension(Constants.NUM_WALLS * Constants.WALL_WIDTH + (Constants.NUM_WALLS - 1) * hgap, Constants.WALL_OVERALL_HEIGHT));
+        setMaximumSize(new Dimension(Constants.NUM_WALLS * Layout.WALL_WIDTH + (Constants.NUM_WALLS - 1) * hgap, Layout.WALL_OVERALL_HEIGHT));
         for (Wall wall : walls) {
-            add(new WallView(wall, onWallClicked, hostIsAttacker, lastPlayedCard));
+            add(new WallView(wall, onWallClicked, isPlayable, winRate, hostIsAttacker, lastPlayedCard));
         }
     }
 }
\ No newline at end of file
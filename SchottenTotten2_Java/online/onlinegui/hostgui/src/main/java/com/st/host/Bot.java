@@ -0,0 +1,122 @@
+package com.st.host;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.st.common.GameState;
+import com.st.search.EndgameSolver;
+import com.st.search.HandBeliefTracker;
+import com.st.search.Ismcts;
+import com.st.search.Move;
+import com.st.search.ReusableSearchEngine;
+import com.st.search.SearchBudget;
+import com.st.search.SearchResult;
+import com.st.search.SearchService;
+import com.st.search.SearchState;
+import com.st.search.TreeParallelIsmcts;
+
+/**
+ * Plays one side with a {@link ReusableSearchEngine}, {@link Ismcts} unless told
+ * otherwise, keeping its search trees from move to move.
+ * <p>
+ * While the opponent thinks the bot ponders: it keeps adding iterations to the trees
+ * of the current position until the opponent moves. Every move played, by either side, is
+ * passed to {@link #advance}, which keeps the subtree below it, so the bot's next
+ * search starts from everything it learned about the position so far.
+ * <p>
+ * The bot also watches the opponent's plays with a {@link HandBeliefTracker}, and its
+ * searches deal the opponent's hand from what it has learned.
+ * <p>
+ * Once the deck is empty the bot first tries to solve the position with an
+ * {@link EndgameSolver}, and only falls back to the trees when that runs out of time.
+ * The solver gets at most half of {@link #THINK_TIME} and the trees whatever is left, so
+ * a move never takes longer than a search alone.
+ * <p>
+ * All searching happens on the thread of a {@link SearchService}, in the order the calls
+ * are made, so no call blocks its caller.
+ */
+public class Bot {
+    public static final SearchBudget THINK_TIME = SearchBudget.millis(800);
+
+    private final ReusableSearchEngine engine;
+    private final SearchService service;
+    private final EndgameSolver solver = new EndgameSolver();
+    private final HandBeliefTracker belief;
+    private final boolean isAttacker;
+    private CompletableFuture<SearchResult> pondering = CompletableFuture.completedFuture(null);
+    // The position last searched, which the next move is played from. Search thread only.
+    private SearchState lastRoot;
+
+    public Bot(boolean isAttacker) {
+        this(isAttacker, new Ismcts());
+    }
+
+    /** A bot that searches with {@code engine}, such as a shared-tree {@link TreeParallelIsmcts}. */
+    public Bot(boolean isAttacker, ReusableSearchEngine engine) {
+        this.engine = engine;
+        this.service = new SearchService(engine);
+        this.isAttacker = isAttacker;
+        this.belief = new HandBeliefTracker(isAttacker);
+        engine.setBelief(belief);
+    }
+
+    /**
+     * Searches {@code state}, where the bot is to move, for {@link #THINK_TIME}. The
+     * future completes with the chosen move on the search thread.
+     */
+    public CompletableFuture<Integer> think(GameState state) {
+        pondering.cancel(false);
+        SearchState root = SearchState.fromGameState(state);
+        long deadline = System.nanoTime() + THINK_TIME.nanos();
+        return service.submit(() -> {
+            lastRoot = root;
+            return solveEndgame(root, deadline - THINK_TIME.nanos() / 2);
+        }).thenCompose(move -> move != Move.NONE ? CompletableFuture.completedFuture(move)
+                : service.search(root, isAttacker, until(deadline))
+                        .thenApply(SearchResult::bestMove));
+    }
+
+    // The proven best move once the deck is empty, or NONE to leave it to the trees.
+    private int solveEndgame(SearchState root, long deadline) {
+        if (root.getDeckSize() == 0) {
+            EndgameSolver.Solution solution = solver.solve(root, until(deadline));
+            if (solution.outcome() != EndgameSolver.Outcome.UNKNOWN) {
+                return solution.bestMove();
+            }
+        }
+        return Move.NONE;
+    }
+
+    // The time left before {@code deadline}, a System.nanoTime() value.
+    private static SearchBudget until(long deadline) {
+        return new SearchBudget(Long.MAX_VALUE, Math.max(0, deadline - System.nanoTime()));
+    }
+
+    /** Keeps searching {@code state}, where the opponent is to move, until the next call. */
+    public void ponder(GameState state) {
+        pondering.cancel(false);
+        SearchState root = SearchState.fromGameState(state);
+        service.submit(() -> lastRoot = root);
+        pondering = service.search(root, isAttacker, SearchBudget.unlimited());
+    }
+
+    /**
+     * Learns from {@code move}, which was just played, and keeps the part of the trees
+     * below it.
+     */
+    public void advance(int move) {
+        pondering.cancel(false);
+        service.submit(() -> {
+            if (lastRoot != null) {
+                belief.observe(lastRoot, move);
+            }
+            return null;
+        });
+        service.advance(move);
+    }
+
+    /** Stops searching and frees the search thread. */
+    public void shutdown() {
+        pondering.cancel(false);
+        service.close();
+    }
+}
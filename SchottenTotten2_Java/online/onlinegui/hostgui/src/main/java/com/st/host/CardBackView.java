@@ -12,7 +12,8 @@ import javax.imageio.ImageIO;
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
 
-import com.st.common.Constants;
+import com.st.ui.Layout;
+
 
 public class CardBackView extends JPanel {
     private static BufferedImage cardBackImage;
@@ -27,8 +28,8 @@ public class CardBackView extends JPanel {
     }
 
     public CardBackView() {
-        setPreferredSize(new Dimension(Constants.CARD_WIDTH, Constants.CARD_HEIGHT));
-        setMaximumSize(new Dimension(Constants.CARD_WIDTH, Constants.CARD_HEIGHT));
+        setPreferredSize(new Dimension(Layout.CARD_WIDTH, Layout.CARD_HEIGHT));
+        setMaximumSize(new Dimension(Layout.CARD_WIDTH, Layout.CARD_HEIGHT));
         setBorder(BorderFactory.createLineBorder(Color.BLACK));
     }
 
@@ -36,12 +37,12 @@ public class CardBackView extends JPanel {
         super.paintComponent(g);
         Graphics2D g2 = (Graphics2D) g.create();
         if (cardBackImage != null) {
-            g2.drawImage(cardBackImage, 0, 0, Constants.CARD_WIDTH, Constants.CARD_HEIGHT, this);
+            g2.drawImage(cardBackImage, 0, 0, Layout.CARD_WIDTH, Layout.CARD_HEIGHT, this);
             g2.setColor(Color.BLACK);
-            g2.drawRect(0, 0, Constants.CARD_WIDTH - 1, Constants.CARD_HEIGHT - 1);
+            g2.drawRect(0, 0, Layout.CARD_WIDTH - 1, Layout.CARD_HEIGHT - 1);
         } else {
             g2.setColor(new Color(96, 151, 234));
-            g2.fillRect(0, 0, Constants.CARD_WIDTH, Constants.CARD_HEIGHT);
+            g2.fillRect(0, 0, Layout.CARD_WIDTH, Layout.CARD_HEIGHT);
         }
     }
 }
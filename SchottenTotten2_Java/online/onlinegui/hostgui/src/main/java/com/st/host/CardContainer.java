@@ -5,8 +5,8 @@ import java.awt.Dimension;
 import javax.swing.JPanel;
 
 import com.st.common.Card;
-import com.st.common.CardView;
-import com.st.common.Constants;
+import com.st.ui.CardView;
+import com.st.ui.Layout;
 
 public class CardContainer extends JPanel {
     private final CardView cardView;
@@ -16,10 +16,10 @@ public class CardContainer extends JPanel {
     public CardContainer(Card card, HandView parent) {
         this.parent = parent;
         setLayout(null);
-        setPreferredSize(new Dimension(Constants.CARD_WIDTH, Constants.CARD_HEIGHT + Constants.POP_OFFSET));
+        setPreferredSize(new Dimension(Layout.CARD_WIDTH, Layout.CARD_HEIGHT + Layout.POP_OFFSET));
         setOpaque(false);
         this.cardView = new CardView(card, this::mouseClicked);
-        cardView.setBounds(0, Constants.POP_OFFSET, Constants.CARD_WIDTH, Constants.CARD_HEIGHT);
+        cardView.setBounds(0, Layout.POP_OFFSET, Layout.CARD_WIDTH, Layout.CARD_HEIGHT);
         add(cardView);
         popped = false;
     }
@@ -37,7 +37,7 @@ public class CardContainer extends JPanel {
     }
 
     public void updatePosition() {
-        cardView.setLocation(0, popped ? 0 : Constants.POP_OFFSET);
+        cardView.setLocation(0, popped ? 0 : Layout.POP_OFFSET);
     }
 
     public Card getCard() {
@@ -5,16 +5,26 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
+import java.util.Random;
 
 import com.st.common.Card;
+import com.st.common.CardLocations;
+import com.st.common.CardSet;
 import com.st.common.Constants;
 
 public class Deck {
     private final Deque<Card> deck;
+    private long cardSet;
+    private CardLocations locations;
 
     public Deck() {
         deck = new ArrayDeque<>();
         deck.addAll(Constants.ALL_CARDS);
+        cardSet = CardSet.ALL_SUITED;
+    }
+
+    public void setLocations(CardLocations locations) {
+        this.locations = locations;
     }
 
     public int size() {
@@ -25,9 +35,22 @@ public class Deck {
         return deck.isEmpty();
     }
 
+    public long getCardSet() {
+        return cardSet;
+    }
+
+    /** The cards left, in the order they will be drawn. */
+    public List<Card> getCards() {
+        return new ArrayList<>(deck);
+    }
+
     public void shuffle() {
+        shuffle(new Random());
+    }
+
+    public void shuffle(Random random) {
         List<Card> cards = new ArrayList<>(deck);
-        Collections.shuffle(cards);
+        Collections.shuffle(cards, random);
         deck.clear();
         deck.addAll(cards);
     }
@@ -36,12 +59,23 @@ public class Deck {
         if (deck.isEmpty()) {
             return null;
         }
-        return deck.pop();
+        Card card = deck.pop();
+        cardSet = CardSet.remove(cardSet, card);
+        return card;
     }
 
     public void reset() {
+        reset(new Random());
+    }
+
+    /** Refills and shuffles the deck with {@code random}, so a seeded generator deals the same game. */
+    public void reset(Random random) {
         deck.clear();
         deck.addAll(Constants.ALL_CARDS);
-        shuffle();
+        cardSet = CardSet.ALL_SUITED;
+        if (locations != null) {
+            locations.reset();
+        }
+        shuffle(random);
     }
 }
@@ -9,7 +9,8 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 
-import com.st.common.Constants;
+import com.st.ui.Layout;
+
 
 public class DeckView extends JPanel {
     public DeckView(int deckSize) {
@@ -17,11 +18,11 @@ public class DeckView extends JPanel {
         JLabel invisLabel = new JLabel("deck", SwingConstants.CENTER);
         invisLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         invisLabel.setForeground(new Color(0, 0, 0, 0));
-        invisLabel.setFont(new Font("Arial", Font.BOLD, Constants.CARD_FONT_SIZE));
+        invisLabel.setFont(new Font("Arial", Font.BOLD, Layout.CARD_FONT_SIZE));
 
         JLabel label = new JLabel(deckSize + "", SwingConstants.CENTER);
         label.setAlignmentX(Component.CENTER_ALIGNMENT);
-        label.setFont(new Font("Arial", Font.BOLD, Constants.CARD_FONT_SIZE));
+        label.setFont(new Font("Arial", Font.BOLD, Layout.CARD_FONT_SIZE));
 
 
         JPanel cardBackView = new CardBackView();
@@ -10,28 +10,49 @@ import java.util.TreeSet;
 
 import com.st.common.Card;
 import com.st.common.CardColor;
+import com.st.common.CardLocations;
+import com.st.common.CardSet;
 
 public class Discard {
     private final Set<Card> discard;
+    private long cardSet;
+    private CardLocations locations;
 
     public Discard() {
         discard = new TreeSet<>();
     }
 
+    public void setLocations(CardLocations locations) {
+        this.locations = locations;
+    }
+
     public void add(Card card) {
         discard.add(card);
+        cardSet = CardSet.add(cardSet, card);
+        if (locations != null) {
+            locations.move(card, CardLocations.DISCARD);
+        }
     }
 
     public void addAll(Collection<Card> cards) {
         discard.addAll(cards);
+        cardSet |= CardSet.of(cards);
+        if (locations != null) {
+            locations.moveAll(cards, CardLocations.DISCARD);
+        }
     }
 
     public boolean contains(Card card) {
-        return discard.contains(card);
+        return CardSet.contains(cardSet, card);
+    }
+
+    public long getCardSet() {
+        return cardSet;
     }
 
     public void clear() {
         discard.clear();
+        cardSet = CardSet.EMPTY;
     }
 
     public Map<CardColor, List<Card>> getCardsByColor() {
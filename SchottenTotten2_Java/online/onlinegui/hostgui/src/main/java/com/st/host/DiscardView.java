@@ -9,8 +9,9 @@ import javax.swing.JPanel;
 
 import com.st.common.Card;
 import com.st.common.CardColor;
-import com.st.common.CardView;
 import com.st.common.Constants;
+import com.st.ui.CardView;
+import com.st.ui.Layout;
 
 public class DiscardView extends JPanel {
     public DiscardView(Map<CardColor, List<Card>> cardsByColor, Card lastPlayedCard) {
@@ -20,11 +21,11 @@ public class DiscardView extends JPanel {
             if (!cards.isEmpty()) {
                 JPanel column = new JPanel();
                 column.setLayout(null);
-                column.setPreferredSize(new Dimension(Constants.CARD_WIDTH, Constants.CARD_HEIGHT + (Constants.VALUES.size() - 1) * Constants.OVERLAP));
+                column.setPreferredSize(new Dimension(Layout.CARD_WIDTH, Layout.CARD_HEIGHT + (Constants.VALUES.size() - 1) * Layout.OVERLAP));
                 for (int i = cards.size() - 1; i >= 0; i--) {
                     Card card = cards.get(i);
                     CardView cardView = new CardView(card, card.equals(lastPlayedCard));
-                    cardView.setBounds(0, card.getValue() * Constants.OVERLAP, Constants.CARD_WIDTH, Constants.CARD_HEIGHT);
+                    cardView.setBounds(0, card.getValue() * Layout.OVERLAP, Layout.CARD_WIDTH, Layout.CARD_HEIGHT);
                     column.add(cardView);
                 }
                 add(column);
@@ -1,17 +1,35 @@
 package com.st.host;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Random;
 
 import com.st.common.Card;
+import com.st.common.CardLocations;
 import com.st.common.Constants;
-import com.st.common.Wall;
+import com.st.common.PlayResult;
 import com.st.common.Winner;
+import com.st.search.MoveGenerator;
 
-public record Game(Player attacker, Player defender, Board board, Deck deck, Discard discard) {
+public record Game(Player attacker, Player defender, Board board, Deck deck, Discard discard,
+        CardLocations locations) {
+
+    public Game {
+        attacker.getHand().setLocations(locations, CardLocations.ATTACKER_HAND);
+        defender.getHand().setLocations(locations, CardLocations.DEFENDER_HAND);
+        board.setLocations(locations);
+        deck.setLocations(locations);
+        discard.setLocations(locations);
+    }
+
+    public Game(Player attacker, Player defender, Board board, Deck deck, Discard discard) {
+        this(attacker, defender, board, deck, discard, new CardLocations());
+    }
 
     public void setup() {
-        deck.reset();
+        setup(new Random());
+    }
+
+    public void setup(Random random) {
+        deck.reset(random);
         discard.clear();
         board.clear();
         for (int i = 0; i < Constants.HAND_SIZE; i++) {
@@ -20,29 +38,53 @@ public record Game(Player attacker, Player defender, Board board, Deck deck, Dis
         }
     }
 
-    public void declareControl() {
-        List<Card> remainingCards = new ArrayList<>();
-        for (var card : Constants.ALL_CARDS) {
-            if (!discard.contains(card) && !board.contains(card)) {
-                remainingCards.add(card);
+    /**
+     * Plays {@code card} on wall {@code wallIndex} for the attacker or the defender. A card
+     * placed on the wall ends the turn: the player draws and control is declared. A
+     * retreat or a cauldron only discards from the wall, and the player goes on. A move
+     * that cannot be played changes nothing and fails.
+     */
+    public PlayResult.Type play(boolean isAttacker, Card card, int wallIndex) {
+        Player player = isAttacker ? attacker : defender;
+        PlayResult result = board.playCard(wallIndex, card, isAttacker);
+        if (result.getResultType() == PlayResult.Type.SUCCESS) {
+            discard.addAll(result.getToDiscard());
+            player.getHand().remove(card);
+            player.draw(deck);
+            declareControl();
+            player.setUseCauldron(false);
+        } else if (result.getResultType() == PlayResult.Type.ACTION) {
+            if (result.getToDiscard().isEmpty()) {
+                return PlayResult.Type.FAILURE;
+            }
+            discard.addAll(result.getToDiscard());
+            if (!isAttacker) {
+                defender.setUseCauldron(true);
             }
         }
-        discard.addAll(board.declareControl(remainingCards));
+        return result.getResultType();
     }
 
-    public Winner getWinner(boolean checkDeck) {
-        int numDamaged = 0;
-        Wall[] walls = board.getWalls();
-        for (Wall wall : walls) {
-            switch (wall.getStatus()) {
-                case BROKEN -> {
-                    return Winner.ATTACKER;
-                }
-                case DAMAGED -> numDamaged++;
-            }
+    public void declareControl() {
+        discard.addAll(board.declareControl(locations.getUnseenCards()));
+    }
+
+    /**
+     * Writes every legal move for the attacker or the defender into {@code moves}, as
+     * {@link com.st.search.Move} codes, and returns how many there are.
+     */
+    public int generateMoves(boolean isAttacker, int[] moves) {
+        Player player = isAttacker ? attacker : defender;
+        int actionWalls = board.getOccupiedWalls();
+        if (!isAttacker && (defender.getCauldronCount() == 0 || defender.hasUsedCauldron())) {
+            actionWalls = 0;
         }
+        return MoveGenerator.generate(player.getHand().getCardSet(), board.getOpenWalls(isAttacker),
+                isAttacker, actionWalls, moves);
+    }
 
-        if (numDamaged >= 4) {
+    public Winner getWinner(boolean checkDeck) {
+        if (board.getBrokenCount() > 0 || board.getDamagedCount() >= 4) {
             return Winner.ATTACKER;
         }
 
@@ -1,7 +1,9 @@
 package com.st.host;
 
 import java.io.*;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.SwingUtilities;
 
 import com.st.common.Card;
 import com.st.common.ClientMove;
@@ -9,15 +11,22 @@ import com.st.common.GameState;
 import com.st.common.PlayResult;
 import com.st.common.Wall;
 import com.st.common.Winner;
+import com.st.search.Move;
+import com.st.search.MoveAnalyser;
+import com.st.search.MoveGenerator;
+import com.st.search.SearchState;
 
 public class GameController {
     private final Game game;
     private GameView gameView;
     private final Role hostRole;
-    private boolean playAgain;
+    private final CompletableFuture<Boolean> finished = new CompletableFuture<>();
     private Card lastPlayedCard;
     private Phase currentPhase;
     private final Network network;
+    private final Bot bot;
+    private final MoveAnalyser analyser;
+    private final int[] moves = new int[Move.MAX_MOVES];
 
     private enum Phase {
         HOST_TURN,
@@ -26,11 +35,22 @@ public class GameController {
     }
 
     public GameController(Game game, Role hostRole, Network network) {
+        this(game, hostRole, network, null, false);
+    }
+
+    /**
+     * @param bot the bot that plays the host's side, or null to let the host play in the GUI
+     * @param analysis whether to show the host the win rate of every move on their turn
+     */
+    public GameController(Game game, Role hostRole, Network network, Bot bot, boolean analysis) {
         this.game = game;
-        this.gameView = new GameView(createGameState(false), this::onWallClicked);
+        this.gameView = new GameView(createGameState(false), this::onWallClicked, this::isPlayable);
         this.hostRole = hostRole;
         this.network = network;
-        this.network.setMoveHandler(move -> {
+        this.bot = bot;
+        this.analyser = analysis && bot == null ? new MoveAnalyser() : null;
+        // Moves from the network and the bot are played on the Swing thread, like clicks.
+        this.network.setMoveHandler(move -> SwingUtilities.invokeLater(() -> {
             if (currentPhase == Phase.CLIENT_TURN) {
                 try {
                     processMove(move);
@@ -38,14 +58,17 @@ public class GameController {
                     throw new RuntimeException(e);
                 }
             }
-        });
-        playAgain = false;
+        }));
     }
 
-    public void startGame() {
-        game.setup();
-        currentPhase = hostRole == Role.ATTACKER ? Phase.HOST_TURN : Phase.CLIENT_TURN;
-        displayGameState(false);
+    /** Deals and starts the game; the future completes with whether to play again. */
+    public CompletableFuture<Boolean> startGame() {
+        SwingUtilities.invokeLater(() -> {
+            game.setup();
+            currentPhase = hostRole == Role.ATTACKER ? Phase.HOST_TURN : Phase.CLIENT_TURN;
+            displayGameState(false);
+        });
+        return finished;
     }
 
     private void processMove(ClientMove move) throws IOException {
@@ -53,60 +76,64 @@ public class GameController {
         int wallIndex = move.wallIndex();
 
         if (currentPhase == Phase.CLIENT_TURN) {
-            PlayResult result = game.board().playCard(wallIndex, card, hostRole == Role.DEFENDER);
-            if (result.getResultType() == PlayResult.Type.SUCCESS) {
+            PlayResult.Type result = game.play(hostRole == Role.DEFENDER, card, wallIndex);
+            if (result == PlayResult.Type.SUCCESS) {
+                advanceBot(card, wallIndex);
                 lastPlayedCard = card;
-                game.discard().addAll(result.getToDiscard());
-                getClient().getHand().remove(card);
-                getClient().draw(game.deck());
-                game.declareControl();
-                getClient().setUseCauldron(false);
                 currentPhase = Phase.HOST_TURN;
                 displayGameState(hostRole == Role.DEFENDER);
-            } else if (result.getResultType() == PlayResult.Type.ACTION) {
-                List<Card> toDiscard = result.getToDiscard();
-                if (!toDiscard.isEmpty()) {
-                    game.discard().addAll(toDiscard);
-                    if (hostRole == Role.ATTACKER) {
-                        game.defender().setUseCauldron(true);
-                    }
-                    displayGameState(false);
-                }
+            } else if (result == PlayResult.Type.ACTION) {
+                advanceBot(card, wallIndex);
+                displayGameState(false);
             }
         }
     }
 
     public void onWallClicked(Wall wall) {
+        Card card = getSelectedCard();
+        if (card != null) {
+            playHostCard(card, wall);
+        }
+    }
+
+    private void playBotMove(int move) {
+        playHostCard(Card.byId(Move.cardId(move)), game.board().getWalls()[Move.wallIndex(move)]);
+    }
+
+    private void playHostCard(Card card, Wall wall) {
         if (currentPhase == Phase.HOST_TURN) {
-            Card card = getSelectedCard();
-            if (card != null) {
-                PlayResult result = wall.playCard(card, hostRole == Role.ATTACKER);
-                if (result.getResultType() == PlayResult.Type.SUCCESS) {
-                    lastPlayedCard = card;
-                    game.discard().addAll(result.getToDiscard());
-                    getHost().getHand().remove(card);
-                    gameView.unselectCard();
-                    getHost().draw(game.deck());
-                    game.declareControl();
-                    getHost().setUseCauldron(false);
-                    currentPhase = Phase.CLIENT_TURN;
-                    displayGameState(hostRole == Role.ATTACKER);
-                } else if (result.getResultType() == PlayResult.Type.ACTION) {
-                    List<Card> toDiscard = result.getToDiscard();
-                    if (!toDiscard.isEmpty()) {
-                        game.discard().addAll(toDiscard);
-                        if (hostRole == Role.DEFENDER) {
-                            game.defender().setUseCauldron(true);
-                        }
-                        displayGameState(false);
-                    }
-                }
+            PlayResult.Type result = game.play(hostRole == Role.ATTACKER, card, wall.getWallIndex());
+            if (result == PlayResult.Type.SUCCESS) {
+                advanceBot(card, wall.getWallIndex());
+                lastPlayedCard = card;
+                gameView.unselectCard();
+                currentPhase = Phase.CLIENT_TURN;
+                displayGameState(hostRole == Role.ATTACKER);
+            } else if (result == PlayResult.Type.ACTION) {
+                advanceBot(card, wall.getWallIndex());
+                displayGameState(false);
             }
         }
     }
 
+    private void advanceBot(Card card, int wallIndex) {
+        if (bot != null) {
+            bot.advance(Move.play(card, wallIndex));
+        }
+    }
+
+    /** Whether the host's selected card can be played on {@code wall} right now. */
+    public boolean isPlayable(Wall wall) {
+        Card card = getSelectedCard();
+        if (card == null) {
+            return false;
+        }
+        int count = game.generateMoves(hostRole == Role.ATTACKER, moves);
+        return MoveGenerator.contains(moves, count, Move.play(card, wall.getWallIndex()));
+    }
+
     private Card getSelectedCard() {
-        if (currentPhase == Phase.HOST_TURN) {
+        if (currentPhase == Phase.HOST_TURN && bot == null) {
             return gameView.getSelectedCard();
         }
         return null;
@@ -137,25 +164,42 @@ public class GameController {
     public void displayGameState(boolean checkDeck) {
         GameState state = createGameState(checkDeck);
         network.sendGameState(state);
-        gameView = new GameView(state, this::onWallClicked);
+        gameView = new GameView(state, this::onWallClicked, this::isPlayable);
         HostGUI.displayGameState();
 
         if (state.getWinner() != Winner.NONE) {
-            playAgain = HostGUI.showRematchDialog(state.getWinner());
             currentPhase = Phase.GAME_OVER;
+            if (bot != null) {
+                bot.shutdown();
+            }
+            if (analyser != null) {
+                analyser.close();
+            }
+            finished.complete(HostGUI.showRematchDialog(state.getWinner()));
+        } else if (bot != null) {
+            if (currentPhase == Phase.HOST_TURN) {
+                bot.think(state).thenAccept(move -> SwingUtilities.invokeLater(() -> playBotMove(move)));
+            } else {
+                bot.ponder(state);
+            }
+        } else if (analyser != null) {
+            analyse(state);
         }
     }
 
-    public void updateGameView() {
-        gameView.updateLayout(this::onWallClicked);
-    }
-
-    public boolean playAgain() {
-        return playAgain;
+    // Replaces any analysis of an earlier state; on the client's turn there is nothing to show.
+    private void analyse(GameState state) {
+        if (currentPhase != Phase.HOST_TURN) {
+            analyser.cancel();
+            return;
+        }
+        GameView view = gameView;
+        analyser.analyse(SearchState.fromGameState(state), hostRole == Role.ATTACKER,
+                result -> SwingUtilities.invokeLater(() -> view.showAnalysis(result)));
     }
 
-    public boolean gameOver() {
-        return currentPhase == Phase.GAME_OVER;
+    public void updateGameView() {
+        gameView.updateLayout(this::onWallClicked);
     }
 
     public GameView getGameView() {
@@ -1,6 +1,7 @@
 package com.st.host;
 
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -9,14 +10,19 @@ import javax.swing.JPanel;
 import com.st.common.Card;
 import com.st.common.GameState;
 import com.st.common.Wall;
+import com.st.search.Move;
+import com.st.search.SearchResult;
 
 public class GameView extends JPanel {
     private HandView hostHandView;
     private final GameState gameState;
+    private final Predicate<Wall> isPlayable;
+    private SearchResult analysis;
 
-    public GameView(GameState gameState, Consumer<Wall> onWallClicked) {
+    public GameView(GameState gameState, Consumer<Wall> onWallClicked, Predicate<Wall> isPlayable) {
         setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
         this.gameState = gameState;
+        this.isPlayable = isPlayable;
         updateLayout(onWallClicked);
     }
 
@@ -28,11 +34,26 @@ public class GameView extends JPanel {
         hostHandView.unselectCard();
     }
 
+    /** Shows the win rates of {@code analysis} on the walls, for whichever card is selected. */
+    public void showAnalysis(SearchResult analysis) {
+        this.analysis = analysis;
+        repaint();
+    }
+
+    private double winRate(Wall wall) {
+        Card card = getSelectedCard();
+        if (analysis == null || card == null) {
+            return Double.NaN;
+        }
+        return analysis.winRate(Move.play(card, wall.getWallIndex()));
+    }
+
     public void updateLayout(Consumer<Wall> onWallClicked) {
         removeAll();
         hostHandView = new HandView(gameState.getHostHand(), !gameState.isClientAttacker(), gameState.getCauldronCount(), gameState.hasUsedCauldron(), false, !gameState.isClientTurn());
+        hostHandView.setOnSelectionChanged(this::repaint);
         HandView clientHandView = new HandView(gameState.getClientHand(), gameState.isClientAttacker(), gameState.getCauldronCount(), gameState.hasUsedCauldron(), true, gameState.isClientTurn());
-        TableView tableView = new TableView(gameState.getWalls(), gameState.getDeckSize(), gameState.getDiscard(), onWallClicked, !gameState.isClientAttacker(), gameState.getLastPlayedCard());
+        TableView tableView = new TableView(gameState.getWalls(), gameState.getDeckSize(), gameState.getDiscard(), onWallClicked, isPlayable, this::winRate, !gameState.isClientAttacker(), gameState.getLastPlayedCard());
 
         add(clientHandView);
         add(Box.createVerticalGlue());
@@ -4,23 +4,46 @@ import java.util.Set;
 import java.util.TreeSet;
 
 import com.st.common.Card;
+import com.st.common.CardLocations;
+import com.st.common.CardSet;
 
 public class Hand {
     private final Set<Card> cards;
+    private long cardSet;
+    private CardLocations locations;
+    private int location;
 
     public Hand() {
         cards = new TreeSet<>();
     }
 
+    public void setLocations(CardLocations locations, int location) {
+        this.locations = locations;
+        this.location = location;
+    }
+
     public Set<Card> getCards() {
         return cards;
     }
 
+    public long getCardSet() {
+        return cardSet;
+    }
+
+    public boolean contains(Card card) {
+        return CardSet.contains(cardSet, card);
+    }
+
     public void add(Card card) {
         cards.add(card);
+        cardSet = CardSet.add(cardSet, card);
+        if (locations != null) {
+            locations.move(card, location);
+        }
     }
 
     public void remove(Card card) {
         cards.remove(card);
+        cardSet = CardSet.remove(cardSet, card);
     }
 }
@@ -13,18 +13,19 @@ import java.util.Set;
 import javax.swing.JPanel;
 
 import com.st.common.Card;
-import com.st.common.CardView;
-import com.st.common.Constants;
+import com.st.ui.CardView;
+import com.st.ui.Layout;
 
 public class HandView extends JPanel {
     private CardContainer selectedCard = null;
     private final boolean glowing;
+    private Runnable onSelectionChanged = () -> {};
 
     public HandView(Set<Card> cards, boolean isAttacker, int cauldronCount, boolean hasUsedCauldron, boolean isOpponent, boolean isTurn) {
         this.glowing = isTurn;
         setLayout(new FlowLayout(FlowLayout.CENTER, 0, 0));
-        setPreferredSize(new Dimension(Constants.WINDOW_WIDTH, Constants.CARD_HEIGHT + Constants.POP_OFFSET));
-        setMaximumSize(new Dimension(Constants.WINDOW_WIDTH, Constants.CARD_HEIGHT + Constants.POP_OFFSET));
+        setPreferredSize(new Dimension(Layout.WINDOW_WIDTH, Layout.CARD_HEIGHT + Layout.POP_OFFSET));
+        setMaximumSize(new Dimension(Layout.WINDOW_WIDTH, Layout.CARD_HEIGHT + Layout.POP_OFFSET));
         if (isOpponent) {
             for (int i = 0; i < cards.size(); i++) {
                 add(new CardBackView());
@@ -63,7 +64,7 @@ public class HandView extends JPanel {
             Graphics2D g2 = (Graphics2D) g.create();
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            glowRect.grow(Constants.POP_OFFSET, Constants.POP_OFFSET);
+            glowRect.grow(Layout.POP_OFFSET, Layout.POP_OFFSET);
             g2.setColor(new Color(255, 215, 0, 64));
             g2.fillRoundRect(glowRect.x, glowRect.y, glowRect.width, glowRect.height, 20, 20);
 
@@ -79,6 +80,7 @@ public class HandView extends JPanel {
             return;
         }
         selectedCard = clickedCard;
+        onSelectionChanged.run();
     }
 
     public Card getSelectedCard() {
@@ -87,5 +89,10 @@ public class HandView extends JPanel {
 
     public void unselectCard() {
         selectedCard = null;
+        onSelectionChanged.run();
+    }
+
+    public void setOnSelectionChanged(Runnable onSelectionChanged) {
+        this.onSelectionChanged = onSelectionChanged;
     }
 }
@@ -9,6 +9,7 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.ServerSocket;
 import java.net.SocketException;
+import java.util.Arrays;
 import java.util.Enumeration;
 
 import javax.swing.JFrame;
@@ -16,17 +17,30 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.SwingConstants;
 
-import com.st.common.Constants;
 import com.st.common.Winner;
+import com.st.search.TreeParallelIsmcts;
+import com.st.ui.Layout;
 
 public class HostGUI {
     private static GameController gameController;
     private static JFrame mainFrame;
     private static Role hostRole;
-
+    private static boolean botPlaysHost;
+    private static boolean sharedTree;
+    private static boolean analysis;
+
+    /**
+     * Pass {@code --bot} to let the computer play the host's side, and {@code --shared-tree}
+     * to have it search one tree shared by all threads ({@link TreeParallelIsmcts}) instead
+     * of a tree per thread; or pass {@code --analysis} to show the host the win rate of
+     * each wall for the selected card.
+     */
     public static void main(String[] args) throws IOException {
+        botPlaysHost = Arrays.asList(args).contains("--bot");
+        sharedTree = Arrays.asList(args).contains("--shared-tree");
+        analysis = Arrays.asList(args).contains("--analysis");
         mainFrame = new JFrame("Schotten Totten 2 (host)");
-        mainFrame.setSize(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        mainFrame.setSize(Layout.WINDOW_WIDTH, Layout.WINDOW_HEIGHT);
         mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         mainFrame.setVisible(true);
 
@@ -42,35 +56,35 @@ public class HostGUI {
         mainFrame.repaint();
 
         hostRole = chooseHostRole(true);
-        gameController = new GameController(new Game(new Player(), new Player(), new Board(), new Deck(), new Discard()), hostRole, network);
+        gameController = new GameController(new Game(new Player(), new Player(), new Board(), new Deck(), new Discard()), hostRole, network, createBot(), analysis);
         mainFrame.addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(ComponentEvent e) {
-                Constants.resize(mainFrame.getWidth(), mainFrame.getHeight());
+                Layout.resize(mainFrame.getWidth(), mainFrame.getHeight());
                 gameController.updateGameView();
                 displayGameState();
             }
         });
 
         while (true) {
-            gameController.startGame();
-            while (!gameController.gameOver()) {
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-
-            if (gameController.playAgain()) {
+            boolean playAgain = gameController.startGame().join();
+            if (playAgain) {
                 hostRole = chooseHostRole(false);
-                gameController = new GameController(new Game(new Player(), new Player(), new Board(), new Deck(), new Discard()), hostRole, network);
+                gameController = new GameController(new Game(new Player(), new Player(), new Board(), new Deck(), new Discard()), hostRole, network, createBot(), analysis);
             } else {
                 break;
             }
         }
     }
 
+    private static Bot createBot() {
+        if (!botPlaysHost) {
+            return null;
+        }
+        boolean isAttacker = hostRole == Role.ATTACKER;
+        return sharedTree ? new Bot(isAttacker, new TreeParallelIsmcts()) : new Bot(isAttacker);
+    }
+
     public static void displayGameState() {
         mainFrame.getContentPane().removeAll();
         mainFrame.add(gameController.getGameView());
@@ -3,6 +3,8 @@ package com.st.host;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -14,10 +16,10 @@ import com.st.common.Wall;
 
 public class TableView extends JPanel {
 
-    public TableView(Wall[] walls, int deckSize, Map<CardColor, List<Card>> discard, Consumer<Wall> onWallClicked, boolean hostIsAttacker, Card lastPlayedCard) {
+    public TableView(Wall[] walls, int deckSize, Map<CardColor, List<Card>> discard, Consumer<Wall> onWallClicked, Predicate<Wall> isPlayable, ToDoubleFunction<Wall> winRate, boolean hostIsAttacker, Card lastPlayedCard) {
         setLayout(new BoxLayout(this, BoxLayout.X_AXIS));
 
-        BoardView boardView = new BoardView(walls, onWallClicked, hostIsAttacker, lastPlayedCard);
+        BoardView boardView = new BoardView(walls, onWallClicked, isPlayable, winRate, hostIsAttacker, lastPlayedCard);
         DeckView deckView = new DeckView(deckSize);
         DiscardView discardView = new DiscardView(discard, lastPlayedCard);
 
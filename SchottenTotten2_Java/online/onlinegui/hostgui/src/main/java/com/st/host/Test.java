@@ -5,13 +5,13 @@ import java.awt.FlowLayout;
 import javax.swing.JFrame;
 
 import com.st.common.Card;
-import com.st.common.CardView;
-import com.st.common.Constants;
+import com.st.ui.CardView;
+import com.st.ui.Layout;
 
 public class Test {
     public static void main(String[] args) {
         JFrame mainFrame = new JFrame("Schotten Totten 2 (host)");
-        mainFrame.setSize(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        mainFrame.setSize(Layout.WINDOW_WIDTH, Layout.WINDOW_HEIGHT);
         mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         mainFrame.setVisible(true);
 
@@ -0,0 +1,15 @@
+package com.st.selfplay;
+
+import com.st.common.Winner;
+
+/**
+ * A finished self-play game: its seed, which deals the same deck again, every move in
+ * order as a {@link com.st.search.Move} code, who played it and how long the policy
+ * took to choose it.
+ */
+public record GameRecord(long seed, Winner winner, int[] moves, boolean[] byAttacker,
+        long[] moveNanos) {
+    public int length() {
+        return moves.length;
+    }
+}
@@ -0,0 +1,59 @@
+package com.st.selfplay;
+
+import com.st.common.CardSet;
+import com.st.common.FormationSolver;
+import com.st.common.FormationTable;
+import com.st.search.Move;
+import com.st.search.SearchState;
+
+/**
+ * Plays the card that most improves a wall for its side, one move deep.
+ * <p>
+ * Each card play is scored by the strongest formation the mover could still complete
+ * on that wall with the card, less the strongest the opponent could still complete
+ * there. The mover completes from the cards not yet on the table; the opponent from
+ * those less the mover's own hand, which the opponent cannot hold. The first play with
+ * the best score is chosen. Retreats and cauldrons are only played when no card can be.
+ */
+public final class HeuristicPolicy implements Policy {
+    private final int[] moves = new int[Move.MAX_MOVES];
+
+    @Override
+    public int chooseMove(SearchState state) {
+        int count = state.generateMoves(moves);
+        boolean attacker = state.isAttackerToMove();
+        long unseen = state.getUnseenCards();
+        long opponentRemaining = unseen & ~state.getHand(attacker);
+        int best = moves[0];
+        long bestScore = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (!Move.isPlay(move)) {
+                continue;
+            }
+            int w = Move.wallIndex(move);
+            int card = Move.cardId(move);
+            long remaining = unseen & ~(1L << card);
+            long own = (attacker ? state.getAttackerCards(w) : state.getDefenderCards(w)) | 1L << card;
+            long other = attacker ? state.getDefenderCards(w) : state.getAttackerCards(w);
+            long score = (long) completion(state, w, own, remaining)
+                    - completion(state, w, other, opponentRemaining);
+            if (score > bestScore) {
+                best = move;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    // The strongest formation {@code side} can reach on wall {@code w}, or 0 if none.
+    private static int completion(SearchState state, int w, long side, long remaining) {
+        int length = state.getLength(w);
+        if (CardSet.size(side) == length) {
+            return FormationTable.strength(state.getPattern(w), side);
+        }
+        int strength = FormationSolver.strongestCompletion(side, remaining, length,
+                state.getPattern(w), Integer.MAX_VALUE, null);
+        return Math.max(0, strength);
+    }
+}
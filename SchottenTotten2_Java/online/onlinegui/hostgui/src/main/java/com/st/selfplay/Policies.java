@@ -0,0 +1,79 @@
+package com.st.selfplay;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongFunction;
+
+import com.st.search.Ismcts;
+import com.st.search.SearchBudget;
+import com.st.search.TreeParallelIsmcts;
+
+/** The policies that can be named on the command line. */
+public final class Policies {
+    public static final long DEFAULT_ITERATIONS = 1000;
+
+    private Policies() {
+    }
+
+    /**
+     * A factory for the policy named by {@code spec}: {@code random}, {@code heuristic},
+     * {@code ismcts[:iterations]} or {@code ismcts-tree[:iterations[:workers]]}. The
+     * factory makes the policy for one game from the game's seed, so a seeded game plays
+     * out the same every time.
+     * <p>
+     * {@code ismcts} runs one root-parallel worker, and {@code ismcts-tree} runs
+     * {@code workers} workers, one by default, on one shared tree, each worker running
+     * the given iterations. A search runs on the fork/join pool of the thread that makes
+     * it, with trees no larger than its iterations need. With more than one worker on a
+     * shared tree the threads race, so its games are no longer reproducible.
+     */
+    public static LongFunction<Policy> parse(String spec) {
+        String[] parts = spec.split(":", 3);
+        switch (parts[0]) {
+            case "random":
+                return seed -> new RandomPolicy(new SplittableRandom(seed));
+            case "heuristic":
+                return seed -> new HeuristicPolicy();
+            case "ismcts": {
+                if (parts.length > 2) {
+                    throw new IllegalArgumentException("Unknown policy: " + spec);
+                }
+                long iterations = iterations(parts, spec);
+                int maxNodes = (int) Math.min(Ismcts.DEFAULT_MAX_NODES, 2 * iterations + 2);
+                return seed -> new SearchPolicy(
+                        new Ismcts(currentPool(), 1, Ismcts.DEFAULT_EXPLORATION,
+                                new SplittableRandom(seed), maxNodes),
+                        SearchBudget.iterations(iterations));
+            }
+            case "ismcts-tree": {
+                long iterations = iterations(parts, spec);
+                int workers = parts.length > 2 ? Integer.parseInt(parts[2]) : 1;
+                if (workers < 1) {
+                    throw new IllegalArgumentException("Workers must be positive: " + spec);
+                }
+                int maxNodes = (int) Math.min(TreeParallelIsmcts.DEFAULT_MAX_NODES,
+                        2 * iterations * workers + 2);
+                return seed -> new SearchPolicy(
+                        new TreeParallelIsmcts(currentPool(), workers, Ismcts.DEFAULT_EXPLORATION,
+                                new SplittableRandom(seed), maxNodes,
+                                TreeParallelIsmcts.DEFAULT_VIRTUAL_LOSS),
+                        SearchBudget.iterations(iterations));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown policy: " + spec);
+        }
+    }
+
+    private static long iterations(String[] parts, String spec) {
+        long iterations = parts.length > 1 ? Long.parseLong(parts[1]) : DEFAULT_ITERATIONS;
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive: " + spec);
+        }
+        return iterations;
+    }
+
+    private static ForkJoinPool currentPool() {
+        return ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+    }
+}
@@ -0,0 +1,23 @@
+package com.st.selfplay;
+
+import com.st.search.SearchResult;
+import com.st.search.SearchState;
+
+/**
+ * Chooses the moves of one side in a self-play game. A policy is made for one game and
+ * only used from the thread playing it, so it may keep state from move to move.
+ */
+@FunctionalInterface
+public interface Policy {
+    /**
+     * One of the legal moves for the side to move in {@code state}, as a
+     * {@link com.st.search.Move} code. The state is the real position, so a fair policy
+     * treats the opponent's hand and the order of the deck as unknown.
+     */
+    int chooseMove(SearchState state);
+
+    /** The search statistics behind the last move chosen, or null if the policy does not search. */
+    default SearchResult lastResult() {
+        return null;
+    }
+}
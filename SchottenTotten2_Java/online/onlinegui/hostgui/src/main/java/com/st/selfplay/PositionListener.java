@@ -0,0 +1,20 @@
+package com.st.selfplay;
+
+import com.st.common.GameState;
+import com.st.search.SearchResult;
+
+/**
+ * Notified of every position of a self-play game, on the thread playing it, for
+ * recording games move by move.
+ */
+public interface PositionListener {
+    /**
+     * The side to move in {@code state}, seen from the host's seat, is about to play
+     * {@code move}; {@code result} is the search behind it, or null if the policy does
+     * not search.
+     */
+    void onMove(GameState state, int move, SearchResult result);
+
+    /** The game is over; {@code state} is the final position as the attacker sees it. */
+    void onEnd(GameState state, GameRecord game);
+}
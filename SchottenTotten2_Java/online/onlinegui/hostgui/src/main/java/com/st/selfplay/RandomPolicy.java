@@ -0,0 +1,22 @@
+package com.st.selfplay;
+
+import java.util.random.RandomGenerator;
+
+import com.st.search.Move;
+import com.st.search.SearchState;
+
+/** Plays a uniformly random legal move, retreats and cauldrons included. */
+public final class RandomPolicy implements Policy {
+    private final RandomGenerator random;
+    private final int[] moves = new int[Move.MAX_MOVES];
+
+    public RandomPolicy(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public int chooseMove(SearchState state) {
+        int count = state.generateMoves(moves);
+        return moves[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,29 @@
+package com.st.selfplay;
+
+import com.st.search.SearchBudget;
+import com.st.search.SearchEngine;
+import com.st.search.SearchResult;
+import com.st.search.SearchState;
+
+/** Plays the move a {@link SearchEngine} chooses within a fixed budget per move. */
+public final class SearchPolicy implements Policy {
+    private final SearchEngine engine;
+    private final SearchBudget budget;
+    private SearchResult lastResult;
+
+    public SearchPolicy(SearchEngine engine, SearchBudget budget) {
+        this.engine = engine;
+        this.budget = budget;
+    }
+
+    @Override
+    public int chooseMove(SearchState state) {
+        lastResult = engine.search(state, budget);
+        return lastResult.bestMove();
+    }
+
+    @Override
+    public SearchResult lastResult() {
+        return lastResult;
+    }
+}
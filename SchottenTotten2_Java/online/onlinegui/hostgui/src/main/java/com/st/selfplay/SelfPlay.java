@@ -0,0 +1,116 @@
+package com.st.selfplay;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.st.common.Card;
+import com.st.common.GameState;
+import com.st.common.PlayResult;
+import com.st.common.Winner;
+import com.st.host.Board;
+import com.st.host.Deck;
+import com.st.host.Discard;
+import com.st.host.Game;
+import com.st.host.Player;
+import com.st.search.Move;
+import com.st.search.SearchState;
+
+/**
+ * Plays complete games between two {@link Policy policies} without a GUI, with the
+ * host's {@link Game} enforcing the rules.
+ * <p>
+ * The deck is shuffled from the game's seed, so the same seed and the same
+ * deterministic policies replay the same game.
+ */
+public final class SelfPlay {
+    private static final int INITIAL_MOVES = 64;
+
+    private SelfPlay() {
+    }
+
+    /**
+     * The seed of game {@code index} of a run seeded with {@code seed}: consecutive
+     * indices get unrelated seeds.
+     */
+    public static long gameSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays one game from the deal of {@code seed} to the end.
+     *
+     * @throws IllegalStateException if a policy chooses a move the rules do not allow
+     */
+    public static GameRecord play(long seed, Policy attacker, Policy defender) {
+        return play(seed, attacker, defender, null);
+    }
+
+    /**
+     * Plays one game as {@link #play(long, Policy, Policy)} does, passing every position
+     * to {@code positions} if it is not null.
+     */
+    public static GameRecord play(long seed, Policy attacker, Policy defender,
+            PositionListener positions) {
+        Game game = new Game(new Player(), new Player(), new Board(), new Deck(), new Discard());
+        game.setup(new Random(seed));
+        int[] moves = new int[INITIAL_MOVES];
+        boolean[] byAttacker = new boolean[INITIAL_MOVES];
+        long[] moveNanos = new long[INITIAL_MOVES];
+        int count = 0;
+
+        boolean attackerToMove = true;
+        Winner winner = Winner.NONE;
+        while (winner == Winner.NONE) {
+            GameState gameState = stateFor(game, attackerToMove, Winner.NONE);
+            SearchState state = SearchState.fromGameState(gameState);
+            Policy mover = attackerToMove ? attacker : defender;
+            long start = System.nanoTime();
+            int move = mover.chooseMove(state);
+            long elapsed = System.nanoTime() - start;
+            if (positions != null) {
+                positions.onMove(gameState, move, mover.lastResult());
+            }
+
+            PlayResult.Type result = move == Move.NONE ? PlayResult.Type.FAILURE
+                    : game.play(attackerToMove, Card.byId(Move.cardId(move)), Move.wallIndex(move));
+            if (result == PlayResult.Type.FAILURE) {
+                throw new IllegalStateException("Illegal move " + Move.toString(move) + " by the "
+                        + (attackerToMove ? "attacker" : "defender") + " in game " + seed);
+            }
+            if (count == moves.length) {
+                moves = Arrays.copyOf(moves, 2 * count);
+                byAttacker = Arrays.copyOf(byAttacker, 2 * count);
+                moveNanos = Arrays.copyOf(moveNanos, 2 * count);
+            }
+            moves[count] = move;
+            byAttacker[count] = attackerToMove;
+            moveNanos[count] = elapsed;
+            count++;
+
+            if (result == PlayResult.Type.SUCCESS) {
+                // Like the host, the deck is only checked once the attacker has played.
+                winner = game.getWinner(attackerToMove);
+                attackerToMove = !attackerToMove;
+            }
+        }
+        GameRecord record = new GameRecord(seed, winner, Arrays.copyOf(moves, count),
+                Arrays.copyOf(byAttacker, count), Arrays.copyOf(moveNanos, count));
+        if (positions != null) {
+            positions.onEnd(stateFor(game, true, winner), record);
+        }
+        return record;
+    }
+
+    // The position as the side to move sees it, with that side in the host's seat.
+    private static GameState stateFor(Game game, boolean attackerToMove, Winner winner) {
+        Player mover = attackerToMove ? game.attacker() : game.defender();
+        Player opponent = attackerToMove ? game.defender() : game.attacker();
+        return new GameState(mover.getHand().getCards(), opponent.getHand().getCards(),
+                game.board().getWalls(), game.deck().size(), game.discard().getCardsByColor(),
+                false, game.defender().getCauldronCount(), game.defender().hasUsedCauldron(),
+                !attackerToMove, winner, null);
+    }
+}
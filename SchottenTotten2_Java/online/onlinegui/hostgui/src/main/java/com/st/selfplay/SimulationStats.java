@@ -0,0 +1,68 @@
+package com.st.selfplay;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.st.common.Winner;
+
+/** Running totals over finished games, safe to update from every thread of a run. */
+public final class SimulationStats implements Consumer<GameRecord> {
+    private final LongAdder games = new LongAdder();
+    private final LongAdder attackerWins = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LatencyHistogram attackerLatency = new LatencyHistogram();
+    private final LatencyHistogram defenderLatency = new LatencyHistogram();
+
+    @Override
+    public void accept(GameRecord record) {
+        games.increment();
+        if (record.winner() == Winner.ATTACKER) {
+            attackerWins.increment();
+        }
+        moves.add(record.length());
+        for (int i = 0; i < record.length(); i++) {
+            (record.byAttacker()[i] ? attackerLatency : defenderLatency).record(record.moveNanos()[i]);
+        }
+    }
+
+    public long games() {
+        return games.sum();
+    }
+
+    /** The attacker's share of the games so far, or NaN before the first game. */
+    public double attackerWinRate() {
+        long n = games.sum();
+        return n == 0 ? Double.NaN : attackerWins.sum() / (double) n;
+    }
+
+    /** A few lines on the games so far, which took {@code elapsedNanos}. */
+    public String report(long elapsedNanos) {
+        long n = games.sum();
+        double seconds = elapsedNanos / 1e9;
+        double attacker = attackerWinRate();
+        // The half-width of a 95% normal interval, the same for both roles.
+        double margin = n == 0 ? Double.NaN : 1.96 * Math.sqrt(attacker * (1 - attacker) / n);
+        return String.format("%d games in %.1f s: %.1f games/s, %.1f moves/game%n"
+                        + "win rate: attacker %.2f%%, defender %.2f%% (+/-%.2f%%)%n"
+                        + "%s%n%s",
+                n, seconds, n / seconds, n == 0 ? 0 : moves.sum() / (double) n,
+                100 * attacker, 100 * (1 - attacker), 100 * margin,
+                latencyLine("attacker", attackerLatency), latencyLine("defender", defenderLatency));
+    }
+
+    private static String latencyLine(String role, LatencyHistogram latency) {
+        return String.format("%s move latency: p50 %s, p90 %s, p99 %s, p99.9 %s", role,
+                format(latency.percentile(50)), format(latency.percentile(90)),
+                format(latency.percentile(99)), format(latency.percentile(99.9)));
+    }
+
+    private static String format(long nanos) {
+        if (nanos < 10_000) {
+            return nanos + " ns";
+        }
+        if (nanos < 10_000_000) {
+            return String.format("%.1f us", nanos / 1e3);
+        }
+        return String.format("%.1f ms", nanos / 1e6);
+    }
+}
@@ -0,0 +1,132 @@
+package com.st.selfplay;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Plays self-play games between two policies on a work-stealing pool, one game per
+ * task, and reports throughput, win rates per role and move latency percentiles.
+ * <p>
+ * Game {@code i} of a run is dealt from {@link SelfPlay#gameSeed}{@code (seed, i)} and
+ * each side's policy is made from seeds derived from it, so a run with deterministic
+ * policies, such as search with an iteration budget, is reproducible game by game
+ * whatever the number of threads.
+ * <p>
+ * Usage: {@code Simulator [--games N] [--attacker POLICY] [--defender POLICY] [--seed S]
+ * [--threads T]}, with policies named as {@link Policies#parse} takes them.
+ */
+public final class Simulator {
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+
+    private final LongFunction<Policy> attacker;
+    private final LongFunction<Policy> defender;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    public Simulator(LongFunction<Policy> attacker, LongFunction<Policy> defender, long seed,
+            ForkJoinPool pool) {
+        this.attacker = attacker;
+        this.defender = defender;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays games {@code 0} to {@code games - 1} and passes each one, as it finishes, to
+     * {@code onGame} on the thread that played it.
+     */
+    public void run(long games, Consumer<GameRecord> onGame) {
+        run(0, games, onGame);
+    }
+
+    /** Plays games {@code from} to {@code to - 1}, for resuming a run part way. */
+    public void run(long from, long to, Consumer<GameRecord> onGame) {
+        forEach(from, to, index -> onGame.accept(play(index)));
+    }
+
+    /**
+     * Runs {@code game} for every index from {@code from} to {@code to - 1} on the pool,
+     * one index per task, for callers that play the games themselves.
+     */
+    public void forEach(long from, long to, LongConsumer game) {
+        if (from < to) {
+            pool.invoke(new Games(from, to, game));
+        }
+    }
+
+    /** Plays game {@code index} of this run on the calling thread. */
+    public GameRecord play(long index) {
+        return play(index, null);
+    }
+
+    /** Plays game {@code index}, passing every position to {@code positions} if it is not null. */
+    public GameRecord play(long index, PositionListener positions) {
+        long gameSeed = SelfPlay.gameSeed(seed, index);
+        return SelfPlay.play(gameSeed, attacker.apply(SelfPlay.gameSeed(gameSeed, 0)),
+                defender.apply(SelfPlay.gameSeed(gameSeed, 1)), positions);
+    }
+
+    private final class Games extends RecursiveAction {
+        private final long from;
+        private final long to;
+        private final LongConsumer game;
+
+        Games(long from, long to, LongConsumer game) {
+            this.from = from;
+            this.to = to;
+            this.game = game;
+        }
+
+        @Override
+        protected void compute() {
+            // Ranges are halved until each game is a task of its own.
+            if (to - from == 1) {
+                game.accept(from);
+                return;
+            }
+            long middle = (from + to) >>> 1;
+            invokeAll(new Games(from, middle, game), new Games(middle, to, game));
+        }
+    }
+
+    public static void main(String[] args) {
+        long games = 10_000;
+        String attacker = "heuristic";
+        String defender = "heuristic";
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games" -> games = Long.parseLong(args[i + 1]);
+                case "--attacker" -> attacker = args[i + 1];
+                case "--defender" -> defender = args[i + 1];
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        System.out.printf("%s vs %s, %d games on %d threads, seed %d%n", attacker, defender,
+                games, threads, seed);
+        Simulator simulator = new Simulator(Policies.parse(attacker), Policies.parse(defender),
+                seed, new ForkJoinPool(threads));
+        SimulationStats stats = new SimulationStats();
+        long start = System.nanoTime();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> System.out.println(stats.report(System.nanoTime() - start)),
+                REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        simulator.run(games, stats);
+        reporter.shutdownNow();
+        System.out.println(stats.report(System.nanoTime() - start));
+    }
+}
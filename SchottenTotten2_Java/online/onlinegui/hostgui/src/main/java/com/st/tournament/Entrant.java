@@ -0,0 +1,14 @@
+package com.st.tournament;
+
+import java.util.function.LongFunction;
+
+import com.st.selfplay.Policies;
+import com.st.selfplay.Policy;
+
+/** A bot in a tournament: a name and a factory that makes its policy for one game. */
+public record Entrant(String name, LongFunction<Policy> policy) {
+    /** The entrant named by a {@link Policies#parse} spec. */
+    public static Entrant parse(String spec) {
+        return new Entrant(spec, Policies.parse(spec));
+    }
+}
@@ -0,0 +1,72 @@
+package com.st.tournament;
+
+/**
+ * The games so far between two entrants of a {@link Tournament}, in role-swapped pairs:
+ * each pair is two games on the same deal, the first entrant attacking in one and
+ * defending in the other, so the luck of the deal and the edge of either role cancel.
+ */
+public final class Pairing {
+    private final int first;
+    private final int second;
+    private long pairs;
+    private long firstWins;
+    private long secondWins;
+    private double scoreSum;
+    private double scoreSquares;
+    private Sprt.Decision decision = Sprt.Decision.UNDECIDED;
+
+    Pairing(int first, int second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Adds a pair of games in which the first entrant won {@code firstWins} of two. The
+     * first decision the test reaches is kept: the rest of a batch that was already
+     * scheduled still counts towards the totals, but does not reopen the test.
+     */
+    void add(int firstWins, Sprt sprt) {
+        double score = firstWins / 2.0;
+        pairs++;
+        this.firstWins += firstWins;
+        this.secondWins += 2 - firstWins;
+        scoreSum += score;
+        scoreSquares += score * score;
+        if (decision == Sprt.Decision.UNDECIDED) {
+            decision = sprt.decide(pairs, scoreSum, scoreSquares);
+        }
+    }
+
+    public int getFirst() {
+        return first;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    public long getPairs() {
+        return pairs;
+    }
+
+    public long getFirstWins() {
+        return firstWins;
+    }
+
+    public long getSecondWins() {
+        return secondWins;
+    }
+
+    /** The first entrant's share of the games won, or 1/2 before any are played. */
+    public double getScore() {
+        return pairs == 0 ? 0.5 : scoreSum / pairs;
+    }
+
+    public double getLlr(Sprt sprt) {
+        return sprt.llr(pairs, scoreSum, scoreSquares);
+    }
+
+    public Sprt.Decision getDecision() {
+        return decision;
+    }
+}
@@ -0,0 +1,100 @@
+package com.st.tournament;
+
+import java.util.Arrays;
+
+/**
+ * Elo ratings fitted to a tournament's results by maximum likelihood under the
+ * Bradley-Terry model, in which a bot rated {@code d} points above its opponent wins
+ * with probability {@code 1 / (1 + 10^(-d / 400))}.
+ * <p>
+ * The fit is Hunter's minorisation-maximisation iteration, which converges from any
+ * start. Every pairing that has been played counts one extra drawn game, so a bot that
+ * has won or lost everything still gets a finite rating. Unlike Elo or Glicko updates
+ * the fit does not depend on the order in which games finished, so a parallel run rates
+ * the same as a serial one. The ratings are centred on 0; the margin of a rating is
+ * 1.96 standard errors from the Fisher information of its games, taking its opponents'
+ * ratings as known, the same spread as a Glicko rating deviation gives.
+ */
+public final class Ratings {
+    private static final int MAX_ITERATIONS = 10_000;
+    private static final double TOLERANCE = 1e-9;
+    private static final double ELO_PER_NEPER = 400 / Math.log(10);
+    private static final double Z_95 = 1.96;
+
+    private final double[] elo;
+    private final double[] margin;
+
+    private Ratings(double[] elo, double[] margin) {
+        this.elo = elo;
+        this.margin = margin;
+    }
+
+    /** Fits ratings to {@code wins[i][j]}, the games entrant {@code i} won against {@code j}. */
+    public static Ratings fit(long[][] wins) {
+        int n = wins.length;
+        double[][] won = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && wins[i][j] + wins[j][i] > 0) {
+                    won[i][j] = wins[i][j] + 0.5;
+                }
+            }
+        }
+
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1);
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double change = 0;
+            for (int i = 0; i < n; i++) {
+                double totalWins = 0;
+                double denominator = 0;
+                for (int j = 0; j < n; j++) {
+                    double games = won[i][j] + won[j][i];
+                    if (games > 0) {
+                        totalWins += won[i][j];
+                        denominator += games / (strength[i] + strength[j]);
+                    }
+                }
+                if (denominator > 0) {
+                    double updated = totalWins / denominator;
+                    change = Math.max(change, Math.abs(Math.log(updated / strength[i])));
+                    strength[i] = updated;
+                }
+            }
+            if (change < TOLERANCE) {
+                break;
+            }
+        }
+
+        double[] elo = new double[n];
+        double mean = 0;
+        for (int i = 0; i < n; i++) {
+            elo[i] = ELO_PER_NEPER * Math.log(strength[i]);
+            mean += elo[i] / n;
+        }
+        double[] margin = new double[n];
+        for (int i = 0; i < n; i++) {
+            double information = 0;
+            for (int j = 0; j < n; j++) {
+                double games = won[i][j] + won[j][i];
+                if (games > 0) {
+                    double p = strength[i] / (strength[i] + strength[j]);
+                    information += games * p * (1 - p);
+                }
+            }
+            elo[i] -= mean;
+            margin[i] = information > 0 ? Z_95 * ELO_PER_NEPER / Math.sqrt(information)
+                    : Double.POSITIVE_INFINITY;
+        }
+        return new Ratings(elo, margin);
+    }
+
+    public double elo(int entrant) {
+        return elo[entrant];
+    }
+
+    /** Half the width of the 95% confidence interval of the entrant's rating. */
+    public double margin(int entrant) {
+        return margin[entrant];
+    }
+}
@@ -0,0 +1,74 @@
+package com.st.tournament;
+
+/**
+ * A sequential probability ratio test between two bots, on the mean score of
+ * role-swapped game pairs.
+ * <p>
+ * The hypotheses are that the first bot is {@code elo1} stronger than the second, or
+ * {@code elo1} weaker; each pair of games scores 0, 1/2 or 1 for the first bot. The
+ * log-likelihood ratio is the generalised SPRT's normal approximation,
+ * {@code n (s1 - s0) (2 mean - s0 - s1) / (2 variance)}, which needs no model of how
+ * the three pair outcomes are spread, and the test stops once it leaves
+ * {@code (log(beta / (1 - alpha)), log((1 - beta) / alpha))}.
+ */
+public record Sprt(double elo1, double alpha, double beta) {
+    public static final Sprt DEFAULT = new Sprt(30, 0.05, 0.05);
+
+    public enum Decision {
+        /** The first bot is the stronger. */
+        FIRST,
+        /** The second bot is the stronger. */
+        SECOND,
+        UNDECIDED
+    }
+
+    public Sprt {
+        if (!(elo1 > 0) || !(alpha > 0 && alpha < 1) || !(beta > 0 && beta < 1)) {
+            throw new IllegalArgumentException("Invalid SPRT: " + elo1 + ", " + alpha + ", " + beta);
+        }
+    }
+
+    public double lowerBound() {
+        return Math.log(beta / (1 - alpha));
+    }
+
+    public double upperBound() {
+        return Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * The log-likelihood ratio of "first stronger" against "second stronger" after
+     * {@code n} pairs whose scores for the first bot sum to {@code sum}, and whose
+     * squares sum to {@code sumOfSquares}.
+     */
+    public double llr(long n, double sum, double sumOfSquares) {
+        if (n < 2) {
+            return 0;
+        }
+        double mean = sum / n;
+        double variance = sumOfSquares / n - mean * mean;
+        if (variance <= 0) {
+            // Every pair ended the same way; a pair outcome's own spread stands in.
+            variance = 1.0 / (4 * n);
+        }
+        double s0 = expectedScore(-elo1);
+        double s1 = expectedScore(elo1);
+        return n * (s1 - s0) * (2 * mean - s0 - s1) / (2 * variance);
+    }
+
+    public Decision decide(long n, double sum, double sumOfSquares) {
+        double llr = llr(n, sum, sumOfSquares);
+        if (llr >= upperBound()) {
+            return Decision.FIRST;
+        }
+        if (llr <= lowerBound()) {
+            return Decision.SECOND;
+        }
+        return Decision.UNDECIDED;
+    }
+
+    /** The expected score of a bot {@code elo} points stronger than its opponent. */
+    public static double expectedScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+}
@@ -0,0 +1,257 @@
+package com.st.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.st.common.Winner;
+import com.st.host.Role;
+import com.st.selfplay.GameRecord;
+import com.st.selfplay.SelfPlay;
+
+/**
+ * A round robin between bots: every two entrants play role-swapped pairs of games until
+ * their {@link Sprt} decides which is the stronger, or until they have played the
+ * maximum number of pairs, and the results are rated with {@link Ratings}.
+ * <p>
+ * The tournament runs in rounds. A round gives every undecided pairing another batch of
+ * pairs, plays all of their games on a work-stealing pool, one game per task, and then
+ * updates the tests, so pairings that are settled early stop taking time from the rest.
+ * Pair {@code k} of every pairing is dealt from {@link SelfPlay#gameSeed}{@code (seed,
+ * k)}, so all entrants meet the same deals, and the policies are seeded from the deal as
+ * the {@link com.st.selfplay.Simulator} seeds them. Since the tests are only updated
+ * between rounds, a run is reproducible whatever the number of threads.
+ * <p>
+ * Usage: {@code Tournament --entrant POLICY --entrant POLICY [--entrant POLICY...]
+ * [--seed S] [--threads T] [--batch B] [--max-pairs P] [--elo1 E] [--alpha A]
+ * [--beta B]}, with policies named as {@link com.st.selfplay.Policies#parse} takes them.
+ */
+public final class Tournament {
+    public static final int DEFAULT_BATCH = 16;
+    public static final long DEFAULT_MAX_PAIRS = 1_000;
+
+    private final List<Entrant> entrants;
+    private final long seed;
+    private final Sprt sprt;
+    private final int batch;
+    private final long maxPairs;
+    private final ForkJoinPool pool;
+    private final List<Pairing> pairings = new ArrayList<>();
+
+    /**
+     * @param batch how many pairs an undecided pairing plays per round
+     * @param maxPairs how many pairs a pairing plays at most if its test never decides
+     */
+    public Tournament(List<Entrant> entrants, long seed, Sprt sprt, int batch, long maxPairs,
+            ForkJoinPool pool) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two entrants");
+        }
+        if (batch < 1 || maxPairs < 1) {
+            throw new IllegalArgumentException("Invalid schedule: " + batch + ", " + maxPairs);
+        }
+        this.entrants = List.copyOf(entrants);
+        this.seed = seed;
+        this.sprt = sprt;
+        this.batch = batch;
+        this.maxPairs = maxPairs;
+        this.pool = pool;
+        for (int i = 0; i < entrants.size(); i++) {
+            for (int j = i + 1; j < entrants.size(); j++) {
+                pairings.add(new Pairing(i, j));
+            }
+        }
+    }
+
+    /** Whether some pairing is neither decided nor out of pairs. */
+    public boolean isRunning() {
+        for (Pairing pairing : pairings) {
+            if (isOpen(pairing)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOpen(Pairing pairing) {
+        return pairing.getDecision() == Sprt.Decision.UNDECIDED && pairing.getPairs() < maxPairs;
+    }
+
+    /** Plays one round; does nothing once the tournament is over. */
+    public void playRound() {
+        List<Match> matches = new ArrayList<>();
+        for (Pairing pairing : pairings) {
+            if (isOpen(pairing)) {
+                long end = Math.min(pairing.getPairs() + batch, maxPairs);
+                for (long k = pairing.getPairs(); k < end; k++) {
+                    matches.add(new Match(pairing, k));
+                }
+            }
+        }
+        if (matches.isEmpty()) {
+            return;
+        }
+        pool.invoke(new Games(matches, 0, 2 * matches.size()));
+        // The pairs are added in the order they were scheduled, whatever order they finished in.
+        for (Match match : matches) {
+            match.pairing.add(match.firstWins(), sprt);
+        }
+    }
+
+    /** Plays rounds until every pairing is decided or out of pairs. */
+    public void run() {
+        while (isRunning()) {
+            playRound();
+        }
+    }
+
+    public List<Entrant> getEntrants() {
+        return entrants;
+    }
+
+    public List<Pairing> getPairings() {
+        return pairings;
+    }
+
+    /** The ratings on the games so far. */
+    public Ratings ratings() {
+        int n = entrants.size();
+        long[][] wins = new long[n][n];
+        for (Pairing pairing : pairings) {
+            wins[pairing.getFirst()][pairing.getSecond()] = pairing.getFirstWins();
+            wins[pairing.getSecond()][pairing.getFirst()] = pairing.getSecondWins();
+        }
+        return Ratings.fit(wins);
+    }
+
+    // Pair {@code index} of a pairing: the same deal with the first entrant in each role.
+    private final class Match {
+        private final Pairing pairing;
+        private final long index;
+        private final Winner[] winners = new Winner[Role.values().length];
+
+        Match(Pairing pairing, long index) {
+            this.pairing = pairing;
+            this.index = index;
+        }
+
+        void play(Role firstRole) {
+            long dealSeed = SelfPlay.gameSeed(seed, index);
+            Entrant first = entrants.get(pairing.getFirst());
+            Entrant second = entrants.get(pairing.getSecond());
+            Entrant attacker = firstRole == Role.ATTACKER ? first : second;
+            Entrant defender = firstRole == Role.ATTACKER ? second : first;
+            GameRecord game = SelfPlay.play(dealSeed,
+                    attacker.policy().apply(SelfPlay.gameSeed(dealSeed, 0)),
+                    defender.policy().apply(SelfPlay.gameSeed(dealSeed, 1)));
+            winners[firstRole.ordinal()] = game.winner();
+        }
+
+        int firstWins() {
+            int wins = 0;
+            if (winners[Role.ATTACKER.ordinal()] == Winner.ATTACKER) {
+                wins++;
+            }
+            if (winners[Role.DEFENDER.ordinal()] == Winner.DEFENDER) {
+                wins++;
+            }
+            return wins;
+        }
+    }
+
+    // Games {@code from} to {@code to - 1} of a round, two per match.
+    private static final class Games extends RecursiveAction {
+        private final List<Match> matches;
+        private final int from;
+        private final int to;
+
+        Games(List<Match> matches, int from, int to) {
+            this.matches = matches;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                matches.get(from / 2).play(from % 2 == 0 ? Role.ATTACKER : Role.DEFENDER);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Games(matches, from, middle), new Games(matches, middle, to));
+        }
+    }
+
+    /** The standings: every entrant by rating, then every pairing and its test. */
+    public String report() {
+        Ratings ratings = ratings();
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> Double.compare(ratings.elo(b), ratings.elo(a)));
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-24s %8s %8s %8s %7s%n", "entrant", "elo", "+/-", "games", "score"));
+        for (int i : order) {
+            long games = 0;
+            long won = 0;
+            for (Pairing pairing : pairings) {
+                if (pairing.getFirst() == i || pairing.getSecond() == i) {
+                    games += 2 * pairing.getPairs();
+                    won += pairing.getFirst() == i ? pairing.getFirstWins() : pairing.getSecondWins();
+                }
+            }
+            report.append(String.format("%-24s %8.1f %8.1f %8d %6.1f%%%n", entrants.get(i).name(),
+                    ratings.elo(i), ratings.margin(i), games, games == 0 ? 0 : 100.0 * won / games));
+        }
+        report.append(String.format("SPRT: +/-%.0f elo, alpha %.3f, beta %.3f, bounds [%.2f, %.2f]%n",
+                sprt.elo1(), sprt.alpha(), sprt.beta(), sprt.lowerBound(), sprt.upperBound()));
+        for (Pairing pairing : pairings) {
+            String first = entrants.get(pairing.getFirst()).name();
+            String second = entrants.get(pairing.getSecond()).name();
+            String verdict = switch (pairing.getDecision()) {
+                case FIRST -> first + " is stronger";
+                case SECOND -> second + " is stronger";
+                case UNDECIDED -> pairing.getPairs() >= maxPairs ? "no decision" : "running";
+            };
+            report.append(String.format("%s vs %s: %d-%d in %d pairs, LLR %.2f, %s%n", first, second,
+                    pairing.getFirstWins(), pairing.getSecondWins(), pairing.getPairs(),
+                    pairing.getLlr(sprt), verdict));
+        }
+        return report.toString();
+    }
+
+    public static void main(String[] args) {
+        List<Entrant> entrants = new ArrayList<>();
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batch = DEFAULT_BATCH;
+        long maxPairs = DEFAULT_MAX_PAIRS;
+        double elo1 = Sprt.DEFAULT.elo1();
+        double alpha = Sprt.DEFAULT.alpha();
+        double beta = Sprt.DEFAULT.beta();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--entrant" -> entrants.add(Entrant.parse(args[i + 1]));
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--batch" -> batch = Integer.parseInt(args[i + 1]);
+                case "--max-pairs" -> maxPairs = Long.parseLong(args[i + 1]);
+                case "--elo1" -> elo1 = Double.parseDouble(args[i + 1]);
+                case "--alpha" -> alpha = Double.parseDouble(args[i + 1]);
+                case "--beta" -> beta = Double.parseDouble(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        System.out.printf("%d entrants, %d threads, seed %d%n", entrants.size(), threads, seed);
+        Tournament tournament = new Tournament(entrants, seed, new Sprt(elo1, alpha, beta), batch,
+                maxPairs, new ForkJoinPool(threads));
+        for (int round = 1; tournament.isRunning(); round++) {
+            tournament.playRound();
+            System.out.printf("Round %d%n%s%n", round, tournament.report());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.st.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.st.proto.Position.PositionProto;
+import com.st.selfplay.Policies;
+import com.st.selfplay.Simulator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Writes random games with {@link ShardWriter} and reads them back with
+ * {@link ShardReader}: every record, move and winner must survive, across several
+ * shards, and a writer reopened on a directory with a game cut off part way must
+ * truncate it and carry on.
+ */
+class ShardRoundTripTest {
+    private static final int GAMES = 30;
+    // Small enough that the games spread over several shards.
+    private static final long SHARD_BYTES = 16 << 10;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackEveryGame() throws IOException {
+        List<byte[]> games = play(GAMES);
+        try (ShardWriter writer = new ShardWriter(directory, SHARD_BYTES, 4)) {
+            games.forEach(writer::write);
+        }
+
+        List<Path> shards = Shards.list(directory);
+        assertTrue(shards.size() > 1, "only " + shards.size() + " shard");
+        for (Path shard : shards) {
+            assertTrue(Files.size(shard) <= SHARD_BYTES || isSingleGame(shard), shard.toString());
+        }
+        assertMatches(games, ShardReader.open(directory));
+    }
+
+    @Test
+    void resumeTruncatesCutOffGame() throws IOException {
+        List<byte[]> games = play(GAMES);
+        int kept = GAMES / 2;
+        try (ShardWriter writer = new ShardWriter(directory, SHARD_BYTES, 4)) {
+            games.subList(0, kept).forEach(writer::write);
+        }
+        List<Path> shards = Shards.list(directory);
+        Path last = shards.get(shards.size() - 1);
+        long size = Files.size(last);
+        byte[] next = games.get(kept);
+        Files.write(last, Arrays.copyOf(next, next.length / 2), StandardOpenOption.APPEND);
+
+        try (ShardWriter writer = new ShardWriter(directory, SHARD_BYTES, 4)) {
+            assertEquals(size, Files.size(last));
+            assertEquals(kept, writer.writtenGames());
+            for (int game = 0; game < GAMES; game++) {
+                assertEquals(game < kept, writer.isWritten(game), "game " + game);
+            }
+            games.subList(kept, GAMES).forEach(writer::write);
+        }
+        assertMatches(games, ShardReader.open(directory));
+    }
+
+    @Test
+    void rejectsShardsTooLargeToMap() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardWriter(directory, Shards.MAX_SHARD_BYTES + 1, 4));
+        assertFalse(Files.exists(Shards.shard(directory, 0)));
+    }
+
+    private static void assertMatches(List<byte[]> games, ShardReader reader) throws IOException {
+        assertEquals(games.size(), reader.gameCount());
+        long positions = 0;
+        for (int game = 0; game < games.size(); game++) {
+            List<PositionProto> expected = records(games.get(game));
+            List<PositionProto> actual = reader.game(game);
+            assertEquals(expected, actual, "game " + game);
+            assertEquals(expected.size(), reader.gameLength(game), "game " + game);
+            assertEquals(expected.get(0).getWinner(), reader.winner(game), "game " + game);
+            long start = reader.gameStart(game);
+            assertEquals(positions, start, "game " + game);
+            for (int ply = 0; ply < expected.size(); ply++) {
+                assertEquals(expected.get(ply).getMove(), reader.move(start + ply),
+                        "game " + game + " ply " + ply);
+                assertEquals(expected.get(ply), reader.position(start + ply),
+                        "game " + game + " ply " + ply);
+            }
+            positions += expected.size();
+        }
+        assertEquals(positions, reader.positionCount());
+        assertEquals(positions, reader.positions().count());
+        assertEquals(games.size(), reader.games().count());
+    }
+
+    // Games 0 to count - 1 of a seeded random run, as PositionRecorder serialises them.
+    private static List<byte[]> play(int count) {
+        Simulator simulator = new Simulator(Policies.parse("random"), Policies.parse("random"), 1,
+                ForkJoinPool.commonPool());
+        List<byte[]> games = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            simulator.play(index, new PositionRecorder(index, games::add));
+        }
+        return games;
+    }
+
+    private static List<PositionProto> records(byte[] game) throws IOException {
+        List<PositionProto> records = new ArrayList<>();
+        InputStream in = new ByteArrayInputStream(game);
+        PositionProto record;
+        while ((record = PositionProto.parseDelimitedFrom(in)) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static boolean isSingleGame(Path shard) throws IOException {
+        List<PositionProto> records = records(Files.readAllBytes(shard));
+        return records.stream().map(PositionProto::getGameIndex).distinct().count() == 1;
+    }
+}
@@ -0,0 +1,127 @@
+package com.st.host;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.st.common.Card;
+import com.st.common.Constants;
+import com.st.common.GameState;
+import com.st.common.PlayResult;
+import com.st.common.Winner;
+import com.st.search.Move;
+import com.st.search.SearchState;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Replays random games through the host's {@link Game} and a {@link SearchState} in
+ * lockstep. At every ply both must offer the same legal moves and agree on the winner,
+ * and the search state, with its incremental Zobrist key, must match one built from
+ * scratch from the host's position. Every move is also undone and replayed, and at the
+ * end of the game the whole line is undone back to the deal.
+ */
+class SearchStateLockstepTest {
+    private static final int GAMES = 300;
+
+    @Test
+    void searchStateFollowsHostGame() {
+        for (long seed = 0; seed < GAMES; seed++) {
+            replay(seed);
+        }
+    }
+
+    private static void replay(long seed) {
+        Random random = new Random(seed);
+        Game game = new Game(new Player(), new Player(), new Board(), new Deck(), new Discard());
+        game.setup(new Random(seed));
+        SearchState state = fromGame(game, true);
+        int[] hostMoves = new int[Move.MAX_MOVES];
+        int[] searchMoves = new int[Move.MAX_MOVES];
+        List<Integer> line = new ArrayList<>();
+        List<String> snapshots = new ArrayList<>();
+
+        boolean attackerToMove = true;
+        while (true) {
+            String ply = "game " + seed + " ply " + line.size();
+            SearchState fresh = fromGame(game, attackerToMove);
+            assertEquals(attackerToMove, state.isAttackerToMove(), ply);
+            assertEquals(describe(fresh), describe(state), ply);
+            assertEquals(fresh.positionKey(), state.positionKey(), ply);
+            // The host only checks the deck once the attacker has played.
+            Winner winner = game.getWinner(!attackerToMove);
+            assertEquals(winner, state.getWinner(), ply);
+            if (winner != Winner.NONE) {
+                break;
+            }
+
+            int hostCount = game.generateMoves(attackerToMove, hostMoves);
+            int searchCount = state.generateMoves(searchMoves);
+            int[] expected = Arrays.copyOf(hostMoves, hostCount);
+            int[] actual = Arrays.copyOf(searchMoves, searchCount);
+            Arrays.sort(expected);
+            Arrays.sort(actual);
+            assertArrayEquals(expected, actual, ply);
+            assertNotEquals(0, searchCount, ply);
+
+            int move = searchMoves[random.nextInt(searchCount)];
+            String before = snapshot(state);
+            state.apply(move);
+            state.undo(move);
+            assertEquals(before, snapshot(state), ply + " undo " + Move.toString(move));
+
+            PlayResult.Type result = game.play(attackerToMove, Card.byId(Move.cardId(move)),
+                    Move.wallIndex(move));
+            assertNotEquals(PlayResult.Type.FAILURE, result, ply + " " + Move.toString(move));
+            state.apply(move);
+            line.add(move);
+            snapshots.add(before);
+            if (result == PlayResult.Type.SUCCESS) {
+                attackerToMove = !attackerToMove;
+            }
+        }
+
+        for (int i = line.size() - 1; i >= 0; i--) {
+            state.undo(line.get(i));
+            assertEquals(snapshots.get(i), snapshot(state), "game " + seed + " undo to ply " + i);
+        }
+    }
+
+    // The host's position as a search state, drawing from the host's deck in its order.
+    private static SearchState fromGame(Game game, boolean attackerToMove) {
+        GameState gameState = new GameState(game.attacker().getHand().getCards(),
+                game.defender().getHand().getCards(), game.board().getWalls(), game.deck().size(),
+                game.discard().getCardsByColor(), !attackerToMove,
+                game.defender().getCauldronCount(), game.defender().hasUsedCauldron(), false,
+                Winner.NONE, null);
+        SearchState state = SearchState.fromGameState(gameState);
+        state.setDeck(game.deck().getCards());
+        return state;
+    }
+
+    private static String describe(SearchState state) {
+        StringBuilder builder = new StringBuilder(state.toString());
+        builder.append("\nDeck ").append(Long.toHexString(state.getDeckSet()))
+                .append(" used cauldron ").append(state.hasUsedCauldron())
+                .append(" open ").append(state.getOpenWalls(true)).append('/')
+                .append(state.getOpenWalls(false))
+                .append(" occupied ").append(state.getOccupiedWalls())
+                .append(" damaged ").append(state.getDamagedCount())
+                .append(" broken ").append(state.getBrokenCount());
+        for (int w = 0; w < Constants.NUM_WALLS; w++) {
+            builder.append("\nWall ").append(w).append(" last ").append(state.getLastAttackerCard(w))
+                    .append(" first ").append(state.isAttackerFinishedFirst(w));
+        }
+        return builder.toString();
+    }
+
+    private static String snapshot(SearchState state) {
+        return describe(state) + "\nPly " + state.getPly() + " key "
+                + Long.toHexString(state.positionKey());
+    }
+}
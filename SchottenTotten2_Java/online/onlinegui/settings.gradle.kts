@@ -1,2 +1,2 @@
 rootProject.name = "SchottenTotten2_online_gui"
-include("common", "hostgui", "clientgui")
\ No newline at end of file
+include("common", "ui", "hostgui", "clientgui", "benchmarks")
\ No newline at end of file
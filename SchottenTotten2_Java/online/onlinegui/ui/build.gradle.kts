@@ -0,0 +1,17 @@
+plugins {
+    id("java")
+}
+
+group = "com.st"
+version = "1.0"
+
+repositories {
+    mavenCentral()
+}
+
+// Swing components shared by the host and client GUIs, kept out of common so the
+// engine still loads headless.
+dependencies {
+    implementation(project(":common"))
+    implementation("com.google.protobuf:protobuf-java:4.32.0")
+}
@@ -1,4 +1,4 @@
-package com.st.common;
+package com.st.ui;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
@@ -20,6 +20,9 @@ import javax.imageio.ImageIO;
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
 
+import com.st.common.Card;
+import com.st.common.CardColor;
+
 public class CardView extends JPanel {
     private final Card card;
     private final boolean isLastPlayed;
@@ -27,13 +30,21 @@ public class CardView extends JPanel {
     private static BufferedImage retreatCard;
     private static BufferedImage cauldronCard;
 
-    private static Map<CardColor, String> cardIconMap = Map.of(
+    private static final Map<CardColor, String> cardIconMap = Map.of(
             CardColor.RED, "♥",
             CardColor.BLUE, "♠",
             CardColor.YELLOW, "★",
             CardColor.GREEN, "♦",
             CardColor.GRAY, "♣");
 
+    private static final Map<CardColor, Color> cardColorMap = Map.of(
+            CardColor.RED, new Color(200, 46, 46),
+            CardColor.BLUE, new Color(61, 165, 209),
+            CardColor.YELLOW, new Color(222, 195, 76),
+            CardColor.GREEN, new Color(63, 175, 55),
+            CardColor.GRAY, new Color(110, 110, 110),
+            CardColor.ACTION_COLOR, Color.BLACK);
+
     static {
         try {
             retreatCard = ImageIO.read(Objects.requireNonNull(CardView.class.getResource("/retreat.png")));
@@ -53,14 +64,14 @@ public class CardView extends JPanel {
     public CardView(Card card, boolean isLastPlayed) {
         this.card = card;
         this.isLastPlayed = isLastPlayed;
-        setPreferredSize(new Dimension(Constants.CARD_WIDTH, Constants.CARD_HEIGHT));
+        setPreferredSize(new Dimension(Layout.CARD_WIDTH, Layout.CARD_HEIGHT));
         setBorder(BorderFactory.createLineBorder(Color.BLACK));
     }
 
     public CardView(Card card, Runnable onClick) {
         this.card = card;
         this.isLastPlayed = false;
-        setPreferredSize(new Dimension(Constants.CARD_WIDTH, Constants.CARD_HEIGHT));
+        setPreferredSize(new Dimension(Layout.CARD_WIDTH, Layout.CARD_HEIGHT));
         setBorder(BorderFactory.createLineBorder(Color.BLACK));
 
         addMouseListener(new MouseAdapter() {
@@ -91,20 +102,20 @@ public class CardView extends JPanel {
             g2.setColor(Color.BLACK);
             g2.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
 
-            g2.setColor(card.getColor().getDisplayColor());
-            g2.setFont(getFont(Constants.CARD_FONT_SIZE));
+            g2.setColor(cardColorMap.get(card.getColor()));
+            g2.setFont(getFont(Layout.CARD_FONT_SIZE));
             FontMetrics fm = g2.getFontMetrics();
             int padding = 5;
             if (card.equals(Card.RETREAT)) {
                 if (retreatCard != null) {
-                    g2.drawImage(retreatCard, 0, 0, Constants.CARD_WIDTH, Constants.CARD_HEIGHT, this);
+                    g2.drawImage(retreatCard, 0, 0, Layout.CARD_WIDTH, Layout.CARD_HEIGHT, this);
                 } else {
                     g2.drawString("RETR", padding, fm.getAscent() + padding);
                     g2.drawString("EAT", padding, fm.getAscent() + padding + fm.getHeight());
                 }
             } else if (card.equals(Card.CAULDRON)) {
                 if (cauldronCard != null) {
-                    g2.drawImage(cauldronCard, 0, 0, Constants.CARD_WIDTH, Constants.CARD_HEIGHT, this);
+                    g2.drawImage(cauldronCard, 0, 0, Layout.CARD_WIDTH, Layout.CARD_HEIGHT, this);
                 } else {
                     g2.drawString("CAUL", padding, fm.getAscent() + padding);
                     g2.drawString("DRON", padding, fm.getAscent() + padding + fm.getHeight());